@@ -0,0 +1,126 @@
+package com.example.resume_coach;
+
+import com.example.resume_coach.component.OllamaRecording;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 벤치마크 공통 입력 - 실제 프롬프트 템플릿(prompts/)과 그 JSON 응답 형식을 따르는 한국어 응답(fixtures/)
+ */
+public final class BenchmarkFixtures {
+
+    public static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    public static final String MODEL = "benedict/linkbricks-llama3.1-korean:8b";
+
+    private BenchmarkFixtures() {
+    }
+
+    public static String resource(String path) {
+        try (InputStream inputStream = new ClassPathResource(path).getInputStream()) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static String interviewResponse() {
+        return resource("fixtures/interview_response.txt");
+    }
+
+    public static String learningPathResponse() {
+        return resource("fixtures/learning_response.txt");
+    }
+
+    /**
+     * ResumeController 예시 이력서 - 사용자 프롬프트 자리표시자 값
+     */
+    public static Map<String, String> sampleResume() {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("industry", "IT/소프트웨어");
+        values.put("desiredPosition", "B2B 플랫폼 백엔드 개발자");
+        values.put("yearsOfExperience", "3");
+        values.put("careerSummary", "3년차 백엔드 개발자, Spring Boot/MSA 기반 커머스 서비스 개발, AWS EC2 운영 경험");
+        values.put("jobExperience", "대규모 이커머스 플랫폼 백엔드 개발, 마이크로서비스 아키텍처 설계 및 구현");
+        values.put("skills", "Java, Spring Boot, MySQL, AWS, Docker, Kubernetes");
+        return values;
+    }
+
+    /**
+     * 응답을 tokenChars 글자씩 자른 토큰 (Ollama 는 한국어 토큰 하나에 1~3 글자 정도를 보낸다)
+     */
+    public static String[] tokens(String text, int tokenChars) {
+        List<String> tokens = new ArrayList<>(text.length() / tokenChars + 1);
+        int start = 0;
+        while (start < text.length()) {
+            int end = Math.min(text.length(), start + tokenChars);
+            if (end < text.length() && Character.isHighSurrogate(text.charAt(end - 1))) {
+                end++;
+            }
+            tokens.add(text.substring(start, end));
+            start = end;
+        }
+        return tokens.toArray(String[]::new);
+    }
+
+    /**
+     * -Dbenchmark.recording 녹화 파일의 스트림별 NDJSON 줄, 지정하지 않았으면 null
+     */
+    public static String[][] recordedStreams() {
+        String file = System.getProperty("benchmark.recording");
+        if (file == null || file.isBlank()) {
+            return null;
+        }
+        try {
+            return OllamaRecording.readAll(OBJECT_MAPPER, Path.of(file)).stream()
+                    .map(recording -> recording.lines().stream().map(OllamaRecording.Line::line).toArray(String[]::new))
+                    .filter(lines -> lines.length > 0)
+                    .toArray(String[][]::new);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * /api/chat 스트리밍 응답과 같은 모양의 NDJSON 줄 (토큰 하나당 한 줄, 마지막은 done 통계 줄)
+     */
+    public static String[] ndjsonLines(String[] tokens) {
+        try {
+            String[] lines = new String[tokens.length + 1];
+            for (int i = 0; i < tokens.length; i++) {
+                Map<String, Object> chunk = new LinkedHashMap<>();
+                chunk.put("model", MODEL);
+                chunk.put("created_at", "2025-08-20T09:12:31.482913Z");
+                chunk.put("message", Map.of("role", "assistant", "content", tokens[i]));
+                chunk.put("done", false);
+                lines[i] = OBJECT_MAPPER.writeValueAsString(chunk);
+            }
+            Map<String, Object> done = new LinkedHashMap<>();
+            done.put("model", MODEL);
+            done.put("created_at", "2025-08-20T09:13:02.118402Z");
+            done.put("message", Map.of("role", "assistant", "content", ""));
+            done.put("done_reason", "stop");
+            done.put("done", true);
+            done.put("total_duration", 30_635_118_250L);
+            done.put("load_duration", 21_402_917L);
+            done.put("prompt_eval_count", 1_874);
+            done.put("prompt_eval_duration", 2_114_207_000L);
+            done.put("eval_count", tokens.length);
+            done.put("eval_duration", 28_391_144_000L);
+            lines[tokens.length] = OBJECT_MAPPER.writeValueAsString(done);
+            return lines;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
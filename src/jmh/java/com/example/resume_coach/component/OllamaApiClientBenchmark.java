@@ -0,0 +1,66 @@
+package com.example.resume_coach.component;
+
+import com.example.resume_coach.BenchmarkFixtures;
+import com.example.resume_coach.model.ResumeAiOutput;
+import com.example.resume_coach.service.ServiceFixtures;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청/응답 한 번당 비용 - 전체 직무 카탈로그가 들어간 시스템 프롬프트와 스키마(format)를 포함한 /api/chat 본문 직렬화,
+ * 코드 펜스로 감싼 응답에서 JSON 부분 추출
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OllamaApiClientBenchmark {
+
+    private OllamaApiClient client;
+    private String systemPrompt;
+    private String userPrompt;
+    private Map<String, Object> options;
+    private Map<String, Object> format;
+    private String interviewResponse;
+    private String learningPathResponse;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        client = ServiceFixtures.ollamaApiClient(new StructuredOutputStats());
+        String jobs = BenchmarkFixtures.OBJECT_MAPPER.writeValueAsString(
+                BenchmarkFixtures.OBJECT_MAPPER.readTree(BenchmarkFixtures.resource("jobs.json")));
+        systemPrompt = PromptTemplate.compile("interview_system_v1", "classpath",
+                        BenchmarkFixtures.resource("prompts/system/interview_system_v1.txt"))
+                .render(Map.of("jobs", jobs));
+        userPrompt = PromptTemplate.compile("interview_user_v1", "classpath",
+                        BenchmarkFixtures.resource("prompts/user/interview_user_v1.txt"))
+                .render(BenchmarkFixtures.sampleResume());
+        options = client.createCreativeOptions();
+        format = new OutputSchemaGenerator().schemaOf(ResumeAiOutput.Interview.class);
+        interviewResponse = BenchmarkFixtures.interviewResponse();
+        learningPathResponse = BenchmarkFixtures.learningPathResponse();
+    }
+
+    @Benchmark
+    public String createChatRequestBodyJson() throws JsonProcessingException {
+        return client.createChatRequestBodyJson(systemPrompt, userPrompt, options, format, true);
+    }
+
+    @Benchmark
+    public String extractInterviewJson() {
+        return client.extractJsonFromResponse(interviewResponse);
+    }
+
+    @Benchmark
+    public String extractLearningPathJson() {
+        return client.extractJsonFromResponse(learningPathResponse);
+    }
+}
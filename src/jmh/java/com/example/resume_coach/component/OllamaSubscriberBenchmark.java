@@ -0,0 +1,133 @@
+package com.example.resume_coach.component;
+
+import com.example.resume_coach.BenchmarkFixtures;
+import com.example.resume_coach.handler.StreamHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NDJSON 한 줄(토큰 하나) 처리 비용 - 청크 파싱, 토큰 배치 누적, 배치 경계에서 handler.onToken 호출까지.
+ * 응답 끝에 도달하면 새 구독자로 바꿔 다음 응답을 처음부터 다시 흘린다.
+ * -Dbenchmark.recording 이 있으면 합성 응답 대신 녹화된 스트림들을 순서대로 흘린다 (tokenChars 는 무시).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OllamaSubscriberBenchmark {
+
+    private static final Flow.Subscription NO_OP_SUBSCRIPTION = new Flow.Subscription() {
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    };
+
+    /** Ollama 토큰 하나에 담기는 글자 수 */
+    @Param({"1", "3", "8"})
+    public int tokenChars;
+
+    private ThreadPoolTaskScheduler scheduler;
+    private TokenFlushPolicy flushPolicy;
+    private StreamHandler handler;
+    private String[] lines;
+    private List<ByteBuffer>[] buffers;
+    /** 해당 줄이 스트림의 마지막 줄인지 */
+    private boolean[] streamEnds;
+    private OllamaLineSubscriber lineSubscriber;
+    private OllamaByteSubscriber byteSubscriber;
+    private int lineIndex;
+    private int byteIndex;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp(Blackhole blackhole) {
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.initialize();
+        flushPolicy = new TokenFlushPolicy(50, 256, 16, true);
+        handler = blackhole::consume;
+
+        String[][] streams = BenchmarkFixtures.recordedStreams();
+        if (streams == null) {
+            streams = new String[][]{BenchmarkFixtures.ndjsonLines(
+                    BenchmarkFixtures.tokens(BenchmarkFixtures.interviewResponse(), tokenChars))};
+        }
+        lines = Arrays.stream(streams).flatMap(Arrays::stream).toArray(String[]::new);
+        streamEnds = new boolean[lines.length];
+        int end = -1;
+        for (String[] stream : streams) {
+            end += stream.length;
+            streamEnds[end] = true;
+        }
+        buffers = new List[lines.length];
+        for (int i = 0; i < lines.length; i++) {
+            byte[] bytes = (lines[i] + "\n").getBytes(StandardCharsets.UTF_8);
+            buffers[i] = List.of(ByteBuffer.wrap(bytes).asReadOnlyBuffer());
+        }
+        lineSubscriber = newLineSubscriber();
+        byteSubscriber = newByteSubscriber();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        lineSubscriber.cancel();
+        byteSubscriber.cancel();
+        scheduler.shutdown();
+    }
+
+    @Benchmark
+    public void lineSubscriberOnNext() {
+        lineSubscriber.onNext(lines[lineIndex]);
+        if (streamEnds[lineIndex]) {
+            lineSubscriber.onComplete();
+            lineSubscriber = newLineSubscriber();
+        }
+        lineIndex = (lineIndex + 1) % lines.length;
+    }
+
+    @Benchmark
+    public void byteSubscriberOnNext() {
+        List<ByteBuffer> next = buffers[byteIndex];
+        next.get(0).rewind();
+        byteSubscriber.onNext(next);
+        if (streamEnds[byteIndex]) {
+            byteSubscriber.onComplete();
+            byteSubscriber = newByteSubscriber();
+        }
+        byteIndex = (byteIndex + 1) % buffers.length;
+    }
+
+    private OllamaLineSubscriber newLineSubscriber() {
+        OllamaLineSubscriber subscriber = new OllamaLineSubscriber(
+                BenchmarkFixtures.OBJECT_MAPPER, handler, flushPolicy, scheduler);
+        subscriber.onSubscribe(NO_OP_SUBSCRIPTION);
+        return subscriber;
+    }
+
+    private OllamaByteSubscriber newByteSubscriber() {
+        OllamaByteSubscriber subscriber = new OllamaByteSubscriber(
+                BenchmarkFixtures.OBJECT_MAPPER, handler, flushPolicy, scheduler);
+        subscriber.onSubscribe(NO_OP_SUBSCRIPTION);
+        return subscriber;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.resume_coach.component;
+
+import com.example.resume_coach.handler.SseOutboundQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 하트비트 휠 틱 비용 - 등록된 연결 수만큼 SseOutboundQueue 를 만들고 가상 시각으로 tick(now) 을 직접 호출한다.
+ * oneSecond 는 평소처럼 1초씩 전진(59초마다 한 번 모든 연결이 keepalive 대상), allDue 는 매번 모든 연결이 keepalive 대상인 최악의 틱.
+ * 송신 큐는 호출 스레드에서 바로 비우고 emitter 는 프레임을 버리므로 keepalive 적재와 전송 준비 비용까지 포함한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SSEHeartBeatManagerBenchmark {
+
+    /** SSEHeartBeatManager 의 idle 기준 */
+    private static final long IDLE_MS = Duration.ofSeconds(59).toMillis();
+
+    @Param({"10000"})
+    public int connections;
+
+    private SSEHeartBeatManager manager;
+    private long now;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        manager = new SSEHeartBeatManager(new ThreadPoolTaskScheduler()); // 스케줄러는 시작하지 않음 - 틱은 직접 호출
+        for (int i = 0; i < connections; i++) {
+            manager.register(new SseOutboundQueue(
+                    new NoOpEmitter(), Runnable::run, 4096, 262144, SseOutboundQueue.OverflowPolicy.FINAL_ONLY));
+        }
+        now = System.currentTimeMillis();
+        manager.tick(now); // 등록 대기열을 휠로 옮김
+    }
+
+    @Benchmark
+    public int oneSecond() {
+        now += 1000;
+        manager.tick(now);
+        return manager.stats().getRegistered();
+    }
+
+    @Benchmark
+    public int allDue() {
+        now += IDLE_MS;
+        manager.tick(now);
+        return manager.stats().getRegistered();
+    }
+
+    /**
+     * 응답에 연결되지 않은 emitter - keepalive 프레임을 만들기만 하고 버린다
+     */
+    private static final class NoOpEmitter extends SseEmitter {
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            builder.build();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.resume_coach.handler;
+
+import com.example.resume_coach.BenchmarkFixtures;
+import com.example.resume_coach.model.ResumeDto;
+import com.example.resume_coach.service.AICareerCoachService;
+import com.example.resume_coach.service.ServiceFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 배치 하나의 SSE 전송 비용 - 원문 누적, 스트리밍 파서(question 이벤트), 델타/이벤트 프레임 생성까지.
+ * emitter 는 프레임을 만들기만 하고 버리며, 송신 큐는 호출 스레드에서 바로 비운다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SSEOllamaStreamHandlerBenchmark {
+
+    private static final String RESUME_ID = "1";
+
+    /** handler 로 전달되는 배치 하나의 글자 수 (TokenFlushPolicy 로 묶인 토큰) */
+    @Param({"3", "48"})
+    public int batchChars;
+
+    @Param({"true", "false"})
+    public boolean emitDeltas;
+
+    private AICareerCoachService service;
+    private Blackhole blackhole;
+    private String[] batches;
+    private SSEOllamaStreamHandler<ResumeDto.MockInterviewResponse> handler;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) {
+        this.blackhole = blackhole;
+        service = ServiceFixtures.careerCoachService();
+        batches = BenchmarkFixtures.tokens(BenchmarkFixtures.interviewResponse(), batchChars);
+        handler = newHandler();
+    }
+
+    @Benchmark
+    public void onToken() {
+        handler.onToken(batches[index]);
+        if (++index == batches.length) {
+            handler.onComplete();
+            handler = newHandler();
+            index = 0;
+        }
+    }
+
+    private SSEOllamaStreamHandler<ResumeDto.MockInterviewResponse> newHandler() {
+        SseOutboundQueue outbound = new SseOutboundQueue(
+                new NoOpEmitter(blackhole), Runnable::run, 4096, 262144, SseOutboundQueue.OverflowPolicy.FINAL_ONLY);
+        SSEOllamaStreamHandler<ResumeDto.MockInterviewResponse> next = new SSEOllamaStreamHandler<>(
+                outbound, full -> service.parseInterviewResponse(full, RESUME_ID), emitDeltas);
+        next.onGeneration("bench");
+        return next.withStructuredParser(() -> service.newInterviewStreamParser(RESUME_ID));
+    }
+
+    /**
+     * 응답에 연결되지 않은 emitter - 실제 send 처럼 프레임을 만들기만 한다
+     */
+    private static final class NoOpEmitter extends SseEmitter {
+
+        private final Blackhole blackhole;
+
+        private NoOpEmitter(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            blackhole.consume(builder.build());
+        }
+
+        @Override
+        public void complete() {
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.resume_coach.service;
+
+import com.example.resume_coach.BenchmarkFixtures;
+import com.example.resume_coach.component.PromptTemplate;
+import com.example.resume_coach.model.ResumeDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 응답 한 번당 비용 - 전체 응답 파싱(JSON 추출 + 레코드 바인딩 + DTO 변환)과 사용자 프롬프트 렌더링.
+ * 렌더링은 컴파일된 템플릿과 이전 방식(자리표시자마다 String.replace)을 함께 잰다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AICareerCoachServiceBenchmark {
+
+    private static final String RESUME_ID = "1";
+
+    private AICareerCoachService service;
+    private String interviewResponse;
+    private String learningPathResponse;
+    private String userTemplateText;
+    private PromptTemplate userTemplate;
+    private Map<String, String> resume;
+
+    @Setup
+    public void setUp() {
+        service = ServiceFixtures.careerCoachService();
+        interviewResponse = BenchmarkFixtures.interviewResponse();
+        learningPathResponse = BenchmarkFixtures.learningPathResponse();
+        userTemplateText = BenchmarkFixtures.resource("prompts/user/interview_user_v1.txt");
+        userTemplate = PromptTemplate.compile("interview_user_v1", "classpath", userTemplateText);
+        resume = BenchmarkFixtures.sampleResume();
+    }
+
+    @Benchmark
+    public ResumeDto.MockInterviewResponse parseInterviewResponse() {
+        return service.parseInterviewResponse(interviewResponse, RESUME_ID);
+    }
+
+    @Benchmark
+    public ResumeDto.LearningPathResponse parseLearningPathResponse() {
+        return service.parseLearningPathResponse(learningPathResponse, RESUME_ID);
+    }
+
+    @Benchmark
+    public String renderUserPrompt() {
+        return userTemplate.render(resume);
+    }
+
+    @Benchmark
+    public String replaceUserPrompt() {
+        return userTemplateText
+                .replace("${industry}", resume.get("industry"))
+                .replace("${desiredPosition}", resume.get("desiredPosition"))
+                .replace("${yearsOfExperience}", resume.get("yearsOfExperience"))
+                .replace("${careerSummary}", resume.get("careerSummary"))
+                .replace("${jobExperience}", resume.get("jobExperience"))
+                .replace("${skills}", resume.get("skills"));
+    }
+}
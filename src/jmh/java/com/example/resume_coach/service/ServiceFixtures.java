@@ -0,0 +1,50 @@
+package com.example.resume_coach.service;
+
+import com.example.resume_coach.BenchmarkFixtures;
+import com.example.resume_coach.component.OllamaApiClient;
+import com.example.resume_coach.component.StructuredOutputStats;
+
+import java.lang.reflect.Field;
+
+/**
+ * 스프링 컨텍스트 없이 만든 AICareerCoachService - 응답 파싱 경로에 쓰는 의존성만 채운다
+ */
+public final class ServiceFixtures {
+
+    private ServiceFixtures() {
+    }
+
+    public static OllamaApiClient ollamaApiClient(StructuredOutputStats outputStats) {
+        OllamaApiClient client = new OllamaApiClient(
+                null, BenchmarkFixtures.OBJECT_MAPPER, null, null, null, null, outputStats, null, null);
+        setField(client, "ollamaModel", BenchmarkFixtures.MODEL);
+        return client;
+    }
+
+    public static AICareerCoachService careerCoachService() {
+        StructuredOutputStats outputStats = new StructuredOutputStats();
+        AICareerCoachService service = new AICareerCoachService(
+                null,
+                null,
+                ollamaApiClient(outputStats),
+                BenchmarkFixtures.OBJECT_MAPPER,
+                null,
+                null,
+                outputStats,
+                null,
+                null
+        );
+        service.initReaders();
+        return service;
+    }
+
+    private static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
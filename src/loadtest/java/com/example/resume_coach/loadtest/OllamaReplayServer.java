@@ -0,0 +1,170 @@
+package com.example.resume_coach.loadtest;
+
+import com.example.resume_coach.component.OllamaRecording;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.resume_coach.loadtest.StubResponses.OBJECT_MAPPER;
+import static com.example.resume_coach.loadtest.StubResponses.sleepUntil;
+import static com.example.resume_coach.loadtest.StubResponses.startNdjson;
+import static com.example.resume_coach.loadtest.StubResponses.writeJson;
+import static com.example.resume_coach.loadtest.StubResponses.writeRawLine;
+
+/**
+ * 녹화 파일(ollama.api.recording.file)을 원래 줄 간격 그대로 재생하는 Ollama 호환 서버 - /api/chat, /api/tags.
+ * 요청의 messages/format 이 녹화와 같으면 그 녹화를, 아니면 같은 종류(면접/학습 경로) 녹화를 순서대로 돌려가며 재생한다.
+ * 애플리케이션의 헬스 검사와 워밍업이 통과하도록 /api/version, /api/ps(녹화 모델 상주), /api/generate 와
+ * stream=false /api/chat 에는 즉시 완료 응답을 보낸다.
+ * --speed=N 이면 N 배 빠르게 재생하고, 0 이면 대기 없이 바로 보낸다.
+ *
+ * <pre>
+ * ./gradlew ollamaReplay -PreplayArgs="--file=recordings/ollama.ndjson --speed=2"
+ * </pre>
+ */
+public class OllamaReplayServer {
+
+    private final List<OllamaRecording> interviews;
+    private final List<OllamaRecording> learningPaths;
+    private final Map<JsonNode, OllamaRecording> exact = new HashMap<>();
+    private final AtomicInteger nextInterview = new AtomicInteger();
+    private final AtomicInteger nextLearningPath = new AtomicInteger();
+    private final double speed;
+    private final String model;
+
+    OllamaReplayServer(List<OllamaRecording> recordings, double speed) {
+        this.interviews = recordings.stream().filter(r -> !r.isLearningPath()).toList();
+        this.learningPaths = recordings.stream().filter(OllamaRecording::isLearningPath).toList();
+        for (OllamaRecording recording : recordings) {
+            exact.putIfAbsent(matchKey(recording.request()), recording);
+        }
+        this.speed = speed;
+        this.model = recordings.isEmpty() ? "unknown" : recordings.get(0).request().path("model").asText();
+    }
+
+    public static void main(String[] args) throws IOException {
+        LoadTestArgs parsed = new LoadTestArgs(args);
+        Path file = Path.of(parsed.string("file", "ollama-recordings.ndjson"));
+        List<OllamaRecording> recordings = OllamaRecording.readAll(OBJECT_MAPPER, file);
+        if (recordings.isEmpty()) {
+            throw new IllegalArgumentException("녹화가 없습니다: " + file);
+        }
+        OllamaReplayServer replay = new OllamaReplayServer(recordings, parsed.decimal("speed", 1.0));
+        int port = parsed.integer("port", 11434);
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/api/chat", replay::chat);
+        server.createContext("/api/tags", replay::tags);
+        server.createContext("/api/ps", replay::ps);
+        server.createContext("/api/generate", replay::generate);
+        server.createContext("/api/version", exchange -> writeJson(exchange, 200, Map.of("version", "0.0.0-replay")));
+        server.start();
+        System.out.printf("Ollama 재생 서버 시작: http://localhost:%d (면접 %d개, 학습 경로 %d개, speed = %.1fx)%n",
+                port, replay.interviews.size(), replay.learningPaths.size(), replay.speed);
+    }
+
+    private void tags(HttpExchange exchange) throws IOException {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("name", model);
+        entry.put("model", model);
+        writeJson(exchange, 200, Map.of("models", List.of(entry)));
+    }
+
+    private void ps(HttpExchange exchange) throws IOException {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("name", model);
+        entry.put("model", model);
+        entry.put("expires_at", Instant.now().plus(Duration.ofMinutes(5)).toString());
+        writeJson(exchange, 200, Map.of("models", List.of(entry)));
+    }
+
+    /**
+     * 워밍업 로드와 합성 생성 검사 - 녹화와 무관하게 즉시 완료
+     */
+    private void generate(HttpExchange exchange) throws IOException {
+        try {
+            exchange.getRequestBody().readAllBytes();
+            writeJson(exchange, 200, done("response", ""));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Map<String, Object> done(String field, Object value) {
+        Map<String, Object> done = new LinkedHashMap<>();
+        done.put("model", model);
+        done.put("created_at", Instant.now().toString());
+        done.put(field, value);
+        done.put("done", true);
+        done.put("done_reason", "stop");
+        return done;
+    }
+
+    private void chat(HttpExchange exchange) throws IOException {
+        try {
+            long started = System.nanoTime();
+            JsonNode request = OBJECT_MAPPER.readTree(exchange.getRequestBody());
+            if (!request.path("stream").asBoolean(true)) {
+                // 시스템 프롬프트 워밍업 - 녹화를 재생하지 않음
+                writeJson(exchange, 200, done("message", Map.of("role", "assistant", "content", "")));
+                return;
+            }
+            OllamaRecording recording = select(request);
+            if (recording == null) {
+                writeJson(exchange, 404, Map.of("error", "재생할 녹화가 없습니다"));
+                return;
+            }
+            startNdjson(exchange);
+            OutputStream out = exchange.getResponseBody();
+            for (OllamaRecording.Line line : recording.lines()) {
+                if (speed > 0) {
+                    sleepUntil(started + (long) (line.offsetNanos() / speed));
+                }
+                writeRawLine(out, line.line());
+            }
+        } catch (IOException ignore) {
+            // 클라이언트 취소 (조기 종료 포함)
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private OllamaRecording select(JsonNode request) {
+        OllamaRecording match = exact.get(matchKey(request));
+        if (match != null) {
+            return match;
+        }
+        boolean learningPath = OllamaRecording.isLearningPath(request);
+        List<OllamaRecording> candidates = learningPath ? learningPaths : interviews;
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        AtomicInteger next = learningPath ? nextLearningPath : nextInterview;
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    /**
+     * 생성 결과를 결정하는 부분만 비교 - 모델 이름, 옵션 차이는 무시
+     */
+    private static JsonNode matchKey(JsonNode request) {
+        ObjectNode key = OBJECT_MAPPER.createObjectNode();
+        key.set("messages", request.path("messages"));
+        key.set("format", request.path("format"));
+        return key;
+    }
+}
@@ -0,0 +1,355 @@
+package com.example.resume_coach.loadtest;
+
+import com.example.resume_coach.component.OllamaRecording;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.example.resume_coach.loadtest.StubResponses.OBJECT_MAPPER;
+import static com.example.resume_coach.loadtest.StubResponses.sleepUntil;
+import static com.example.resume_coach.loadtest.StubResponses.startNdjson;
+import static com.example.resume_coach.loadtest.StubResponses.writeJson;
+import static com.example.resume_coach.loadtest.StubResponses.writeLine;
+
+/**
+ * GPU 없이 부하 테스트를 하기 위한 Ollama 호환 스텁 - /api/chat (NDJSON 스트리밍, stream=false 면 한 번에 응답),
+ * /api/generate (워밍업 로드와 합성 생성 검사용, stream=false 만), /api/tags, /api/ps, /api/version.
+ * 모델은 첫 생성 요청(워밍업 포함)에서 --load-ms 만큼 걸려 로드되고, 그 뒤로 /api/ps 에 상주 모델로 나온다.
+ * 생성 슬롯(--parallel)을 얻은 요청만 prefill 지연 후 --tokens-per-second 속도로 미리 준비한 한국어 JSON 응답을 흘리고,
+ * 나머지는 Ollama 처럼 대기열에서 기다린다 (--max-queue 초과 시 503). format 이 있으면 코드 펜스 없이 JSON 만 보낸다.
+ * --error-rate 는 스트리밍 전 HTTP 500, --stream-error-rate 는 스트림 도중 {"error": ...} 줄로 장애를 주입한다.
+ * --degradation-per-slot 은 동시에 생성 중인 요청이 하나 늘 때마다 prefill 시간과 토큰 간격을 그 비율만큼 늘려
+ * GPU 를 나눠 쓰는 실제 Ollama 처럼 동시성이 높을수록 요청당 처리량이 떨어지게 한다 (적응형 동시 생성 한도 검증용).
+ *
+ * <pre>
+ * ./gradlew ollamaStub -PstubArgs="--port=11434 --parallel=2 --tokens-per-second=30 --error-rate=0.02"
+ * ./gradlew ollamaStub -PstubArgs="--parallel=8 --tokens-per-second=30 --degradation-per-slot=0.5"
+ * </pre>
+ */
+public class OllamaStubServer {
+
+    private final String model;
+    private final long loadMillis;
+    private final long prefillMillis;
+    private final long prefillMillisPerKiloChar;
+    private final double tokensPerSecond;
+    private final int charsPerToken;
+    private final double degradationPerSlot;
+    private final int maxQueue;
+    private final double errorRate;
+    private final double streamErrorRate;
+    private final Semaphore slots;
+    private final String interviewBody;
+    private final String learningPathBody;
+
+    private final AtomicBoolean loaded = new AtomicBoolean(false);
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    OllamaStubServer(LoadTestArgs args) {
+        this.model = args.string("model", "benedict/linkbricks-llama3.1-korean:8b");
+        this.loadMillis = args.longValue("load-ms", 0);
+        this.prefillMillis = args.longValue("prefill-ms", 800);
+        this.prefillMillisPerKiloChar = args.longValue("prefill-ms-per-kchar", 0);
+        this.tokensPerSecond = args.decimal("tokens-per-second", 25);
+        this.charsPerToken = args.integer("chars-per-token", 2);
+        this.degradationPerSlot = args.decimal("degradation-per-slot", 0);
+        this.maxQueue = args.integer("max-queue", 512);
+        this.errorRate = args.decimal("error-rate", 0);
+        this.streamErrorRate = args.decimal("stream-error-rate", 0);
+        this.slots = new Semaphore(args.integer("parallel", 1), true);
+        this.interviewBody = resource(args.string("interview-body", "fixtures/interview_response.txt"));
+        this.learningPathBody = resource(args.string("learning-body", "fixtures/learning_response.txt"));
+    }
+
+    public static void main(String[] args) throws IOException {
+        LoadTestArgs parsed = new LoadTestArgs(args);
+        OllamaStubServer stub = new OllamaStubServer(parsed);
+        int port = parsed.integer("port", 11434);
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/api/chat", exchange -> stub.serve(exchange, stub::generate));
+        server.createContext("/api/generate", exchange -> stub.serve(exchange, stub::generateOnce));
+        server.createContext("/api/tags", stub::tags);
+        server.createContext("/api/ps", stub::ps);
+        server.createContext("/api/version", exchange -> writeJson(exchange, 200, Map.of("version", "0.0.0-stub")));
+        server.start();
+        System.out.printf("Ollama 스텁 시작: http://localhost:%d (model = %s, parallel = %d, %.1f tokens/s, prefill = %dms, 슬롯당 저하 = %.2f)%n",
+                port, stub.model, stub.slots.availablePermits(), stub.tokensPerSecond, stub.prefillMillis, stub.degradationPerSlot);
+
+        Executors.newSingleThreadScheduledExecutor().scheduleAtFixedRate(stub::printStatus, 10, 10, TimeUnit.SECONDS);
+    }
+
+    private void printStatus() {
+        System.out.printf("[stub] active = %d, queued = %d, completed = %d, cancelled = %d, failed = %d, rejected = %d%n",
+                active.get(), queued.get(), completed.get(), cancelled.get(), failed.get(), rejected.get());
+    }
+
+    private void tags(HttpExchange exchange) throws IOException {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("name", model);
+        entry.put("model", model);
+        entry.put("modified_at", Instant.now().toString());
+        entry.put("size", 4_920_753_328L);
+        writeJson(exchange, 200, Map.of("models", List.of(entry)));
+    }
+
+    /**
+     * 로드된 모델 목록 - 로드 전에는 비어 있다 (keep_alive 만료로 내려가지는 않음)
+     */
+    private void ps(HttpExchange exchange) throws IOException {
+        List<Map<String, Object>> models = new ArrayList<>(1);
+        if (loaded.get()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", model);
+            entry.put("model", model);
+            entry.put("size", 4_920_753_328L);
+            entry.put("size_vram", 4_920_753_328L);
+            entry.put("expires_at", Instant.now().plus(Duration.ofMinutes(5)).toString());
+            models.add(entry);
+        }
+        writeJson(exchange, 200, Map.of("models", models));
+    }
+
+    /**
+     * 생성 요청 공통 - 대기열(--max-queue 초과 시 503)과 생성 슬롯(--parallel)을 거쳐 generation 실행
+     */
+    private void serve(HttpExchange exchange, Generation generation) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                writeJson(exchange, 405, Map.of("error", "method not allowed"));
+                return;
+            }
+            JsonNode request = OBJECT_MAPPER.readTree(exchange.getRequestBody());
+            if (queued.incrementAndGet() > maxQueue) {
+                queued.decrementAndGet();
+                rejected.incrementAndGet();
+                writeJson(exchange, 503, Map.of("error", "server busy, please try again.  maximum pending requests exceeded"));
+                return;
+            }
+            try {
+                slots.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                queued.decrementAndGet();
+            }
+            active.incrementAndGet();
+            try {
+                generation.run(exchange, request);
+            } finally {
+                active.decrementAndGet();
+                slots.release();
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void generate(HttpExchange exchange, JsonNode request) throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < errorRate) {
+            failed.incrementAndGet();
+            writeJson(exchange, 500, Map.of("error", "stub: injected error"));
+            return;
+        }
+        long started = System.nanoTime();
+        long loadNanos = load();
+
+        int promptChars = 0;
+        for (JsonNode message : request.path("messages")) {
+            promptChars += message.path("content").asText().length();
+        }
+        long prefillNanos = prefill(promptChars);
+
+        boolean structured = request.hasNonNull("format");
+        String body = OllamaRecording.isLearningPath(request) ? learningPathBody : interviewBody;
+        List<String> tokens = tokens(structured ? jsonOnly(body) : body);
+        if (!request.path("stream").asBoolean(true)) {
+            // 워밍업(시스템 프롬프트 평가) - num_predict 만큼만 생성한 것처럼 한 번에 응답
+            int count = Math.min(tokens.size(), numPredict(request, tokens.size()));
+            Map<String, Object> done = chunk(String.join("", tokens.subList(0, count)));
+            done.put("done_reason", "length");
+            done.put("done", true);
+            putStats(done, started, loadNanos, promptChars, prefillNanos, count, 0);
+            writeJson(exchange, 200, done);
+            completed.incrementAndGet();
+            return;
+        }
+        int failAt = random.nextDouble() < streamErrorRate ? random.nextInt(Math.max(1, tokens.size())) : -1;
+
+        startNdjson(exchange);
+        OutputStream out = exchange.getResponseBody();
+        long evalStarted = System.nanoTime();
+        long intervalNanos = (long) (1_000_000_000L / tokensPerSecond);
+        long nextTokenAt = evalStarted;
+        try {
+            for (int i = 0; i < tokens.size(); i++) {
+                if (i == failAt) {
+                    failed.incrementAndGet();
+                    writeLine(out, Map.of("error", "stub: injected mid-stream error")); // Ollama 의 스트림 도중 오류 형식
+                    return;
+                }
+                sleepUntil(nextTokenAt);
+                writeLine(out, chunk(tokens.get(i)));
+                nextTokenAt += Math.round(intervalNanos * slowdown()); // 토큰마다 현재 동시 생성 수로 다시 계산
+            }
+            long evalNanos = System.nanoTime() - evalStarted;
+            Map<String, Object> done = chunk("");
+            done.put("done_reason", "stop");
+            done.put("done", true);
+            putStats(done, started, loadNanos, promptChars, prefillNanos, tokens.size(), evalNanos);
+            writeLine(out, done);
+            completed.incrementAndGet();
+        } catch (IOException e) {
+            cancelled.incrementAndGet(); // 클라이언트가 취소(조기 종료 포함)
+        }
+    }
+
+    /**
+     * /api/generate - 빈 prompt 는 모델 로드만(done_reason = load), 아니면 prefill 후 num_predict 개 토큰을 한 번에 응답
+     */
+    private void generateOnce(HttpExchange exchange, JsonNode request) throws IOException {
+        long started = System.nanoTime();
+        long loadNanos = load();
+        String prompt = request.path("prompt").asText("");
+        Map<String, Object> done = new LinkedHashMap<>();
+        done.put("model", model);
+        done.put("created_at", Instant.now().toString());
+        if (prompt.isEmpty()) {
+            done.put("response", "");
+            done.put("done", true);
+            done.put("done_reason", "load");
+            writeJson(exchange, 200, done);
+            return;
+        }
+        long prefillNanos = prefill(prompt.length());
+        List<String> tokens = tokens(interviewBody);
+        int count = Math.min(tokens.size(), numPredict(request, tokens.size()));
+        long evalStarted = System.nanoTime();
+        sleepMillis(Math.round(count * 1000 / tokensPerSecond * slowdown()));
+        done.put("response", String.join("", tokens.subList(0, count)));
+        done.put("done", true);
+        done.put("done_reason", "length");
+        putStats(done, started, loadNanos, prompt.length(), prefillNanos, count, System.nanoTime() - evalStarted);
+        writeJson(exchange, 200, done);
+        completed.incrementAndGet();
+    }
+
+    /**
+     * 첫 로드만 --load-ms 대기 - 로드 시간(나노초), 이미 로드되었으면 0
+     */
+    private long load() {
+        if (!loaded.compareAndSet(false, true)) {
+            return 0;
+        }
+        long started = System.nanoTime();
+        if (loadMillis > 0) {
+            sleepMillis(loadMillis);
+        }
+        return System.nanoTime() - started;
+    }
+
+    private long prefill(int promptChars) {
+        long started = System.nanoTime();
+        sleepMillis(Math.round((prefillMillis + promptChars * prefillMillisPerKiloChar / 1000) * slowdown()));
+        return System.nanoTime() - started;
+    }
+
+    private static int numPredict(JsonNode request, int fallback) {
+        int numPredict = request.path("options").path("num_predict").asInt(fallback);
+        return numPredict > 0 ? numPredict : fallback;
+    }
+
+    private static void putStats(Map<String, Object> done, long started, long loadNanos, int promptChars,
+                                 long prefillNanos, int evalCount, long evalNanos) {
+        done.put("total_duration", System.nanoTime() - started);
+        done.put("load_duration", loadNanos);
+        done.put("prompt_eval_count", promptChars / 2);
+        done.put("prompt_eval_duration", prefillNanos);
+        done.put("eval_count", evalCount);
+        done.put("eval_duration", evalNanos);
+    }
+
+    /**
+     * 동시 생성 수에 따른 지연 배율 - 혼자 생성 중이면 1
+     */
+    private double slowdown() {
+        return 1 + degradationPerSlot * Math.max(0, active.get() - 1);
+    }
+
+    private Map<String, Object> chunk(String content) {
+        Map<String, Object> chunk = new LinkedHashMap<>();
+        chunk.put("model", model);
+        chunk.put("created_at", Instant.now().toString());
+        chunk.put("message", Map.of("role", "assistant", "content", content));
+        chunk.put("done", false);
+        return chunk;
+    }
+
+    private List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>(text.length() / charsPerToken + 1);
+        int start = 0;
+        while (start < text.length()) {
+            int end = Math.min(text.length(), start + charsPerToken);
+            if (end < text.length() && Character.isHighSurrogate(text.charAt(end - 1))) {
+                end++;
+            }
+            tokens.add(text.substring(start, end));
+            start = end;
+        }
+        return tokens;
+    }
+
+    private static String jsonOnly(String body) {
+        int start = body.indexOf('{');
+        int end = body.lastIndexOf('}');
+        return start >= 0 && end > start ? body.substring(start, end + 1) : body;
+    }
+
+    private static void sleepMillis(long millis) {
+        sleepUntil(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @FunctionalInterface
+    private interface Generation {
+        void run(HttpExchange exchange, JsonNode request) throws IOException;
+    }
+
+    private static String resource(String path) {
+        try (InputStream inputStream = OllamaStubServer.class.getClassLoader().getResourceAsStream(path)) {
+            if (inputStream == null) {
+                throw new IllegalArgumentException("응답 파일을 찾을 수 없습니다: " + path);
+            }
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package com.example.resume_coach.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ResumeController SSE 엔드포인트 부하 드라이버 - N 개의 스트림을 동시에 열고
+ * 첫 콘텐츠 이벤트(question/step/델타/final)까지의 시간과 전체 지연의 p50/p95/p99, 드롭된 스트림 수를 출력한다.
+ * final 이벤트 없이 끝나거나 error 이벤트, HTTP 오류, 시간 초과가 난 스트림을 드롭으로 센다.
+ * --hold-seconds 를 주면 대기 모드 - 스트림을 모두 연 뒤 그 시간 동안 유지하면서, 연결 전후 서버의
+ * /actuator/metrics(jvm.memory.used heap, jvm.threads.live) 차이를 연결 수로 나눠 연결당 메모리와 스레드를 출력한다.
+ *
+ * <pre>
+ * ./gradlew loadTest -PloadArgs="--base-url=http://localhost:9070 --streams=100 --endpoint=mock-interview"
+ * ./gradlew loadTest -PloadArgs="--streams=10000 --reactive=true --hold-seconds=60 --distinct-resumes=false --ramp-ms=30000"
+ * </pre>
+ */
+public class SseLoadDriver {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    /** 생성 결과가 아닌 제어 이벤트 - 첫 이벤트 시간에서 제외 */
+    private static final Set<String> CONTROL_EVENTS = Set.of("keepalive", "queue", "start", "retry", "mode");
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor();
+    private final String baseUrl;
+    private final String reactiveBaseUrl;
+    private final String endpoint;
+    private final boolean deltas;
+    private final boolean reactive;
+    private final Duration timeout;
+
+    SseLoadDriver(LoadTestArgs args) {
+        this.baseUrl = args.string("base-url", "http://localhost:9070");
+        this.reactiveBaseUrl = args.string("reactive-base-url", "http://localhost:9071");
+        this.endpoint = args.string("endpoint", "mock-interview");
+        this.deltas = args.bool("deltas", false);
+        this.reactive = args.bool("reactive", false);
+        this.timeout = Duration.ofSeconds(args.longValue("timeout-seconds", 900));
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestArgs parsed = new LoadTestArgs(args);
+        SseLoadDriver driver = new SseLoadDriver(parsed);
+        int streams = parsed.integer("streams", 20);
+        // 기본은 스트림마다 다른 이력서 - 같은 이력서면 결과 캐시/공유 생성으로 Ollama 호출이 합쳐진다
+        boolean distinct = parsed.bool("distinct-resumes", true);
+        long rampMillis = parsed.longValue("ramp-ms", 0);
+
+        List<String> resumeIds = new ArrayList<>(streams);
+        for (int i = 0; i < streams; i++) {
+            resumeIds.add(distinct || i == 0 ? driver.createResume(i) : resumeIds.get(0));
+        }
+        System.out.printf("%d개 스트림 시작: %s (deltas = %s, reactive = %s, 이력서 %d개)%n",
+                streams, driver.endpoint, driver.deltas, driver.reactive, resumeIds.stream().distinct().count());
+
+        long holdSeconds = parsed.longValue("hold-seconds", 0);
+        if (holdSeconds > 0) {
+            driver.hold(resumeIds, rampMillis, holdSeconds);
+            System.exit(0);
+        }
+        Result result = driver.run(resumeIds, rampMillis);
+        result.print();
+        System.exit(0);
+    }
+
+    private String createResume(int index) throws Exception {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("careerSummary", "3년차 백엔드 개발자, Spring Boot/MSA 기반 커머스 서비스 개발, AWS EC2 운영 경험 #" + index);
+        body.put("jobExperience", "대규모 이커머스 플랫폼 백엔드 개발, 마이크로서비스 아키텍처 설계 및 구현");
+        body.put("skills", "Java, Spring Boot, MySQL, AWS, Docker, Kubernetes");
+        body.put("desiredPosition", "B2B 플랫폼 백엔드 개발자");
+        body.put("yearsOfExperience", 3);
+        body.put("industry", "IT/소프트웨어");
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/resumes"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(OBJECT_MAPPER.writeValueAsBytes(body)))
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 201) {
+            throw new IllegalStateException("이력서 생성 실패: HTTP " + response.statusCode() + " " + response.body());
+        }
+        return OBJECT_MAPPER.readTree(response.body()).path("id").asText();
+    }
+
+    private Result run(List<String> resumeIds, long rampMillis) throws InterruptedException {
+        Result result = new Result(resumeIds.size());
+        CountDownLatch done = new CountDownLatch(resumeIds.size());
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < resumeIds.size(); i++) {
+                String resumeId = resumeIds.get(i);
+                long delayMillis = resumeIds.size() > 1 ? rampMillis * i / (resumeIds.size() - 1) : 0;
+                executor.execute(() -> {
+                    try {
+                        Thread.sleep(delayMillis);
+                        stream(resumeId, result);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        }
+        result.wallNanos = System.nanoTime() - started;
+        return result;
+    }
+
+    /**
+     * 대기 모드 - 스트림을 모두 열어 두고 연결 전후 서버 heap/스레드 수 차이로 연결당 비용을 추정.
+     * heap 은 GC 시점에 따라 흔들리므로 연결 수가 클수록(수천 개 이상) 의미 있는 값이 된다
+     */
+    private void hold(List<String> resumeIds, long rampMillis, long holdSeconds) throws InterruptedException {
+        double heapBefore = serverMetric("jvm.memory.used", "area:heap");
+        double threadsBefore = serverMetric("jvm.threads.live", null);
+        AtomicInteger connected = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        List<InputStream> bodies = new CopyOnWriteArrayList<>();
+        CountDownLatch opened = new CountDownLatch(resumeIds.size());
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        for (int i = 0; i < resumeIds.size(); i++) {
+            String resumeId = resumeIds.get(i);
+            long delayMillis = resumeIds.size() > 1 ? rampMillis * i / (resumeIds.size() - 1) : 0;
+            executor.execute(() -> {
+                InputStream body = null;
+                try {
+                    Thread.sleep(delayMillis);
+                    HttpResponse<InputStream> response = httpClient.send(streamRequest(resumeId), HttpResponse.BodyHandlers.ofInputStream());
+                    body = response.body();
+                    if (response.statusCode() != 200) {
+                        failed.incrementAndGet();
+                        return;
+                    }
+                    bodies.add(body);
+                    connected.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                    return;
+                } finally {
+                    opened.countDown();
+                }
+                // 수요를 유지하도록 계속 읽음 (하트비트/queue 이벤트만 오가는 대기 연결)
+                try (InputStream in = body) {
+                    in.transferTo(OutputStream.nullOutputStream());
+                } catch (Exception ignore) {
+                }
+            });
+        }
+        opened.await();
+        Thread.sleep(5_000); // 연결 직후 할당이 정리되도록 잠시 대기
+        double heapAfter = serverMetric("jvm.memory.used", "area:heap");
+        double threadsAfter = serverMetric("jvm.threads.live", null);
+        int open = connected.get();
+        System.out.printf("%n대기 연결 %d개 (실패 %d)%n", open, failed.get());
+        if (open > 0 && heapBefore >= 0 && heapAfter >= 0) {
+            System.out.printf("서버 heap: %.1fMB → %.1fMB, 연결당 %.1fKB%n",
+                    heapBefore / 1e6, heapAfter / 1e6, (heapAfter - heapBefore) / open / 1024);
+            System.out.printf("서버 스레드: %.0f → %.0f, 연결당 %.3f%n",
+                    threadsBefore, threadsAfter, (threadsAfter - threadsBefore) / open);
+        } else {
+            System.out.println("서버 지표를 읽지 못함 (/actuator/metrics 노출 확인)");
+        }
+        Thread.sleep(TimeUnit.SECONDS.toMillis(holdSeconds));
+        bodies.forEach(SseLoadDriver::closeQuietly);
+        executor.shutdownNow();
+    }
+
+    /**
+     * /actuator/metrics/{name} 의 첫 측정값 (실패하면 -1)
+     */
+    private double serverMetric(String name, String tag) {
+        String url = baseUrl + "/actuator/metrics/" + name + (tag != null ? "?tag=" + tag : "");
+        try {
+            HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return -1;
+            }
+            return OBJECT_MAPPER.readTree(response.body()).path("measurements").path(0).path("value").asDouble(-1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private HttpRequest streamRequest(String resumeId) {
+        String url = reactive
+                ? reactiveBaseUrl + "/api/reactive/resumes/" + resumeId + "/" + endpoint + "?deltas=" + deltas
+                : baseUrl + "/api/resumes/" + resumeId + "/" + endpoint + "?deltas=" + deltas;
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Accept", "text/event-stream")
+                .timeout(timeout)
+                .GET()
+                .build();
+    }
+
+    private void stream(String resumeId, Result result) {
+        HttpRequest request = streamRequest(resumeId);
+        long started = System.nanoTime();
+        long firstEventNanos = -1;
+        boolean finalSeen = false;
+        AtomicBoolean timedOut = new AtomicBoolean(false);
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            if (response.statusCode() != 200) {
+                response.body().close();
+                result.drop("http_" + response.statusCode());
+                return;
+            }
+            // request.timeout 은 응답 헤더까지만 적용되므로 스트림 전체 시간은 본문을 닫아 제한
+            ScheduledFuture<?> deadline = watchdog.schedule(() -> {
+                timedOut.set(true);
+                closeQuietly(response.body());
+            }, timeout.toMillis(), TimeUnit.MILLISECONDS);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+                String eventName = null;
+                boolean hasData = false;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty()) {
+                        // 이벤트 경계
+                        if (hasData && (eventName == null || !CONTROL_EVENTS.contains(eventName)) && firstEventNanos < 0) {
+                            firstEventNanos = System.nanoTime() - started;
+                        }
+                        if ("error".equals(eventName)) {
+                            result.drop("error_event");
+                            return;
+                        }
+                        if ("final".equals(eventName)) {
+                            finalSeen = true;
+                        }
+                        eventName = null;
+                        hasData = false;
+                    } else if (line.startsWith("event:")) {
+                        eventName = line.substring("event:".length()).trim();
+                    } else if (line.startsWith("data:")) {
+                        hasData = true;
+                    }
+                }
+            } finally {
+                deadline.cancel(false);
+            }
+        } catch (HttpTimeoutException e) {
+            result.drop("timeout");
+            return;
+        } catch (Exception e) {
+            result.drop(timedOut.get() ? "timeout" : e.getClass().getSimpleName());
+            return;
+        }
+        if (!finalSeen) {
+            result.drop(timedOut.get() ? "timeout" : "no_final");
+            return;
+        }
+        result.success(firstEventNanos, System.nanoTime() - started);
+    }
+
+    private static void closeQuietly(InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (Exception ignore) {
+        }
+    }
+
+    private static final class Result {
+        private final int streams;
+        private final ConcurrentLinkedQueue<Long> firstEventNanos = new ConcurrentLinkedQueue<>();
+        private final ConcurrentLinkedQueue<Long> totalNanos = new ConcurrentLinkedQueue<>();
+        private final Map<String, AtomicInteger> drops = new ConcurrentHashMap<>();
+        private long wallNanos;
+
+        private Result(int streams) {
+            this.streams = streams;
+        }
+
+        void success(long firstEvent, long total) {
+            if (firstEvent >= 0) {
+                firstEventNanos.add(firstEvent);
+            }
+            totalNanos.add(total);
+        }
+
+        void drop(String reason) {
+            drops.computeIfAbsent(reason, r -> new AtomicInteger()).incrementAndGet();
+        }
+
+        void print() {
+            int dropped = drops.values().stream().mapToInt(AtomicInteger::get).sum();
+            System.out.printf("%n스트림 %d개: 성공 %d, 드롭 %d %s, 소요 %.1fs%n",
+                    streams, totalNanos.size(), dropped, drops, wallNanos / 1e9);
+            printPercentiles("첫 이벤트까지", firstEventNanos);
+            printPercentiles("전체 지연", totalNanos);
+        }
+
+        private static void printPercentiles(String label, ConcurrentLinkedQueue<Long> samples) {
+            long[] sorted = samples.stream().mapToLong(Long::longValue).toArray();
+            if (sorted.length == 0) {
+                System.out.printf("%-8s: 표본 없음%n", label);
+                return;
+            }
+            Arrays.sort(sorted);
+            System.out.printf("%-8s: p50 = %dms, p95 = %dms, p99 = %dms, max = %dms (n = %d)%n", label,
+                    percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+                    TimeUnit.NANOSECONDS.toMillis(sorted[sorted.length - 1]), sorted.length);
+        }
+
+        /**
+         * nearest-rank 백분위 (ms)
+         */
+        private static long percentile(long[] sorted, int p) {
+            int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+            return TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(0, rank - 1)]);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.resume_coach.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 스텁/재생 서버 공통 - JSON 응답, NDJSON 줄 전송, 나노초 단위 대기
+ */
+final class StubResponses {
+
+    static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private StubResponses() {
+    }
+
+    static void writeJson(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = OBJECT_MAPPER.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    static void startNdjson(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+        exchange.sendResponseHeaders(200, 0);
+    }
+
+    static void writeLine(OutputStream out, Object value) throws IOException {
+        out.write(OBJECT_MAPPER.writeValueAsBytes(value));
+        out.write('\n');
+        out.flush();
+    }
+
+    static void writeRawLine(OutputStream out, String line) throws IOException {
+        out.write(line.getBytes(StandardCharsets.UTF_8));
+        out.write('\n');
+        out.flush();
+    }
+
+    static void sleepUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
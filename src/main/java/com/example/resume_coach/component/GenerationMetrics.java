@@ -0,0 +1,169 @@
+package com.example.resume_coach.component;
+
+import com.example.resume_coach.handler.SseOutboundQueue;
+import com.example.resume_coach.model.GenerationRequest;
+import com.example.resume_coach.model.GenerationType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 생성 관련 Micrometer 지표 (/actuator/prometheus).
+ * Ollama done 청크 통계(total/load/prompt_eval/eval)는 endpoint(interview/learning), model, prompt_version 태그로,
+ * 서버가 직접 잰 대기열 대기, TTFT, SSE 전송 지연, 클라이언트가 체감하는 전체 지연은 endpoint 태그로 기록한다.
+ * 입장 제어의 현재 한도와 AIMD 입력 신호(TTFT/tokens/s EWMA)는 게이지로 노출한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class GenerationMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Ollama 스트림 한 번의 종료 - done 청크를 받지 못했으면(취소, 조기 중단 후 drain 시간 초과) Ollama 측 시간은 생략
+     */
+    public void recordOllama(GenerationRequest request, OllamaStreamStats stats, Throwable error) {
+        Tags tags = Tags.of(
+                "endpoint", request.getType().getEndpoint(),
+                "model", request.getModel(),
+                "prompt_version", request.getPromptVersion()
+        );
+        Counter.builder("ollama.generation.requests")
+                .description("Ollama 생성 스트림 종료 수")
+                .tags(tags)
+                .tag("outcome", outcomeOf(stats, error))
+                .register(meterRegistry)
+                .increment();
+        if (stats == null) {
+            return;
+        }
+        if (stats.getTimeToFirstTokenNanos() > 0) {
+            timer("ollama.generation.ttft", "요청 전송부터 첫 content 토큰까지", tags)
+                    .record(stats.getTimeToFirstTokenNanos(), TimeUnit.NANOSECONDS);
+        }
+        if (stats.getTotalDuration() <= 0) {
+            return;
+        }
+        timer("ollama.generation.total", "Ollama total_duration", tags)
+                .record(stats.getTotalDuration(), TimeUnit.NANOSECONDS);
+        timer("ollama.generation.load", "Ollama load_duration (모델 로드)", tags)
+                .record(stats.getLoadDuration(), TimeUnit.NANOSECONDS);
+        timer("ollama.generation.prompt.eval", "Ollama prompt_eval_duration (prefill)", tags)
+                .record(stats.getPromptEvalDuration(), TimeUnit.NANOSECONDS);
+        timer("ollama.generation.eval", "Ollama eval_duration (decode)", tags)
+                .record(stats.getEvalDuration(), TimeUnit.NANOSECONDS);
+        summary("ollama.generation.prompt.tokens", "prompt_eval_count", "tokens", tags)
+                .record(stats.getPromptEvalCount());
+        summary("ollama.generation.eval.tokens", "eval_count", "tokens", tags)
+                .record(stats.getEvalCount());
+        if (stats.getEvalDuration() > 0) {
+            summary("ollama.generation.decode.rate", "디코딩 속도", "tokens/s", tags)
+                    .record(stats.getEvalCount() * 1_000_000_000.0 / stats.getEvalDuration());
+        }
+    }
+
+    /**
+     * 입장 제어 대기열에서 생성 슬롯을 받기까지 기다린 시간 (즉시 허가면 0)
+     */
+    public void recordQueueWait(GenerationRequest request, long nanos) {
+        timer("ollama.queue.wait", "생성 슬롯 대기 시간",
+                Tags.of("endpoint", request.getType().getEndpoint(), "model", request.getModel()))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 클라이언트가 체감하는 전체 지연 - 요청 수신부터 스트림 종료까지
+     */
+    public void recordLatency(GenerationType type, long nanos, String outcome) {
+        timer("generation.latency", "요청 수신부터 스트림 종료까지",
+                Tags.of("endpoint", type.getEndpoint(), "outcome", outcome))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 헤지 요청 - fired(발사), won(헤지 요청이 먼저 토큰을 보냄), skipped_budget, skipped_no_backend
+     */
+    public void recordHedge(String outcome) {
+        Counter.builder("ollama.hedge")
+                .description("TTFT p95 초과 시 다른 백엔드로 보낸 헤지 요청")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * 입장 제어 게이지 - 현재 동시 생성 한도, 사용 중 슬롯, 대기열 길이, AIMD 가 보는 TTFT/디코딩 속도 EWMA
+     */
+    public void bindAdmission(OllamaAdmissionController admission) {
+        gauge("ollama.admission.limit", "현재 동시 생성 한도 (적응형이면 AIMD 결과)", "streams",
+                admission, a -> a.stats().getLimit());
+        gauge("ollama.admission.in.use", "사용 중인 생성 슬롯", "streams",
+                admission, a -> a.stats().getInUse());
+        gauge("ollama.admission.queued", "생성 슬롯 대기열 길이", "requests",
+                admission, a -> a.stats().getQueued());
+        gauge("ollama.admission.ttft.ewma", "AIMD 입력 - 첫 토큰까지 시간 EWMA", "milliseconds",
+                admission, a -> a.stats().getTtftEwmaMs());
+        gauge("ollama.admission.decode.rate.ewma", "AIMD 입력 - 디코딩 속도 EWMA", "tokens/s",
+                admission, a -> a.stats().getTokensPerSecond());
+    }
+
+    /**
+     * SSE 연결의 프레임 전송 시간과 요청 수신부터 연결 종료까지의 지연 기록기
+     */
+    public SseOutboundQueue.Observer sseObserver(GenerationType type) {
+        Timer writes = timer("sse.write", "SSE 프레임 전송 시간 (emitter.send)", Tags.of("endpoint", type.getEndpoint()));
+        return new SseOutboundQueue.Observer() {
+            @Override
+            public void onWrite(long nanos) {
+                writes.record(nanos, TimeUnit.NANOSECONDS);
+            }
+
+            @Override
+            public void onClosed(long openNanos, boolean error) {
+                recordLatency(type, openNanos, error ? "error" : "completed");
+            }
+        };
+    }
+
+    private <T> void gauge(String name, String description, String unit, T target, ToDoubleFunction<T> value) {
+        Gauge.builder(name, target, value)
+                .description(description)
+                .baseUnit(unit)
+                .register(meterRegistry);
+    }
+
+    private Timer timer(String name, String description, Tags tags) {
+        return Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private DistributionSummary summary(String name, String description, String unit, Tags tags) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit(unit)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static String outcomeOf(OllamaStreamStats stats, Throwable error) {
+        if (error != null) {
+            return "error";
+        }
+        if (stats == null || !stats.isDone()) {
+            return "cancelled";
+        }
+        return stats.isStoppedAtJsonEnd() ? "stopped_at_json_end" : "completed";
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.resume_coach.component;
+
+import com.example.resume_coach.model.GenerationRequest;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 렌더링된 프롬프트 해시 기준 생성 결과 캐시 (LRU + TTL)
+ */
+@Component
+@Slf4j
+public class GenerationResultCache {
+
+    @Value("${ollama.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ollama.cache.max-entries:256}")
+    private int maxEntries;
+
+    @Value("${ollama.cache.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final Map<String, CachedGeneration> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedGeneration> eldest) {
+            if (size() > maxEntries) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    public synchronized Optional<CachedGeneration> get(GenerationRequest request) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        String key = keyOf(request);
+        CachedGeneration cached = entries.get(key);
+        if (cached != null && isExpired(cached)) {
+            entries.remove(key);
+            evictions.increment();
+            cached = null;
+        }
+        if (cached == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(cached);
+    }
+
+    /**
+     * 만료되지 않은 결과가 있는지 - 적중/실패 통계에 반영하지 않음 (429 판단용)
+     */
+    public synchronized boolean contains(GenerationRequest request) {
+        if (!enabled) {
+            return false;
+        }
+        CachedGeneration cached = entries.get(keyOf(request));
+        return cached != null && !isExpired(cached);
+    }
+
+    public synchronized void put(GenerationRequest request, String rawResponse, Object result) {
+        if (!enabled) {
+            return;
+        }
+        entries.put(keyOf(request), new CachedGeneration(
+                request.getResumeId(),
+                rawResponse,
+                result,
+                System.currentTimeMillis()
+        ));
+        log.debug("생성 결과 캐시 저장: 이력서 ID = {}, 해시 = {}", request.getResumeId(), request.getPromptHash());
+    }
+
+    /**
+     * 이력서가 수정/삭제되면 해당 이력서의 모든 캐시 항목 제거
+     */
+    public synchronized void invalidate(String resumeId) {
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.getResumeId().equals(resumeId));
+        int removed = before - entries.size();
+        if (removed > 0) {
+            log.info("생성 결과 캐시 무효화: 이력서 ID = {}, 항목 = {}", resumeId, removed);
+        }
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(entries.size(), maxEntries, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    private boolean isExpired(CachedGeneration cached) {
+        return System.currentTimeMillis() - cached.getCreatedAt() > ttlMinutes * 60_000L;
+    }
+
+    private static String keyOf(GenerationRequest request) {
+        return request.getResumeId() + ":" + request.getPromptHash();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class CachedGeneration {
+        private final String resumeId;
+        private final String rawResponse;
+        private final Object result;
+        private final long createdAt;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Stats {
+        private final int size;
+        private final int maxEntries;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+    }
+}
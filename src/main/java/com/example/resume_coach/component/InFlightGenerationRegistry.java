@@ -0,0 +1,195 @@
+package com.example.resume_coach.component;
+
+import com.example.resume_coach.handler.BroadcastStreamHandler;
+import com.example.resume_coach.handler.OllamaResponseHandler;
+import com.example.resume_coach.handler.StreamHandler;
+import com.example.resume_coach.model.GenerationRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 동일한 생성 요청(이력서 ID, 생성 종류, 프롬프트 해시)이 동시에 들어오면
+ * Ollama 스트림을 하나만 실행하고 결과를 모든 구독자에게 팬아웃한다 (single-flight).
+ * 생성은 생성 ID 로도 보관되어, 끊긴 SSE 연결이 Last-Event-ID 로 재연결하면 놓친 이벤트부터 이어 받는다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InFlightGenerationRegistry {
+
+    private final OllamaAdmissionController admissionController;
+    private final TaskScheduler sseKeepAliveScheduler;
+    private final GenerationMetrics generationMetrics;
+    private final Map<String, BroadcastStreamHandler> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Retained> generations = new ConcurrentHashMap<>();
+
+    /** 종료된 생성의 토큰을 재연결용으로 보관하는 시간 */
+    @Value("${sse.resume.grace-period-seconds:120}")
+    private long gracePeriodSeconds;
+
+    /** 구독자가 모두 끊긴 생성을 취소하기 전에 재연결을 기다리는 시간 */
+    @Value("${sse.resume.reconnect-window-seconds:15}")
+    private long reconnectWindowSeconds;
+
+    @Value("${sse.resume.max-buffered-chunks:4096}")
+    private int maxBufferedChunks;
+
+    /**
+     * 실행 중인 생성이 있으면 합류하고, 없으면 starter 로 새 Ollama 스트림을 시작한다.
+     *
+     * @return 구독 해제용 핸들 (SSE 연결 종료 시 호출)
+     */
+    public Attachment attach(
+            GenerationRequest request,
+            StreamHandler subscriber,
+            Function<StreamHandler, OllamaResponseHandler> starter
+    ) {
+        String key = keyOf(request);
+        while (true) {
+            BroadcastStreamHandler[] created = new BroadcastStreamHandler[1];
+            BroadcastStreamHandler broadcast = inFlight.computeIfAbsent(key, k -> {
+                BroadcastStreamHandler handler = newBroadcast(k);
+                handler.addFinishListener(() -> release(k, handler));
+                created[0] = handler;
+                return handler;
+            });
+
+            if (!broadcast.subscribe(subscriber)) {
+                // 취소 중인 스트림 - 제거 후 재시도
+                inFlight.remove(key, broadcast);
+                continue;
+            }
+
+            if (created[0] != null) {
+                start(request, broadcast, starter);
+            } else {
+                log.info("실행 중인 생성에 합류: 이력서 ID = {}, 종류 = {}, 구독자 = {}",
+                        request.getResumeId(), request.getType(), broadcast.subscriberCount());
+            }
+            return new Attachment(broadcast, subscriber);
+        }
+    }
+
+    /**
+     * 생성 ID 로 실행 중이거나 보관 중인 생성에 재합류 (Ollama 재호출 없음)
+     *
+     * @return 해당 생성이 없거나 만료되었거나, 다른 요청(이력서 수정 등)의 생성이거나, afterSeq 가 이미 재전송할 수 없는 구간이면 empty
+     */
+    public Optional<Attachment> resume(GenerationRequest request, String generationId, long afterSeq, StreamHandler subscriber) {
+        Retained retained = generations.get(generationId);
+        if (retained == null || !retained.key().equals(keyOf(request))) {
+            return Optional.empty();
+        }
+        BroadcastStreamHandler broadcast = retained.broadcast();
+        if (!broadcast.resume(subscriber, afterSeq)) {
+            return Optional.empty();
+        }
+        log.info("SSE 재연결 - 생성 이어받기: 생성 ID = {}", generationId);
+        return Optional.of(new Attachment(broadcast, subscriber));
+    }
+
+    /**
+     * 새 생성 슬롯 없이 처리할 수 있는지 - 같은 요청이 실행 중이거나 generationId 의 생성이 보관 중 (429 판단용)
+     */
+    public boolean canJoin(GenerationRequest request, String generationId) {
+        String key = keyOf(request);
+        if (inFlight.containsKey(key)) {
+            return true;
+        }
+        Retained retained = generationId != null ? generations.get(generationId) : null;
+        return retained != null && retained.key().equals(key);
+    }
+
+    private BroadcastStreamHandler newBroadcast(String key) {
+        BroadcastStreamHandler broadcast = new BroadcastStreamHandler(UUID.randomUUID().toString(), maxBufferedChunks);
+        Retained retained = new Retained(key, broadcast);
+        generations.put(broadcast.getGenerationId(), retained);
+        broadcast.setIdleListener(() -> sseKeepAliveScheduler.schedule(
+                broadcast::cancelIfIdle, Instant.now().plus(Duration.ofSeconds(reconnectWindowSeconds))));
+        broadcast.addFinishListener(() -> sseKeepAliveScheduler.schedule(
+                () -> generations.remove(broadcast.getGenerationId(), retained),
+                Instant.now().plus(Duration.ofSeconds(gracePeriodSeconds))));
+        return broadcast;
+    }
+
+    /**
+     * 생성 슬롯 대기열에 넣고, 허가되면 업스트림 시작 (스트림 종료 시 슬롯 반환).
+     * 대기 중에는 구독자에게 queue 이벤트가 전달되고, 모든 구독자가 떠나 취소되면 대기열에서 빠진다.
+     */
+    private void start(GenerationRequest request, BroadcastStreamHandler broadcast, Function<StreamHandler, OllamaResponseHandler> starter) {
+        OllamaAdmissionController.Ticket ticket;
+        try {
+            ticket = admissionController.enqueue(broadcast::onQueued);
+        } catch (OllamaAdmissionController.RejectedException e) {
+            log.warn("Ollama 생성 대기열 초과로 거절: 생성 ID = {}", broadcast.getGenerationId());
+            broadcast.onError(e);
+            broadcast.onComplete();
+            return;
+        }
+        broadcast.addFinishListener(ticket::cancel);
+        ticket.permit().whenComplete((permit, ex) -> {
+            if (ex != null) {
+                Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                if (!(cause instanceof CancellationException)) {
+                    log.warn("Ollama 생성 슬롯 획득 실패: {}", cause.getMessage());
+                    broadcast.onError(cause);
+                    broadcast.onComplete();
+                }
+                return;
+            }
+            broadcast.addFinishListener(permit::release); // 이미 종료된 스트림이면 즉시 반환
+            generationMetrics.recordQueueWait(request, permit.getQueueWaitNanos());
+            if (broadcast.isCancelled()) {
+                return;
+            }
+            try {
+                broadcast.attachUpstream(starter.apply(broadcast));
+            } catch (RuntimeException e) {
+                broadcast.onError(e);
+                broadcast.onComplete();
+            }
+        });
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private void release(String key, BroadcastStreamHandler broadcast) {
+        inFlight.remove(key, broadcast);
+    }
+
+    private static String keyOf(GenerationRequest request) {
+        return request.getResumeId() + ":" + request.getType() + ":" + request.getPromptHash();
+    }
+
+    private record Retained(String key, BroadcastStreamHandler broadcast) {
+    }
+
+    public static class Attachment {
+        private final BroadcastStreamHandler broadcast;
+        private final StreamHandler subscriber;
+
+        private Attachment(BroadcastStreamHandler broadcast, StreamHandler subscriber) {
+            this.broadcast = broadcast;
+            this.subscriber = subscriber;
+        }
+
+        public void detach() {
+            broadcast.unsubscribe(subscriber);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.resume_coach.component;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * 토큰 단위로 밀어 넣는(push) 방식의 JSON 파서.
+ * 최상위 객체의 지정된 배열 필드 요소가 닫히는 즉시, 그 외 최상위 필드 값이 완성되는 즉시 Listener 로 전달한다.
+ * JSON 시작('{') 이전의 텍스트(코드블록 표시 등)는 무시하고, 최상위 객체가 닫힌 뒤의 입력도 무시한다.
+ */
+@Slf4j
+public class IncrementalJsonParser {
+
+    public interface Listener {
+        /**
+         * 배열 필드의 요소 하나가 완성됨 - element 는 요소만 담은 파서
+         */
+        void onElement(String arrayField, JsonParser element) throws IOException;
+
+        /**
+         * 배열 필드 외 최상위 필드 값이 완성됨
+         */
+        void onRootField(String field, JsonParser value) throws IOException;
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Set<String> elementArrays;
+    private final Listener listener;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    private boolean started;
+    @Getter
+    private boolean rootClosed;
+    @Getter
+    private boolean failed;
+
+    private int depth;
+    private String rootField;
+    private String currentArray;
+    private TokenBuffer capture;
+    private int captureDepth;
+
+    public IncrementalJsonParser(ObjectMapper objectMapper, Set<String> elementArrays, Listener listener) {
+        this.objectMapper = objectMapper;
+        this.elementArrays = elementArrays;
+        this.listener = listener;
+        try {
+            this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Non-blocking JSON 파서 생성 실패", e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    public void feed(String chunk) {
+        if (rootClosed || failed || chunk == null || chunk.isEmpty()) {
+            return;
+        }
+        if (!started) {
+            int start = chunk.indexOf('{');
+            if (start < 0) {
+                return;
+            }
+            started = true;
+            chunk = chunk.substring(start);
+        }
+        byte[] bytes = chunk.getBytes(StandardCharsets.UTF_8);
+        try {
+            feeder.feedInput(bytes, 0, bytes.length);
+            JsonToken token;
+            while (!rootClosed && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                handle(token);
+            }
+        } catch (IOException e) {
+            failed = true;
+            log.debug("스트리밍 JSON 파싱 중단: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 최상위 객체가 정상적으로 닫혔고 파싱 오류가 없었는지
+     */
+    public boolean isComplete() {
+        return rootClosed && !failed;
+    }
+
+    private void handle(JsonToken token) throws IOException {
+        if (capture != null) {
+            capture.copyCurrentEvent(parser);
+            if (token.isStructStart()) {
+                captureDepth++;
+            } else if (token.isStructEnd()) {
+                captureDepth--;
+            }
+            if (captureDepth == 0) {
+                finishCapture();
+            }
+            return;
+        }
+
+        if (token.isStructEnd()) {
+            depth--;
+            if (depth == 1 && currentArray != null) {
+                currentArray = null; // 대상 배열 종료
+            } else if (depth == 0) {
+                rootClosed = true;
+            }
+            return;
+        }
+
+        if (depth == 0) {
+            if (token != JsonToken.START_OBJECT) {
+                throw new IOException("최상위 JSON 이 객체가 아닙니다: " + token);
+            }
+            depth = 1;
+            return;
+        }
+
+        if (token == JsonToken.FIELD_NAME) {
+            if (depth == 1) {
+                rootField = parser.currentName();
+            }
+            return;
+        }
+
+        if (depth == 1 && token == JsonToken.START_ARRAY && elementArrays.contains(rootField)) {
+            currentArray = rootField;
+            depth = 2;
+            return;
+        }
+
+        // 배열 요소 또는 최상위 필드 값 캡처 시작
+        startCapture(token);
+    }
+
+    private void startCapture(JsonToken token) throws IOException {
+        capture = new TokenBuffer(objectMapper, false);
+        capture.copyCurrentEvent(parser);
+        captureDepth = token.isStructStart() ? 1 : 0;
+        if (captureDepth == 0) {
+            finishCapture();
+        }
+    }
+
+    private void finishCapture() throws IOException {
+        TokenBuffer completed = capture;
+        capture = null;
+        try (JsonParser value = completed.asParser(objectMapper)) {
+            if (currentArray != null) {
+                listener.onElement(currentArray, value);
+            } else {
+                listener.onRootField(rootField, value);
+            }
+        }
+    }
+}
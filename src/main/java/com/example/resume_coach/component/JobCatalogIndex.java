@@ -0,0 +1,213 @@
+package com.example.resume_coach.component;
+
+import com.example.resume_coach.repository.entity.Resume;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * jobs.json 직무 카탈로그 색인.
+ * 시작 시 직무 카테고리별 검색어(카테고리명, 직무명과 그 어간, jobs-keywords.json 별칭)를 미리 만들어 두고,
+ * 이력서의 업계/희망 직무/스킬과 겹치는 카테고리만 골라 pretty printer 없이 직렬화한다 (시스템 프롬프트 ${jobs}).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JobCatalogIndex {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}&+#]+");
+    private static final Pattern NAME_SEPARATOR = Pattern.compile("[·/()]");
+    private static final List<String> JOB_SUFFIXES = List.of(
+            "개발자", "엔지니어", "디자이너", "마케터", "기획자", "담당자", "관리자", "전문가", "연구원", "상담원", "기사", "사");
+    private static final int INDUSTRY_WEIGHT = 3;
+    private static final int POSITION_WEIGHT = 3;
+    private static final int SKILLS_WEIGHT = 1;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${ollama.prompt.jobs.prune:true}")
+    private boolean prune;
+
+    @Value("${ollama.prompt.jobs.max-categories:3}")
+    private int maxCategories;
+
+    private Map<String, List<String>> catalog;
+    private final List<CategoryTerms> index = new ArrayList<>();
+    private final Map<List<String>, String> serialized = new ConcurrentHashMap<>();
+    @Getter
+    private String fullCatalogJson;
+
+    @PostConstruct
+    void load() throws IOException {
+        catalog = readJson("jobs.json", new TypeReference<LinkedHashMap<String, List<String>>>() {
+        });
+        Map<String, List<String>> aliases = readJson("jobs-keywords.json", new TypeReference<Map<String, List<String>>>() {
+        });
+        for (Map.Entry<String, List<String>> category : catalog.entrySet()) {
+            Set<String> terms = new HashSet<>();
+            addNameTerms(terms, category.getKey());
+            for (String job : category.getValue()) {
+                addNameTerms(terms, job);
+            }
+            for (String alias : aliases.getOrDefault(category.getKey(), List.of())) {
+                terms.add(normalize(alias));
+            }
+            terms.removeIf(term -> term.length() < 2);
+            index.add(new CategoryTerms(category.getKey(), List.copyOf(terms)));
+        }
+        fullCatalogJson = objectMapper.writeValueAsString(catalog);
+        log.info("직무 카탈로그 색인 완료: 카테고리 = {}, 직무 = {}, 전체 직렬화 = {}자",
+                catalog.size(), catalog.values().stream().mapToInt(List::size).sum(), fullCatalogJson.length());
+    }
+
+    /**
+     * 이력서와 관련된 카테고리만 담은 카탈로그.
+     * 점수는 업계/희망 직무 일치에 가중치를 두며, 일치하는 카테고리가 없거나 비활성화되어 있으면 전체 카탈로그를 쓴다.
+     */
+    public Selection select(Resume resume) {
+        if (!prune) {
+            return new Selection(List.of(), fullCatalogJson);
+        }
+        Text industry = new Text(resume.getIndustry());
+        Text position = new Text(resume.getDesiredPosition());
+        Text skills = new Text(resume.getSkills());
+
+        List<Map.Entry<String, Integer>> scored = new ArrayList<>();
+        for (CategoryTerms category : index) {
+            int score = category.score(industry) * INDUSTRY_WEIGHT
+                    + category.score(position) * POSITION_WEIGHT
+                    + category.score(skills) * SKILLS_WEIGHT;
+            if (score > 0) {
+                scored.add(Map.entry(category.name(), score));
+            }
+        }
+        if (scored.isEmpty()) {
+            return new Selection(List.of(), fullCatalogJson);
+        }
+        List<String> selected = scored.stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                .limit(maxCategories)
+                .map(Map.Entry::getKey)
+                .sorted(Comparator.comparingInt(this::catalogOrder)) // 같은 조합이면 같은 문자열 (프롬프트 캐시)
+                .toList();
+        return new Selection(selected, serialized.computeIfAbsent(selected, this::serialize));
+    }
+
+    private String serialize(List<String> categories) {
+        Map<String, List<String>> subset = new LinkedHashMap<>();
+        for (String category : categories) {
+            subset.put(category, catalog.get(category));
+        }
+        try {
+            return objectMapper.writeValueAsString(subset);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("직무 카탈로그 직렬화 실패", e);
+        }
+    }
+
+    private int catalogOrder(String category) {
+        int order = 0;
+        for (String name : catalog.keySet()) {
+            if (name.equals(category)) {
+                return order;
+            }
+            order++;
+        }
+        return order;
+    }
+
+    /**
+     * "UI·UX디자이너" → uiux디자이너, ui, ux디자이너, ux (어간: 직무 접미사 제거)
+     */
+    private static void addNameTerms(Set<String> terms, String name) {
+        terms.add(normalize(name));
+        for (String part : NAME_SEPARATOR.split(name)) {
+            String normalized = normalize(part);
+            terms.add(normalized);
+            for (String suffix : JOB_SUFFIXES) {
+                if (normalized.endsWith(suffix) && normalized.length() - suffix.length() >= 2) {
+                    terms.add(normalized.substring(0, normalized.length() - suffix.length()));
+                    break;
+                }
+            }
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT).replaceAll("\\s+", "");
+    }
+
+    private <T> T readJson(String resourcePath, TypeReference<T> type) throws IOException {
+        try (InputStream inputStream = new ClassPathResource(resourcePath).getInputStream()) {
+            return objectMapper.readValue(inputStream, type);
+        }
+    }
+
+    /**
+     * 이력서 필드 하나 - 한글 검색어는 공백을 제거한 문자열에서 부분 일치, 영문/숫자 검색어는 단어 단위로 일치
+     */
+    private static final class Text {
+        private final String compact;
+        private final Set<String> words;
+
+        private Text(String value) {
+            String lower = value == null ? "" : value.toLowerCase(Locale.ROOT);
+            this.compact = lower.replaceAll("\\s+", "");
+            this.words = new HashSet<>(List.of(WORD_SEPARATOR.split(lower)));
+        }
+
+        private boolean matches(String term) {
+            return isAscii(term) ? words.contains(term) : compact.contains(term);
+        }
+
+        private static boolean isAscii(String term) {
+            for (int i = 0; i < term.length(); i++) {
+                if (term.charAt(i) > 0x7f) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private record CategoryTerms(String name, List<String> terms) {
+        private int score(Text text) {
+            int matched = 0;
+            for (String term : terms) {
+                if (text.matches(term)) {
+                    matched++;
+                }
+            }
+            return matched;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Selection {
+        /** 선택된 카테고리 (비어 있으면 전체 카탈로그) */
+        private final List<String> categories;
+        private final String json;
+    }
+}
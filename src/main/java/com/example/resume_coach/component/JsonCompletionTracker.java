@@ -0,0 +1,78 @@
+package com.example.resume_coach.component;
+
+import lombok.Getter;
+
+/**
+ * 토큰 스트림에서 최상위 JSON 객체가 닫히는 위치를 찾는 추적기.
+ * 문자열 안의 괄호와 이스케이프(\", \\)를 구분하며, 첫 '{' 이전의 텍스트(코드블록 표시 등)는 무시한다.
+ * 파싱은 하지 않고 문자 단위로 깊이만 세므로 토큰당 할당이 없다.
+ */
+public class JsonCompletionTracker {
+
+    private boolean started;
+    private boolean inString;
+    private boolean escaped;
+    private int depth;
+    @Getter
+    private boolean closed;
+
+    /**
+     * 청크를 이어서 추적 - 이번 청크에서 최상위 객체가 닫혔으면 닫는 '}' 까지의 길이, 아니면 -1
+     */
+    public int feed(CharSequence chunk, int offset, int length) {
+        if (closed) {
+            return -1;
+        }
+        for (int i = offset, end = offset + length; i < end; i++) {
+            if (accept(chunk.charAt(i))) {
+                return i - offset + 1;
+            }
+        }
+        return -1;
+    }
+
+    public int feed(char[] chars, int offset, int length) {
+        if (closed) {
+            return -1;
+        }
+        for (int i = offset, end = offset + length; i < end; i++) {
+            if (accept(chars[i])) {
+                return i - offset + 1;
+            }
+        }
+        return -1;
+    }
+
+    private boolean accept(char c) {
+        if (!started) {
+            if (c == '{') {
+                started = true;
+                depth = 1;
+            }
+            return false;
+        }
+        if (inString) {
+            if (escaped) {
+                escaped = false;
+            } else if (c == '\\') {
+                escaped = true;
+            } else if (c == '"') {
+                inString = false;
+            }
+            return false;
+        }
+        switch (c) {
+            case '"' -> inString = true;
+            case '{', '[' -> depth++;
+            case '}', ']' -> {
+                if (--depth == 0) {
+                    closed = true;
+                    return true;
+                }
+            }
+            default -> {
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.resume_coach.component;
+
+import com.example.resume_coach.handler.StructuredResponseParser;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * IncrementalJsonParser 기반 StructuredResponseParser.
+ * 지정된 배열 필드의 요소가 닫힐 때마다 출력 레코드(X)로 바인딩한 뒤 DTO(E)로 변환해 이벤트로 내보낸다.
+ * 나머지 최상위 필드는 토큰 그대로 모아 두었다가 최종 조립 시 루트 레코드(R)로 한 번에 바인딩한다.
+ */
+@Slf4j
+public class JsonStreamResponseParser<T, R, X, E> implements StructuredResponseParser<T> {
+
+    private final String eventName;
+    private final ObjectReader elementReader;
+    private final ObjectReader rootReader;
+    private final Function<X, E> elementMapper;
+    private final BiFunction<List<E>, R, T> assembler;
+    private final StructuredOutputStats outputStats;
+    private final IncrementalJsonParser parser;
+    private final List<E> elements = new ArrayList<>();
+    private final TokenBuffer rootFields;
+    private BiConsumer<String, Object> elementSink;
+    private boolean mappingFailed;
+    private T assembled;
+
+    public JsonStreamResponseParser(
+            ObjectMapper objectMapper,
+            String arrayField,
+            String eventName,
+            ObjectReader elementReader,
+            ObjectReader rootReader,
+            Function<X, E> elementMapper,
+            BiFunction<List<E>, R, T> assembler,
+            StructuredOutputStats outputStats
+    ) {
+        this.eventName = eventName;
+        this.elementReader = elementReader;
+        this.rootReader = rootReader;
+        this.elementMapper = elementMapper;
+        this.assembler = assembler;
+        this.outputStats = outputStats;
+        this.rootFields = new TokenBuffer(objectMapper, false);
+        try {
+            rootFields.writeStartObject();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        this.parser = new IncrementalJsonParser(objectMapper, Set.of(arrayField), new IncrementalJsonParser.Listener() {
+            @Override
+            public void onElement(String field, JsonParser element) throws IOException {
+                acceptElement(element);
+            }
+
+            @Override
+            public void onRootField(String field, JsonParser value) throws IOException {
+                value.nextToken();
+                rootFields.writeFieldName(field);
+                rootFields.copyCurrentStructure(value);
+            }
+        });
+    }
+
+    @Override
+    public void feed(String token, BiConsumer<String, Object> elementSink) {
+        this.elementSink = elementSink;
+        parser.feed(token);
+    }
+
+    @Override
+    public T assemble() {
+        if (assembled != null) {
+            return assembled;
+        }
+        if (!parser.isComplete() || mappingFailed || elements.isEmpty()) {
+            return null;
+        }
+        try {
+            rootFields.writeEndObject();
+            R root;
+            try (JsonParser fields = rootFields.asParser()) {
+                root = rootReader.readValue(fields);
+            }
+            assembled = assembler.apply(elements, root);
+            outputStats.recordStreamedAssembly();
+            return assembled;
+        } catch (Exception e) {
+            mappingFailed = true;
+            log.warn("스트리밍 파싱 결과 조립 실패 - 전체 응답 파싱으로 대체: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void acceptElement(JsonParser element) {
+        if (mappingFailed) {
+            return;
+        }
+        E mapped;
+        try {
+            X raw = elementReader.readValue(element);
+            mapped = elementMapper.apply(raw);
+        } catch (Exception e) {
+            mappingFailed = true; // 필드 누락 등 - 최종 단계에서 전체 파싱 fallback
+            log.warn("스트리밍 항목 변환 실패: {}", e.getMessage());
+            return;
+        }
+        elements.add(mapped);
+        if (elementSink != null) {
+            elementSink.accept(eventName, mapped);
+        }
+    }
+}
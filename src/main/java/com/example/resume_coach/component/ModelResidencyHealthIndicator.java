@@ -0,0 +1,22 @@
+package com.example.resume_coach.component;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * readiness 그룹의 modelResidency - 모델이 어느 백엔드에도 상주하지 않으면 OUT_OF_SERVICE (첫 요청이 모델 로드를 기다리지 않도록)
+ */
+@Component
+@RequiredArgsConstructor
+public class ModelResidencyHealthIndicator implements HealthIndicator {
+
+    private final ModelResidencyManager residencyManager;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = residencyManager.isReady() ? Health.up() : Health.outOfService();
+        return builder.withDetail("backends", residencyManager.stats()).build();
+    }
+}
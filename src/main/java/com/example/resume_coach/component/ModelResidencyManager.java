@@ -0,0 +1,239 @@
+package com.example.resume_coach.component;
+
+import com.example.resume_coach.model.GenerationType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * 모델 상주 관리 - 시작 시 빈 프롬프트로 모델을 올리고 고정 시스템 프롬프트를 미리 평가해 prefix 캐시를 채운 뒤,
+ * /api/ps 로 주기적으로 상주 여부를 확인한다. 밀려난(evict) 백엔드는 다시 워밍업한다.
+ * 준비 상태(isReady)는 적어도 한 백엔드에 모델이 상주할 때만 true 이며 readiness 헬스 그룹에 반영된다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ModelResidencyManager {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final OllamaBackendPool backendPool;
+    private final OllamaApiClient ollamaApiClient;
+    private final PromptTemplateLoader promptTemplateLoader;
+    private final JobCatalogIndex jobCatalogIndex;
+    private final TaskScheduler ollamaProbeScheduler;
+    private final Map<String, Residency> residency = new ConcurrentHashMap<>();
+    private final Set<String> warming = ConcurrentHashMap.newKeySet();
+    private ScheduledFuture<?> checkTask;
+
+    @Value("${ollama.residency.enabled:true}")
+    private boolean enabled;
+
+    /** 시스템 프롬프트 미리 평가 (prefix 캐시) */
+    @Value("${ollama.residency.warm-system-prompts:true}")
+    private boolean warmSystemPrompts;
+
+    @Value("${ollama.residency.check-interval-seconds:30}")
+    private long checkIntervalSeconds;
+
+    /** /api/ps 에서 모델이 사라지면 다시 워밍업 */
+    @Value("${ollama.residency.reload-on-evict:true}")
+    private boolean reloadOnEvict;
+
+    @Value("${ollama.api.timeout.read:1800}")
+    private int readTimeoutSeconds;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        for (OllamaBackend backend : backendPool.backends()) {
+            warmUp(backend);
+        }
+        checkTask = ollamaProbeScheduler.scheduleAtFixedRate(this::checkAll, Duration.ofSeconds(checkIntervalSeconds));
+    }
+
+    @PreDestroy
+    void stop() {
+        if (checkTask != null) checkTask.cancel(true);
+    }
+
+    /**
+     * 적어도 한 백엔드에 모델이 상주하는지 (상주 관리가 꺼져 있으면 항상 true)
+     */
+    public boolean isReady() {
+        return !enabled || residency.values().stream().anyMatch(Residency::isResident);
+    }
+
+    public List<Residency> stats() {
+        List<Residency> result = new ArrayList<>();
+        for (OllamaBackend backend : backendPool.backends()) {
+            Residency state = residency.get(backend.getBaseUrl());
+            result.add(state != null ? state : Residency.unknown(backend.getBaseUrl(), warming.contains(backend.getBaseUrl())));
+        }
+        return result;
+    }
+
+    /**
+     * 모델 로드(빈 프롬프트) 후 생성 유형별 시스템 프롬프트를 num_predict 1 로 평가 - 끝나면 바로 상주 여부 확인
+     */
+    private void warmUp(OllamaBackend backend) {
+        String baseUrl = backend.getBaseUrl();
+        if (!warming.add(baseUrl)) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        log.info("모델 워밍업 시작: {} ({})", baseUrl, ollamaApiClient.getOllamaModel());
+        Map<String, Object> load = new LinkedHashMap<>();
+        load.put("model", ollamaApiClient.getOllamaModel());
+        load.put("stream", false);
+        ollamaApiClient.putKeepAlive(load);
+
+        CompletableFuture<?> chain = post(baseUrl + "/api/generate", load);
+        if (warmSystemPrompts) {
+            for (GenerationType type : GenerationType.values()) {
+                chain = chain.thenCompose(ignored -> post(baseUrl + "/api/chat", systemPromptWarmUp(type)));
+            }
+        }
+        chain.whenComplete((ignored, ex) -> {
+            warming.remove(baseUrl);
+            if (ex != null) {
+                log.warn("모델 워밍업 실패: {} - {}", baseUrl, ex.getMessage());
+            } else {
+                log.info("모델 워밍업 완료: {} ({}ms)", baseUrl, System.currentTimeMillis() - started);
+            }
+            check(backend, false);
+        });
+    }
+
+    /**
+     * 직무 카탈로그 전체로 렌더링한 시스템 프롬프트 - 축소된 카탈로그를 쓰는 요청도 ${jobs} 앞부분 prefix 를 공유한다
+     */
+    private Map<String, Object> systemPromptWarmUp(GenerationType type) {
+        String systemPrompt = promptTemplateLoader.systemTemplate(type)
+                .render(Map.of("jobs", jobCatalogIndex.getFullCatalogJson()));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("model", ollamaApiClient.getOllamaModel());
+        body.put("messages", List.of(Map.of("role", "system", "content", systemPrompt)));
+        body.put("stream", false);
+        body.put("options", Map.of("num_predict", 1));
+        ollamaApiClient.putKeepAlive(body);
+        return body;
+    }
+
+    private void checkAll() {
+        for (OllamaBackend backend : backendPool.backends()) {
+            check(backend, reloadOnEvict);
+        }
+    }
+
+    /**
+     * /api/ps 로 설정된 모델이 메모리에 있는지 확인 - reload 면 상주하지 않을 때 다시 워밍업 (시작 시 워밍업 실패도 여기서 재시도)
+     */
+    private void check(OllamaBackend backend, boolean reload) {
+        String baseUrl = backend.getBaseUrl();
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + "/api/ps"))
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, ex) -> {
+                    if (ex != null || response.statusCode() != HttpStatus.OK.value()) {
+                        update(backend, Residency.unknown(baseUrl, warming.contains(baseUrl)), reload);
+                        return;
+                    }
+                    try {
+                        update(backend, parse(baseUrl, objectMapper.readTree(response.body())), reload);
+                    } catch (Exception e) {
+                        log.warn("/api/ps 응답 파싱 실패: {}", baseUrl, e);
+                    }
+                });
+    }
+
+    private Residency parse(String baseUrl, JsonNode ps) {
+        String model = ollamaApiClient.getOllamaModel();
+        for (JsonNode entry : ps.path("models")) {
+            if (model.equals(entry.path("name").asText()) || model.equals(entry.path("model").asText())) {
+                return new Residency(baseUrl, true, warming.contains(baseUrl), entry.path("size_vram").asLong(),
+                        entry.path("expires_at").asText(null), System.currentTimeMillis());
+            }
+        }
+        return new Residency(baseUrl, false, warming.contains(baseUrl), 0, null, System.currentTimeMillis());
+    }
+
+    private void update(OllamaBackend backend, Residency current, boolean reload) {
+        Residency previous = residency.put(backend.getBaseUrl(), current);
+        boolean wasResident = previous != null && previous.isResident();
+        if (wasResident != current.isResident()) {
+            log.info("모델 상주 상태 변경: {} → {}", backend.getBaseUrl(), current.isResident() ? "상주" : "미상주");
+        }
+        if (reload && !current.isResident() && !current.isWarming()) {
+            warmUp(backend);
+        }
+    }
+
+    private CompletableFuture<String> post(String url, Map<String, Object> body) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder()
+                    .uri(URI.create(url))
+                    .header("Content-Type", MediaType.APPLICATION_JSON.toString())
+                    .timeout(Duration.ofSeconds(readTimeoutSeconds))
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .build();
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (response.statusCode() != HttpStatus.OK.value()) {
+                        throw new IllegalStateException("HTTP " + response.statusCode() + " " + url);
+                    }
+                    return response.body();
+                });
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Residency {
+        private final String baseUrl;
+        private final boolean resident;
+        private final boolean warming;
+        /** GPU 메모리에 올라간 바이트 수 */
+        private final long sizeVram;
+        /** keep_alive 만료 시각 (/api/ps expires_at) */
+        private final String expiresAt;
+        private final long checkedAtMillis;
+
+        static Residency unknown(String baseUrl, boolean warming) {
+            return new Residency(baseUrl, false, warming, 0, null, System.currentTimeMillis());
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.example.resume_coach.component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ollama 생성 입장 제어 - 동시 생성 수 제한과 제한된 FIFO 대기열.
+ * 슬롯이 없으면 대기열에 넣고 슬롯이 반환될 때 순서대로 허가하며(스레드를 블로킹하지 않음),
+ * 대기 중인 요청에는 주기적으로 순번과 예상 대기 시간을 알린다. 대기열이 가득 차면 즉시 거절한다.
+ * 적응형 모드에서는 생성마다 TTFT 와 디코딩 속도(tokens/sec)를 받아 AIMD 로 동시 생성 한도를 조절한다
+ * (SLO 위반 시 곱셈 감소, 한도까지 사용 중이면서 SLO 를 지키면 덧셈 증가).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OllamaAdmissionController {
+
+    private final TaskScheduler sseKeepAliveScheduler;
+    private final GenerationMetrics generationMetrics;
+
+    @Value("${ollama.capacity.max-concurrent:4}")
+    private int maxConcurrent;
+
+    @Value("${ollama.capacity.max-queue:32}")
+    private int maxQueue;
+
+    /** 대기열 최대 대기 시간 */
+    @Value("${ollama.capacity.acquire-timeout-seconds:600}")
+    private long acquireTimeoutSeconds;
+
+    @Value("${ollama.capacity.queue-update-seconds:2}")
+    private long queueUpdateSeconds;
+
+    /** 생성 소요 시간 평균의 초기값 (예상 대기 시간 계산용) */
+    @Value("${ollama.capacity.initial-generation-seconds:30}")
+    private long initialGenerationSeconds;
+
+    @Value("${ollama.capacity.adaptive.enabled:true}")
+    private boolean adaptive;
+
+    @Value("${ollama.capacity.adaptive.min-limit:1}")
+    private int minLimit;
+
+    /** 적응형 한도 상한 - 기본은 max-concurrent (넘기면 Ollama 내부 대기열에 쌓여 대기열 지표에 보이지 않음) */
+    @Value("${ollama.capacity.adaptive.max-limit:${ollama.capacity.max-concurrent:4}}")
+    private int maxLimit;
+
+    @Value("${ollama.capacity.adaptive.ttft-slo-ms:8000}")
+    private long ttftSloMs;
+
+    @Value("${ollama.capacity.adaptive.min-tokens-per-second:8}")
+    private double minTokensPerSecond;
+
+    @Value("${ollama.capacity.adaptive.decrease-factor:0.75}")
+    private double decreaseFactor;
+
+    @Value("${ollama.capacity.adaptive.decrease-cooldown-seconds:10}")
+    private long decreaseCooldownSeconds;
+
+    // this 로 동기화
+    private final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+    private int inUse;
+    private int limit;
+    private double adaptiveLimit;
+    private double avgHoldMs;
+    private double ttftEwmaMs;
+    private double tokensPerSecondEwma;
+    private long lastDecreaseNanos;
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private ScheduledFuture<?> updateTask;
+
+    @PostConstruct
+    void init() {
+        limit = maxConcurrent;
+        adaptiveLimit = maxConcurrent;
+        maxLimit = Math.max(maxLimit, maxConcurrent);
+        minLimit = Math.max(1, Math.min(minLimit, maxConcurrent));
+        avgHoldMs = initialGenerationSeconds * 1000.0;
+        generationMetrics.bindAdmission(this);
+        updateTask = sseKeepAliveScheduler.scheduleAtFixedRate(this::publishQueuePositions, Duration.ofSeconds(queueUpdateSeconds));
+        log.info("Ollama 입장 제어: 동시 생성 = {}, 대기열 = {}, 적응형 = {} ({}~{})",
+                maxConcurrent, maxQueue, adaptive, minLimit, maxLimit);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (updateTask != null) updateTask.cancel(true);
+    }
+
+    /**
+     * 생성 슬롯 요청 - 여유가 있으면 즉시 허가, 없으면 대기열에 추가
+     *
+     * @throws RejectedException 대기열이 가득 찬 경우
+     */
+    public Ticket enqueue(QueueListener listener) {
+        Waiter waiter;
+        int position;
+        long estimate;
+        synchronized (this) {
+            if (inUse < limit && queue.isEmpty()) {
+                inUse++;
+                admitted.increment();
+                return new Ticket(CompletableFuture.completedFuture(new Permit(0)));
+            }
+            if (queue.size() >= maxQueue) {
+                rejected.increment();
+                throw new RejectedException(retryAfterSecondsLocked());
+            }
+            waiter = new Waiter(listener, System.nanoTime());
+            queue.add(waiter);
+            position = queue.size();
+            estimate = estimateWaitSecondsLocked(position);
+        }
+        waiter.future.whenComplete((permit, ex) -> {
+            if (ex != null) {
+                remove(waiter);
+            }
+        });
+        listener.onQueued(position, estimate);
+        return new Ticket(waiter.future);
+    }
+
+    /**
+     * 대기열이 가득 차 새 요청이 거절될 상태인지 (컨트롤러의 429 사전 판단용)
+     */
+    public synchronized boolean isSaturated() {
+        return inUse >= limit && queue.size() >= maxQueue;
+    }
+
+    public synchronized long retryAfterSeconds() {
+        return retryAfterSecondsLocked();
+    }
+
+    /**
+     * 완료된 생성의 TTFT 와 디코딩 속도 반영 - 적응형 모드면 한도 조절 후 늘어난 슬롯만큼 대기자 허가
+     */
+    public void recordSample(OllamaStreamStats stats) {
+        if (stats == null || !stats.isDone()) {
+            return;
+        }
+        double ttftMs = stats.getTimeToFirstTokenNanos() / 1_000_000.0;
+        double tokensPerSecond = stats.getEvalDuration() > 0
+                ? stats.getEvalCount() * 1_000_000_000.0 / stats.getEvalDuration()
+                : 0;
+        List<Waiter> granted;
+        synchronized (this) {
+            ttftEwmaMs = ttftEwmaMs == 0 ? ttftMs : ttftEwmaMs + 0.2 * (ttftMs - ttftEwmaMs);
+            if (tokensPerSecond > 0) {
+                tokensPerSecondEwma = tokensPerSecondEwma == 0
+                        ? tokensPerSecond
+                        : tokensPerSecondEwma + 0.2 * (tokensPerSecond - tokensPerSecondEwma);
+            }
+            if (!adaptive) {
+                return;
+            }
+            long now = System.nanoTime();
+            boolean sloViolated = ttftMs > ttftSloMs || (tokensPerSecond > 0 && tokensPerSecond < minTokensPerSecond);
+            if (sloViolated) {
+                if (now - lastDecreaseNanos > Duration.ofSeconds(decreaseCooldownSeconds).toNanos()) {
+                    adaptiveLimit = Math.max(minLimit, adaptiveLimit * decreaseFactor);
+                    lastDecreaseNanos = now;
+                    log.info("Ollama 동시 생성 한도 감소: {} (TTFT = {}ms, {} tokens/s)",
+                            (int) adaptiveLimit, Math.round(ttftMs), Math.round(tokensPerSecond));
+                }
+            } else if (inUse >= limit) {
+                // 한도까지 사용 중인데도 SLO 를 지킴 - 한도 증가 여지 있음
+                adaptiveLimit = Math.min(maxLimit, adaptiveLimit + 1.0 / adaptiveLimit);
+            }
+            limit = (int) adaptiveLimit;
+            granted = pollGrantableLocked();
+        }
+        granted.forEach(this::grant);
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(limit, inUse, queue.size(), maxQueue, Math.round(avgHoldMs),
+                admitted.sum(), rejected.sum(), timedOut.sum(),
+                adaptive, Math.round(ttftEwmaMs), Math.round(tokensPerSecondEwma * 10) / 10.0);
+    }
+
+    public synchronized int availablePermits() {
+        return Math.max(0, limit - inUse);
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    private void release(long heldNanos) {
+        List<Waiter> granted;
+        synchronized (this) {
+            avgHoldMs += 0.2 * (heldNanos / 1_000_000.0 - avgHoldMs);
+            inUse--;
+            granted = pollGrantableLocked();
+        }
+        granted.forEach(this::grant);
+    }
+
+    private List<Waiter> pollGrantableLocked() {
+        List<Waiter> granted = new ArrayList<>(1);
+        while (inUse < limit && !queue.isEmpty()) {
+            granted.add(queue.poll());
+            inUse++;
+            admitted.increment();
+        }
+        return granted;
+    }
+
+    private void grant(Waiter waiter) {
+        Permit permit = new Permit(System.nanoTime() - waiter.enqueuedAt);
+        if (!waiter.future.complete(permit)) {
+            permit.release(); // 그 사이 취소된 대기자
+        }
+    }
+
+    private synchronized void remove(Waiter waiter) {
+        queue.remove(waiter);
+    }
+
+    /**
+     * 대기자마다 순번과 예상 대기 시간 전송, 최대 대기 시간을 넘긴 대기자는 TimeoutException 으로 종료
+     */
+    private void publishQueuePositions() {
+        List<Waiter> waiting;
+        long[] estimates;
+        synchronized (this) {
+            if (queue.isEmpty()) {
+                return;
+            }
+            waiting = new ArrayList<>(queue);
+            estimates = new long[waiting.size()];
+            for (int i = 0; i < estimates.length; i++) {
+                estimates[i] = estimateWaitSecondsLocked(i + 1);
+            }
+        }
+        long now = System.nanoTime();
+        long timeoutNanos = Duration.ofSeconds(acquireTimeoutSeconds).toNanos();
+        for (int i = 0; i < waiting.size(); i++) {
+            Waiter waiter = waiting.get(i);
+            if (now - waiter.enqueuedAt > timeoutNanos) {
+                if (waiter.future.completeExceptionally(new TimeoutException("Ollama 생성 슬롯 대기 시간 초과"))) {
+                    timedOut.increment();
+                }
+                continue;
+            }
+            try {
+                waiter.listener.onQueued(i + 1, estimates[i]);
+            } catch (Exception e) {
+                log.warn("대기열 순번 전송 실패", e);
+            }
+        }
+    }
+
+    private long estimateWaitSecondsLocked(int position) {
+        return Math.round(Math.ceil(position * avgHoldMs / Math.max(1, limit) / 1000.0));
+    }
+
+    private long retryAfterSecondsLocked() {
+        return Math.max(1, estimateWaitSecondsLocked(queue.size() + 1));
+    }
+
+    /**
+     * 대기열 순번 알림 (position 은 1부터)
+     */
+    @FunctionalInterface
+    public interface QueueListener {
+        void onQueued(int position, long estimatedWaitSeconds);
+    }
+
+    private static final class Waiter {
+        private final QueueListener listener;
+        private final long enqueuedAt;
+        private final CompletableFuture<Permit> future = new CompletableFuture<>();
+
+        private Waiter(QueueListener listener, long enqueuedAt) {
+            this.listener = listener;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    /**
+     * 입장 요청 결과 - 허가되면 permit 이 완료되고, 대기 중 cancel 하면 대기열에서 빠진다
+     */
+    public static class Ticket {
+        private final CompletableFuture<Permit> permit;
+
+        private Ticket(CompletableFuture<Permit> permit) {
+            this.permit = permit;
+        }
+
+        public CompletableFuture<Permit> permit() {
+            return permit;
+        }
+
+        public void cancel() {
+            permit.cancel(false);
+        }
+    }
+
+    public class Permit {
+        private final AtomicBoolean released = new AtomicBoolean(false);
+        private final long acquiredAt = System.nanoTime();
+        /** 대기열에서 기다린 시간 (즉시 허가면 0) */
+        @Getter
+        private final long queueWaitNanos;
+
+        private Permit(long queueWaitNanos) {
+            this.queueWaitNanos = queueWaitNanos;
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                OllamaAdmissionController.this.release(System.nanoTime() - acquiredAt);
+            }
+        }
+    }
+
+    /**
+     * 대기열 초과로 거절 - retryAfterSeconds 는 Retry-After 헤더 값
+     */
+    @Getter
+    public static class RejectedException extends RuntimeException {
+        private final long retryAfterSeconds;
+
+        public RejectedException(long retryAfterSeconds) {
+            super("Ollama 생성 대기열이 가득 찼습니다");
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Stats {
+        private final int limit;
+        private final int inUse;
+        private final int queued;
+        private final int maxQueue;
+        private final long avgGenerationMs;
+        private final long admitted;
+        private final long rejected;
+        private final long timedOut;
+        private final boolean adaptive;
+        private final long ttftEwmaMs;
+        private final double tokensPerSecond;
+    }
+}
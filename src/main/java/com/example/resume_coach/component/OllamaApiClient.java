@@ -1,14 +1,17 @@
 package com.example.resume_coach.component;
 
+import com.example.resume_coach.handler.HedgedResponseHandler;
 import com.example.resume_coach.handler.OllamaResponseHandler;
 import com.example.resume_coach.handler.StreamHandler;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Component;
 
 import java.net.URI;
@@ -16,9 +19,12 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 
 @Component
@@ -28,23 +34,54 @@ public class OllamaApiClient {
 
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
-
-    @Value("${ollama.api.base-url}")
-    private String ollamaBaseUrl;
+    private final TokenFlushPolicies flushPolicies;
+    private final TaskScheduler tokenFlushScheduler;
+    private final OllamaBackendPool backendPool;
+    private final OllamaAdmissionController admissionController;
+    private final StructuredOutputStats outputStats;
+    private final OllamaStreamRecorder streamRecorder;
+    private final OllamaHedgePolicy hedgePolicy;
 
     @Value("${ollama.api.end-point}")
     private String ollamaEndPoint;
 
+    @Getter
     @Value("${ollama.model}")
     private String ollamaModel;
 
     @Value("${ollama.api.timeout.read:600}")
     private int readTimeoutSeconds;
 
+    /**
+     * 모든 요청에 보내는 keep_alive - 요청 후 모델을 메모리에 유지할 시간 ("30m", 초 단위 숫자, -1 은 무기한). 비어 있으면 Ollama 기본값
+     */
+    @Value("${ollama.api.keep-alive:}")
+    private String keepAlive;
+
+    /**
+     * true: 바이트 단위 non-blocking 파싱, false: 줄 단위 String 파싱
+     */
+    @Value("${ollama.api.byte-ingestion:true}")
+    private boolean byteIngestion;
+
+    /**
+     * JSON 응답 생성에서 최상위 객체가 닫히면 남은 토큰을 기다리지 않고 Ollama 요청 취소
+     */
+    @Getter
+    @Value("${ollama.api.stop-at-json-end:true}")
+    private boolean stopAtJsonEnd;
+
+    /**
+     * 조기 완료 후 done 청크(prompt_eval/eval 통계)를 받기 위해 연결을 유지하는 최대 시간 - 0(기본)이면 즉시 끊음.
+     * 입장 제어 슬롯은 handler 완료 시 반환되므로, 0 보다 크면 그동안 Ollama 가 계속 디코딩하는 중에 새 생성이 허가된다 (측정용)
+     */
+    @Value("${ollama.api.stop-at-json-end-drain-ms:0}")
+    private long jsonStopDrainMillis;
+
     public OllamaResponseHandler callOllamaStream(String prompt, Map<String, Object> options, StreamHandler handler) {
         try {
             String requestBody = createChatRequestBodyJson(prompt, options, true);
-            return callOllamaStreamInternal(requestBody, prompt, handler);
+            return callOllamaStreamInternal(requestBody, prompt, flushPolicies.batch(), -1, handler);
         } catch (JsonProcessingException e) {
             handler.onError(e);
             return new OllamaResponseHandler(CompletableFuture.failedFuture(e), null);
@@ -57,23 +94,76 @@ public class OllamaApiClient {
             String prompt,
             Map<String, Object> options,
             StreamHandler handler
+    ) {
+        return callOllamaStream(systemPrompt, prompt, options, null, flushPolicies.batch(), handler);
+    }
+
+    /**
+     * JSON 응답 생성 - format 이 있으면 Ollama 가 해당 JSON 스키마를 만족하는 토큰만 생성 (structured outputs)
+     */
+    public OllamaResponseHandler callOllamaStream(
+            String systemPrompt,
+            String prompt,
+            Map<String, Object> options,
+            Map<String, Object> format,
+            TokenFlushPolicy flushPolicy,
+            StreamHandler handler
     ) {
         try {
-            String requestBody = createChatRequestBodyJson(systemPrompt, prompt, options, true);
-            return callOllamaStreamInternal(requestBody, prompt, handler);
+            String requestBody = createChatRequestBodyJson(systemPrompt, prompt, options, format, true);
+            long jsonStopBudget = stopAtJsonEnd ? numPredictOf(options) : -1;
+            return callOllamaStreamInternal(requestBody, prompt, flushPolicy, jsonStopBudget, handler);
         } catch (JsonProcessingException e) {
             handler.onError(e);
            return new OllamaResponseHandler(CompletableFuture.failedFuture(e), null);
         }
     }
 
+    /**
+     * 헤지가 켜져 있고 다른 백엔드가 있으면 최근 TTFT p95 안에 첫 토큰이 없을 때 다른 백엔드로 같은 요청을 보내고
+     * 먼저 토큰을 보낸 쪽만 사용한다 (진 쪽은 취소)
+     *
+     * @param jsonStopBudget 0 이상이면 최상위 JSON 이 닫힐 때 생성 중단 (값은 num_predict, 절약 토큰 계산용)
+     */
     public OllamaResponseHandler callOllamaStreamInternal(
             String requestBody,
             String prompt,
+            TokenFlushPolicy flushPolicy,
+            long jsonStopBudget,
+            StreamHandler handler
+    ) {
+        OllamaBackend backend = backendPool.select();
+        long hedgeDelayMillis = backendPool.hasAlternatives() ? hedgePolicy.onRequest() : -1;
+        if (hedgeDelayMillis < 0) {
+            return startStream(backend, requestBody, prompt, flushPolicy, jsonStopBudget, handler);
+        }
+        HedgedResponseHandler hedged = new HedgedResponseHandler(handler, hedgePolicy::recordOutcome)
+                .start(leg -> startStream(backend, requestBody, prompt, flushPolicy, jsonStopBudget, leg));
+        tokenFlushScheduler.schedule(() -> {
+            if (!hedged.needsHedge()) {
+                return;
+            }
+            OllamaBackend alternative = backendPool.selectExcluding(backend);
+            if (alternative == null) {
+                hedgePolicy.recordNoBackend();
+                return;
+            }
+            hedged.hedge(hedgePolicy::tryAcquire,
+                    leg -> startStream(alternative, requestBody, prompt, flushPolicy, jsonStopBudget, leg));
+        }, Instant.now().plusMillis(hedgeDelayMillis));
+        return hedged;
+    }
+
+    private OllamaResponseHandler startStream(
+            OllamaBackend backend,
+            String requestBody,
+            String prompt,
+            TokenFlushPolicy flushPolicy,
+            long jsonStopBudget,
             StreamHandler handler
     ) {
         try {
-            final String chatApiUrl = ollamaBaseUrl + ollamaEndPoint;
+            final String chatApiUrl = backend.getBaseUrl() + ollamaEndPoint;
             HttpRequest request = HttpRequest.newBuilder()
                     .uri(URI.create(chatApiUrl))
                     .header("Accept", "application/x-ndjson")
@@ -83,17 +173,53 @@ public class OllamaApiClient {
                     .POST(HttpRequest.BodyPublishers.ofString(requestBody))
                     .build();
 
-            log.info("Ollama API 스트리밍 호출 시작 - 프롬프트 길이: {}", prompt.length());
-            OllamaLineSubscriber subscriber = new OllamaLineSubscriber(objectMapper, handler);
+            log.info("Ollama API 스트리밍 호출 시작 - 백엔드: {}, 프롬프트 길이: {}", backend.getBaseUrl(), prompt.length());
+            OllamaStreamSubscriber<?> subscriber;
+            HttpResponse.BodyHandler<Void> bodyHandler;
+            // 녹화 중이면 수신 항목을 먼저 녹화한 뒤 구독자로 전달
+            OllamaStreamRecorder.Session recording = streamRecorder.start(backend.getBaseUrl(), requestBody);
+            if (byteIngestion) {
+                OllamaByteSubscriber byteSubscriber = new OllamaByteSubscriber(objectMapper, handler, flushPolicy, tokenFlushScheduler);
+                subscriber = byteSubscriber;
+                bodyHandler = HttpResponse.BodyHandlers.fromSubscriber(
+                        recording != null ? recording.bytes(byteSubscriber) : byteSubscriber);
+            } else {
+                OllamaLineSubscriber lineSubscriber = new OllamaLineSubscriber(objectMapper, handler, flushPolicy, tokenFlushScheduler);
+                subscriber = lineSubscriber;
+                bodyHandler = HttpResponse.BodyHandlers.fromLineSubscriber(
+                        recording != null ? recording.lines(lineSubscriber) : lineSubscriber);
+            }
+            if (recording != null) {
+                subscriber.onTermination(recording::finish);
+            }
+            if (jsonStopBudget >= 0) {
+                subscriber.stopAtJsonEnd(jsonStopBudget, jsonStopDrainMillis);
+            }
+            // 완료/오류/취소 시 백엔드 진행 중 수 반환 및 헬스 기록, TTFT/디코딩 속도로 동시 생성 한도 조절
+            subscriber.onTermination((stats, error) -> {
+                backendPool.release(backend, stats, error);
+                admissionController.recordSample(stats);
+                hedgePolicy.recordSample(stats);
+                if (stats.isStoppedAtJsonEnd()) {
+                    outputStats.recordEarlyStop(stats.getTokensSaved());
+                }
+            });
+            backendPool.acquire(backend);
             CompletableFuture<Void> future =  httpClient.sendAsync(
                     request,
-                    HttpResponse.BodyHandlers.fromLineSubscriber(subscriber)
+                    bodyHandler
             ).thenAccept(
                     response -> {
                         if (response.statusCode() != HttpStatus.OK.value()) {
                             log.error("Ollama Chat API 호출 실패: {}", response.statusCode());
+                            backendPool.recordFailure(backend, "HTTP " + response.statusCode());
                             handler.onError(new RuntimeException("HTTP Status " + response.statusCode()));
                         }
+                    }).whenComplete((ignored, ex) -> {
+                        // 연결 실패 등 본문 수신 전 오류는 subscriber 에 전달되지 않으므로 직접 종료 처리
+                        if (ex != null) {
+                            subscriber.onError(ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+                        }
                     });
             return new OllamaResponseHandler(future, subscriber);
         } catch (Exception e) {
@@ -102,21 +228,25 @@ public class OllamaApiClient {
         }
     }
 
-    private String createChatRequestBodyJson(
+    String createChatRequestBodyJson(
             String systemPrompt,
             String prompt,
             Map<String, Object> options,
+            Map<String, Object> format,
             boolean streaming
     ) throws JsonProcessingException {
-        Map<String, Object> requestBody = Map.of(
-                "model", ollamaModel,
-                "messages", List.of(
-                        Map.of("role", "system", "content", systemPrompt),
-                        Map.of("role", "user", "content", prompt)
-                ),
-                "stream", streaming,
-                "options", options
-        );
+        Map<String, Object> requestBody = new LinkedHashMap<>();
+        requestBody.put("model", ollamaModel);
+        requestBody.put("messages", List.of(
+                Map.of("role", "system", "content", systemPrompt),
+                Map.of("role", "user", "content", prompt)
+        ));
+        requestBody.put("stream", streaming);
+        requestBody.put("options", options);
+        if (format != null) {
+            requestBody.put("format", format);
+        }
+        putKeepAlive(requestBody);
         return objectMapper.writeValueAsString(requestBody);
     }
 
@@ -125,15 +255,30 @@ public class OllamaApiClient {
             Map<String, Object> options,
             boolean streaming
     ) throws JsonProcessingException {
-        Map<String, Object> requestBody = Map.of(
-                "model", ollamaModel,
-                "messages", List.of(Map.of("role", "user", "content", prompt)),
-                "stream", streaming,
-                "options", options
-        );
+        Map<String, Object> requestBody = new LinkedHashMap<>();
+        requestBody.put("model", ollamaModel);
+        requestBody.put("messages", List.of(Map.of("role", "user", "content", prompt)));
+        requestBody.put("stream", streaming);
+        requestBody.put("options", options);
+        putKeepAlive(requestBody);
         return objectMapper.writeValueAsString(requestBody);
     }
 
+    /**
+     * keep_alive 설정을 요청 본문에 추가 - 숫자는 초 단위 숫자로, 나머지는 duration 문자열로 보낸다
+     */
+    public void putKeepAlive(Map<String, Object> requestBody) {
+        if (keepAlive == null || keepAlive.isBlank()) {
+            return;
+        }
+        String value = keepAlive.trim();
+        requestBody.put("keep_alive", value.matches("-?\\d+") ? (Object) Long.parseLong(value) : value);
+    }
+
+    static long numPredictOf(Map<String, Object> options) {
+        return options != null && options.get("num_predict") instanceof Number n ? n.longValue() : 0;
+    }
+
     /**
      * 창의적 작업용 옵션 (높은 temperature)
      */
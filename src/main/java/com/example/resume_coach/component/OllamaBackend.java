@@ -0,0 +1,124 @@
+package com.example.resume_coach.component;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ollama 백엔드 하나의 라우팅/헬스 상태 - 진행 중 스트림 수, TTFT 지수이동평균, 연속 실패와 퇴출 시각
+ */
+public class OllamaBackend {
+    private static final double EWMA_ALPHA = 0.2;
+
+    @Getter
+    private final String baseUrl;
+    @Getter
+    private final int weight;
+    @Getter
+    private final int parallel;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    // this 로 동기화
+    private double ttftEwmaMs;
+    private int consecutiveFailures;
+    private int ejections;
+    private volatile long ejectedUntilMillis;
+
+    public OllamaBackend(String baseUrl, int weight, int parallel) {
+        this.baseUrl = baseUrl;
+        this.weight = weight;
+        this.parallel = parallel;
+    }
+
+    void acquire() {
+        outstanding.incrementAndGet();
+        requests.increment();
+    }
+
+    void release() {
+        outstanding.decrementAndGet();
+    }
+
+    public int outstanding() {
+        return outstanding.get();
+    }
+
+    public boolean isAvailable(long nowMillis) {
+        return ejectedUntilMillis <= nowMillis;
+    }
+
+    long ejectedUntilMillis() {
+        return ejectedUntilMillis;
+    }
+
+    synchronized double ttftEwmaMs() {
+        return ttftEwmaMs;
+    }
+
+    synchronized void recordSuccess(long ttftNanos) {
+        consecutiveFailures = 0;
+        ejections = 0;
+        ejectedUntilMillis = 0;
+        if (ttftNanos > 0) {
+            double ms = ttftNanos / 1_000_000.0;
+            ttftEwmaMs = ttftEwmaMs == 0 ? ms : ttftEwmaMs + EWMA_ALPHA * (ms - ttftEwmaMs);
+        }
+    }
+
+    /**
+     * 실패 기록 - 연속 실패가 기준에 도달하면 지수 백오프로 퇴출
+     *
+     * @return 이번 실패로 퇴출되었으면 true
+     */
+    synchronized boolean recordFailure(long nowMillis, int threshold, long baseEjectionMillis, long maxEjectionMillis) {
+        failures.increment();
+        if (++consecutiveFailures < threshold || ejectedUntilMillis > nowMillis) {
+            return false;
+        }
+        long backoff = Math.min(maxEjectionMillis, baseEjectionMillis << Math.min(ejections, 20));
+        ejections++;
+        ejectedUntilMillis = nowMillis + backoff;
+        return true;
+    }
+
+    /**
+     * 능동 probe 성공 - 백오프 기간이 끝난 백엔드만 재투입 (백오프 단계는 실제 요청 성공 시 초기화)
+     *
+     * @return 퇴출 상태에서 재투입되었으면 true
+     */
+    synchronized boolean recordProbeSuccess(long nowMillis) {
+        if (ejectedUntilMillis > nowMillis) {
+            return false;
+        }
+        boolean wasEjected = ejectedUntilMillis != 0;
+        consecutiveFailures = 0;
+        ejectedUntilMillis = 0;
+        return wasEjected;
+    }
+
+    public synchronized Stats stats(long nowMillis) {
+        int inFlight = outstanding.get();
+        return new Stats(baseUrl, weight, inFlight, Math.max(0, inFlight - parallel),
+                requests.sum(), failures.sum(), Math.round(ttftEwmaMs),
+                !isAvailable(nowMillis), Math.max(0, ejectedUntilMillis - nowMillis));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Stats {
+        private final String baseUrl;
+        private final int weight;
+        private final int inFlight;
+        /** Ollama 병렬 슬롯을 넘어 백엔드 내부에서 대기 중인 것으로 추정되는 스트림 수 */
+        private final int queued;
+        private final long requests;
+        private final long failures;
+        private final long ttftEwmaMs;
+        private final boolean ejected;
+        private final long ejectedForMs;
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.resume_coach.component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Ollama 백엔드 풀.
+ * 가중치 대비 진행 중 스트림 수가 가장 적은 백엔드로 라우팅하고, 같으면 TTFT 평균이 낮은 쪽을 고른다.
+ * HTTP 상태/연결 실패로 수동 헬스를 추적하고 /api/tags 로 능동 probe 하며, 실패한 백엔드는 지수 백오프로 퇴출했다가 재투입한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OllamaBackendPool {
+
+    private final HttpClient httpClient;
+    private final TaskScheduler ollamaProbeScheduler;
+    private final List<OllamaBackend> backends = new ArrayList<>();
+    private ScheduledFuture<?> probeTask;
+
+    @Value("${ollama.api.base-url}")
+    private String ollamaBaseUrl;
+
+    /** "url;weight;parallel" 목록 (쉼표 구분, weight/parallel 생략 가능). 비어 있으면 base-url 하나 */
+    @Value("${ollama.api.backends:}")
+    private String backendList;
+
+    @Value("${ollama.api.health.failure-threshold:2}")
+    private int failureThreshold;
+
+    @Value("${ollama.api.health.probe-interval-seconds:10}")
+    private long probeIntervalSeconds;
+
+    @Value("${ollama.api.health.probe-timeout-seconds:3}")
+    private long probeTimeoutSeconds;
+
+    @Value("${ollama.api.health.base-ejection-seconds:5}")
+    private long baseEjectionSeconds;
+
+    @Value("${ollama.api.health.max-ejection-seconds:120}")
+    private long maxEjectionSeconds;
+
+    @PostConstruct
+    void init() {
+        for (String entry : backendList.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            backends.add(parseBackend(entry.trim()));
+        }
+        if (backends.isEmpty()) {
+            backends.add(new OllamaBackend(stripSlash(ollamaBaseUrl), 1, 4));
+        }
+        log.info("Ollama 백엔드 풀: {}", backends.stream().map(OllamaBackend::getBaseUrl).toList());
+        probeTask = ollamaProbeScheduler.scheduleAtFixedRate(this::probeAll, Duration.ofSeconds(probeIntervalSeconds));
+    }
+
+    /**
+     * "url;weight;parallel" 항목 파싱 - 잘못된 항목은 기동 시점에 항목을 포함한 메시지로 실패
+     */
+    static OllamaBackend parseBackend(String entry) {
+        String[] parts = entry.split(";", -1);
+        if (parts.length > 3) {
+            throw new IllegalStateException("ollama.api.backends 항목 형식 오류 (url;weight;parallel): '" + entry + "'");
+        }
+        String url = parts[0].trim();
+        try {
+            URI uri = URI.create(url);
+            if (!"http".equals(uri.getScheme()) && !"https".equals(uri.getScheme()) || uri.getHost() == null) {
+                throw new IllegalArgumentException("http(s) 절대 URL 아님");
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("ollama.api.backends 항목의 URL 이 올바르지 않습니다: '" + entry + "'", e);
+        }
+        int weight = parts.length > 1 ? positive(parts[1], "weight", entry) : 1;
+        int parallel = parts.length > 2 ? positive(parts[2], "parallel", entry) : 4;
+        return new OllamaBackend(stripSlash(url), weight, parallel);
+    }
+
+    private static int positive(String value, String name, String entry) {
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed > 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException ignored) {
+            // 아래에서 항목과 함께 보고
+        }
+        throw new IllegalStateException("ollama.api.backends 항목의 " + name + " 는 양의 정수여야 합니다: '" + entry + "'");
+    }
+
+    @PreDestroy
+    void stop() {
+        if (probeTask != null) probeTask.cancel(true);
+    }
+
+    /**
+     * 라우팅 대상 선택 - 모든 백엔드가 퇴출 상태면 가장 먼저 복귀할 백엔드 (fail-open)
+     */
+    public OllamaBackend select() {
+        OllamaBackend best = selectAvailable(null);
+        if (best != null) {
+            return best;
+        }
+        OllamaBackend soonest = backends.get(0);
+        for (OllamaBackend backend : backends) {
+            if (backend.ejectedUntilMillis() < soonest.ejectedUntilMillis()) {
+                soonest = backend;
+            }
+        }
+        return soonest;
+    }
+
+    /**
+     * 헤지 요청 대상 - excluded 를 뺀 가용 백엔드 중 선택, 없으면 null
+     */
+    public OllamaBackend selectExcluding(OllamaBackend excluded) {
+        return selectAvailable(excluded);
+    }
+
+    /**
+     * 헤지할 다른 백엔드가 설정되어 있는지
+     */
+    public boolean hasAlternatives() {
+        return backends.size() > 1;
+    }
+
+    private OllamaBackend selectAvailable(OllamaBackend excluded) {
+        long now = System.currentTimeMillis();
+        OllamaBackend best = null;
+        double bestScore = Double.MAX_VALUE;
+        double bestTtft = Double.MAX_VALUE;
+        for (OllamaBackend backend : backends) {
+            if (backend == excluded || !backend.isAvailable(now)) {
+                continue;
+            }
+            double score = (backend.outstanding() + 1.0) / backend.getWeight();
+            double ttft = backend.ttftEwmaMs();
+            if (score < bestScore || (score == bestScore && ttft < bestTtft)) {
+                best = backend;
+                bestScore = score;
+                bestTtft = ttft;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 스트림 시작 시 진행 중 수 증가
+     */
+    public void acquire(OllamaBackend backend) {
+        backend.acquire();
+    }
+
+    /**
+     * 스트림 종료 보고 - 완료(done)는 성공, 오류는 실패, 취소는 진행 중 수만 감소
+     */
+    public void release(OllamaBackend backend, OllamaStreamStats stats, Throwable error) {
+        backend.release();
+        if (error != null) {
+            recordFailure(backend, error.toString());
+        } else if (stats != null && stats.isDone()) {
+            backend.recordSuccess(stats.getTimeToFirstTokenNanos());
+        }
+    }
+
+    public void recordFailure(OllamaBackend backend, String reason) {
+        boolean ejected = backend.recordFailure(System.currentTimeMillis(), failureThreshold,
+                baseEjectionSeconds * 1000, maxEjectionSeconds * 1000);
+        if (ejected) {
+            log.warn("Ollama 백엔드 퇴출: {} - {}", backend.getBaseUrl(), reason);
+        }
+    }
+
+    public List<OllamaBackend> backends() {
+        return List.copyOf(backends);
+    }
+
+    public List<OllamaBackend.Stats> stats() {
+        long now = System.currentTimeMillis();
+        return backends.stream().map(backend -> backend.stats(now)).toList();
+    }
+
+    private void probeAll() {
+        for (OllamaBackend backend : backends) {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(backend.getBaseUrl() + "/api/tags"))
+                    .timeout(Duration.ofSeconds(probeTimeoutSeconds))
+                    .GET()
+                    .build();
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, ex) -> {
+                        if (ex == null && response.statusCode() == HttpStatus.OK.value()) {
+                            if (backend.recordProbeSuccess(System.currentTimeMillis())) {
+                                log.info("Ollama 백엔드 재투입: {}", backend.getBaseUrl());
+                            }
+                        } else {
+                            recordFailure(backend, ex != null ? ex.toString() : "probe HTTP " + response.statusCode());
+                        }
+                    });
+        }
+    }
+
+    private static String stripSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
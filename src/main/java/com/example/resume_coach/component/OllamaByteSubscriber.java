@@ -0,0 +1,121 @@
+package com.example.resume_coach.component;
+
+import com.example.resume_coach.handler.StreamHandler;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * 바이트 단위 NDJSON 구독자.
+ * 응답 바이트를 Jackson non-blocking 파서에 그대로 밀어 넣고 message.content 와 done 통계만 추출한다.
+ * 줄 단위 String 이나 Chunk 객체를 만들지 않으므로 토큰당 할당이 content 복사 하나로 줄어든다.
+ */
+@Slf4j
+public class OllamaByteSubscriber extends OllamaStreamSubscriber<List<ByteBuffer>> {
+
+    private final JsonParser parser;
+    private final ByteBufferFeeder feeder;
+
+    // 파싱 상태 (depth 1 = 청크 객체, depth 2 = message 객체)
+    private int depth;
+    private boolean inMessage;
+    private String field;
+
+    public OllamaByteSubscriber(
+            ObjectMapper objectMapper,
+            StreamHandler handler,
+            TokenFlushPolicy flushPolicy,
+            TaskScheduler flushScheduler
+    ) {
+        super(handler, flushPolicy, flushScheduler);
+        try {
+            this.parser = objectMapper.getFactory().createNonBlockingByteBufferParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Non-blocking JSON 파서 생성 실패", e);
+        }
+        this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> buffers) {
+        if (isTerminated()) {
+            return;
+        }
+        try {
+            for (ByteBuffer buffer : buffers) {
+                feeder.feedInput(buffer);
+                JsonToken token;
+                while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                    handle(token);
+                }
+            }
+            afterItem();
+        } catch (IOException e) {
+            log.warn("Ollama 스트림 바이트 파싱 실패", e);
+            onError(e);
+        }
+    }
+
+    private void handle(JsonToken token) throws IOException {
+        switch (token) {
+            case START_OBJECT -> {
+                depth++;
+                if (depth == 2 && "message".equals(field)) {
+                    inMessage = true;
+                }
+            }
+            case START_ARRAY -> depth++;
+            case END_OBJECT, END_ARRAY -> {
+                if (depth == 2) {
+                    inMessage = false;
+                }
+                depth--;
+            }
+            case FIELD_NAME -> field = parser.currentName(); // 심볼 테이블에서 정규화된 이름 - 할당 없음
+            case VALUE_STRING -> {
+                if (inMessage && depth == 2 && "content".equals(field)) {
+                    // 문자 배열에서 바로 버퍼로 복사 - 중간 String 생성 없음
+                    int length = parser.getTextLength();
+                    if (length > 0) {
+                        appendToken(parser.getTextCharacters(), parser.getTextOffset(), length);
+                    }
+                } else if (depth == 1 && "error".equals(field)) {
+                    log.warn("Ollama 오류 응답: {}", parser.getText());
+                }
+            }
+            case VALUE_TRUE -> {
+                if (depth == 1 && "done".equals(field)) {
+                    getStats().setDone(true);
+                }
+            }
+            case VALUE_NUMBER_INT -> {
+                if (depth == 1 && field != null) {
+                    recordStat(field, parser.getLongValue());
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void recordStat(String name, long value) {
+        OllamaStreamStats stats = getStats();
+        switch (name) {
+            case "total_duration" -> stats.setTotalDuration(value);
+            case "load_duration" -> stats.setLoadDuration(value);
+            case "prompt_eval_count" -> stats.setPromptEvalCount(value);
+            case "prompt_eval_duration" -> stats.setPromptEvalDuration(value);
+            case "eval_count" -> stats.setEvalCount(value);
+            case "eval_duration" -> stats.setEvalDuration(value);
+            default -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.resume_coach.component;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * /actuator/health/capacity 의 ollamaCapacity - 진행 중 스트림, 대기열 길이, 최근 tokens/s (항상 UP, 백엔드 URL 등 내부 정보 없음)
+ */
+@Component
+@RequiredArgsConstructor
+public class OllamaCapacityHealthIndicator implements HealthIndicator {
+
+    private final OllamaBackendPool backendPool;
+    private final OllamaAdmissionController admissionController;
+
+    @Override
+    public Health health() {
+        OllamaAdmissionController.Stats admission = admissionController.stats();
+        int inFlight = 0;
+        int backendQueued = 0;
+        for (OllamaBackend.Stats backend : backendPool.stats()) {
+            inFlight += backend.getInFlight();
+            backendQueued += backend.getQueued();
+        }
+        return Health.up()
+                .withDetail("inFlightStreams", inFlight)
+                .withDetail("queueDepth", admission.getQueued())
+                .withDetail("backendQueued", backendQueued)
+                .withDetail("limit", admission.getLimit())
+                .withDetail("tokensPerSecond", admission.getTokensPerSecond())
+                .build();
+    }
+}
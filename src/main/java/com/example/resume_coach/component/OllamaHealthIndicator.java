@@ -0,0 +1,47 @@
+package com.example.resume_coach.component;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * /actuator/health 의 ollama (readiness 그룹) - OllamaHealthTiers 캐시만 읽는다.
+ * 연결되는 백엔드가 없으면 DOWN, 모델이 어느 백엔드에도 없으면 OUT_OF_SERVICE, 캐시가 오래됐으면 UNKNOWN
+ */
+@Component
+@RequiredArgsConstructor
+public class OllamaHealthIndicator implements HealthIndicator {
+
+    private final OllamaHealthTiers healthTiers;
+
+    @Override
+    public Health health() {
+        List<OllamaHealthTiers.BackendTiers> backends = healthTiers.backends();
+        boolean fresh = false;
+        boolean connected = false;
+        boolean modelAvailable = false;
+        for (OllamaHealthTiers.BackendTiers backend : backends) {
+            fresh |= !healthTiers.isStale(backend.getConnectivity());
+            connected |= backend.getConnectivity() != null && backend.getConnectivity().isOk();
+            modelAvailable |= backend.getModel() != null && backend.getModel().isOk();
+        }
+        Health.Builder builder;
+        if (!fresh) {
+            builder = Health.unknown();
+        } else if (!connected) {
+            builder = Health.down();
+        } else if (!modelAvailable) {
+            builder = Health.outOfService();
+        } else {
+            builder = Health.up();
+        }
+        builder.withDetail("backends", backends);
+        if (healthTiers.isSyntheticEnabled()) {
+            builder.withDetail("synthetic", healthTiers.synthetic() != null ? healthTiers.synthetic() : "pending");
+        }
+        return builder.build();
+    }
+}
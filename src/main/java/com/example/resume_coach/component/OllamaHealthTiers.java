@@ -0,0 +1,223 @@
+package com.example.resume_coach.component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * 단계별 Ollama 헬스 - 연결(/api/version), 모델 존재(/api/tags), 상주(/api/ps, ModelResidencyManager),
+ * 선택적 합성 생성(num_predict 1, synthetic.interval-seconds 마다 한 번)을 스케줄러에서 갱신해 캐시한다.
+ * 헬스 요청은 캐시만 읽으므로 /actuator/health 를 아무리 자주 호출해도 추론이 일어나지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OllamaHealthTiers {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final OllamaBackendPool backendPool;
+    private final OllamaApiClient ollamaApiClient;
+    private final TaskScheduler ollamaProbeScheduler;
+    private final Map<String, Tier> connectivity = new ConcurrentHashMap<>();
+    private final Map<String, Tier> model = new ConcurrentHashMap<>();
+    private volatile Tier synthetic;
+    private ScheduledFuture<?> refreshTask;
+    private ScheduledFuture<?> syntheticTask;
+
+    @Value("${ollama.health.refresh-seconds:15}")
+    private long refreshSeconds;
+
+    @Value("${ollama.health.timeout-seconds:3}")
+    private long timeoutSeconds;
+
+    /** 합성 생성 검사 - 실제 추론이므로 기본 꺼짐 */
+    @Value("${ollama.health.synthetic.enabled:false}")
+    private boolean syntheticEnabled;
+
+    @Value("${ollama.health.synthetic.interval-seconds:600}")
+    private long syntheticIntervalSeconds;
+
+    @Value("${ollama.health.synthetic.timeout-seconds:60}")
+    private long syntheticTimeoutSeconds;
+
+    @PostConstruct
+    void init() {
+        refreshTask = ollamaProbeScheduler.scheduleAtFixedRate(this::refresh, Duration.ofSeconds(refreshSeconds));
+        if (syntheticEnabled) {
+            syntheticTask = ollamaProbeScheduler.scheduleAtFixedRate(this::generate, Duration.ofSeconds(syntheticIntervalSeconds));
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (refreshTask != null) refreshTask.cancel(true);
+        if (syntheticTask != null) syntheticTask.cancel(true);
+    }
+
+    /**
+     * 마지막 갱신이 refresh-seconds 의 3배보다 오래됐으면 stale (스케줄러 정지 등)
+     */
+    public boolean isStale(Tier tier) {
+        return tier == null || System.currentTimeMillis() - tier.getCheckedAtMillis() > refreshSeconds * 3000;
+    }
+
+    public List<BackendTiers> backends() {
+        List<BackendTiers> result = new ArrayList<>();
+        for (OllamaBackend backend : backendPool.backends()) {
+            result.add(new BackendTiers(backend.getBaseUrl(),
+                    connectivity.get(backend.getBaseUrl()), model.get(backend.getBaseUrl())));
+        }
+        return result;
+    }
+
+    /**
+     * 마지막 합성 생성 결과 (꺼져 있거나 아직 실행 전이면 null)
+     */
+    public Tier synthetic() {
+        return synthetic;
+    }
+
+    public boolean isSyntheticEnabled() {
+        return syntheticEnabled;
+    }
+
+    private void refresh() {
+        for (OllamaBackend backend : backendPool.backends()) {
+            String baseUrl = backend.getBaseUrl();
+            long started = System.nanoTime();
+            get(baseUrl + "/api/version").whenComplete((body, ex) -> connectivity.put(baseUrl, ex != null
+                    ? Tier.failed(ex, started)
+                    : Tier.ok(readText(body, "version"), started)));
+            get(baseUrl + "/api/tags").whenComplete((body, ex) -> model.put(baseUrl, ex != null
+                    ? Tier.failed(ex, started)
+                    : hasModel(body, started)));
+        }
+    }
+
+    private Tier hasModel(String body, long started) {
+        String configured = ollamaApiClient.getOllamaModel();
+        try {
+            for (JsonNode entry : objectMapper.readTree(body).path("models")) {
+                if (configured.equals(entry.path("name").asText()) || configured.equals(entry.path("model").asText())) {
+                    return Tier.ok(configured, started);
+                }
+            }
+            return new Tier(false, configured + " 없음", elapsedMs(started), System.currentTimeMillis());
+        } catch (Exception e) {
+            return Tier.failed(e, started);
+        }
+    }
+
+    /**
+     * 가용 백엔드 하나에 num_predict 1 생성 - 스케줄러에서만 호출되므로 interval-seconds 당 최대 한 번
+     */
+    private void generate() {
+        OllamaBackend backend = backendPool.select();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("model", ollamaApiClient.getOllamaModel());
+        body.put("prompt", "ping");
+        body.put("stream", false);
+        body.put("options", Map.of("num_predict", 1));
+        ollamaApiClient.putKeepAlive(body);
+        long started = System.nanoTime();
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder()
+                    .uri(URI.create(backend.getBaseUrl() + "/api/generate"))
+                    .header("Content-Type", MediaType.APPLICATION_JSON.toString())
+                    .timeout(Duration.ofSeconds(syntheticTimeoutSeconds))
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .build();
+        } catch (Exception e) {
+            synthetic = Tier.failed(e, started);
+            return;
+        }
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, ex) -> {
+                    if (ex == null && response.statusCode() == HttpStatus.OK.value()) {
+                        synthetic = Tier.ok(backend.getBaseUrl(), started);
+                    } else {
+                        synthetic = Tier.failed(ex != null ? ex : new IllegalStateException("HTTP " + response.statusCode()), started);
+                        log.warn("합성 생성 검사 실패: {} - {}", backend.getBaseUrl(), synthetic.getDetail());
+                    }
+                });
+    }
+
+    private CompletableFuture<String> get(String url) {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(Duration.ofSeconds(timeoutSeconds))
+                .GET()
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (response.statusCode() != HttpStatus.OK.value()) {
+                        throw new IllegalStateException("HTTP " + response.statusCode());
+                    }
+                    return response.body();
+                });
+    }
+
+    private String readText(String body, String field) {
+        try {
+            return objectMapper.readTree(body).path(field).asText();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static long elapsedMs(long startedNanos) {
+        return (System.nanoTime() - startedNanos) / 1_000_000;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Tier {
+        private final boolean ok;
+        /** 성공 시 버전/모델/백엔드, 실패 시 원인 */
+        private final String detail;
+        private final long latencyMs;
+        private final long checkedAtMillis;
+
+        static Tier ok(String detail, long startedNanos) {
+            return new Tier(true, detail, elapsedMs(startedNanos), System.currentTimeMillis());
+        }
+
+        static Tier failed(Throwable error, long startedNanos) {
+            Throwable cause = error.getCause() != null ? error.getCause() : error;
+            return new Tier(false, cause.toString(), elapsedMs(startedNanos), System.currentTimeMillis());
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class BackendTiers {
+        private final String baseUrl;
+        private final Tier connectivity;
+        private final Tier model;
+    }
+}
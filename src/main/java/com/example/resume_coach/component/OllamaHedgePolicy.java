@@ -0,0 +1,155 @@
+package com.example.resume_coach.component;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 헤지 요청 정책 - 최근 TTFT 표본의 p95 안에 첫 토큰이 오지 않으면 다른 백엔드로 같은 요청을 한 번 더 보낸다.
+ * 예산은 요청마다 budget-ratio 만큼 적립되고 헤지마다 1 씩 쓰는 토큰 버킷이라 추가 부하가 요청의 budget-ratio 를 넘지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class OllamaHedgePolicy {
+
+    private static final int WINDOW = 256;
+
+    private final GenerationMetrics generationMetrics;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder fired = new LongAdder();
+    private final LongAdder won = new LongAdder();
+    private final LongAdder skippedBudget = new LongAdder();
+    private final LongAdder skippedNoBackend = new LongAdder();
+
+    // this 로 동기화
+    private final long[] ttftSamples = new long[WINDOW];
+    private int sampleCount;
+    private int nextSample;
+    private double credits;
+
+    @Value("${ollama.api.hedge.enabled:false}")
+    private boolean enabled;
+
+    /** 요청 대비 헤지 요청 비율 상한 (0.05 = 5%) */
+    @Value("${ollama.api.hedge.budget-ratio:0.05}")
+    private double budgetRatio;
+
+    /** p95 를 믿기 위한 최소 TTFT 표본 수 - 그 전에는 헤지하지 않음 */
+    @Value("${ollama.api.hedge.min-samples:20}")
+    private int minSamples;
+
+    @Value("${ollama.api.hedge.min-delay-ms:1000}")
+    private long minDelayMillis;
+
+    /**
+     * 완료된 스트림의 TTFT 표본 추가 (done 이 아니거나 토큰이 없으면 무시)
+     */
+    public void recordSample(OllamaStreamStats stats) {
+        if (stats == null || !stats.isDone() || stats.getTimeToFirstTokenNanos() <= 0) {
+            return;
+        }
+        synchronized (this) {
+            ttftSamples[nextSample] = stats.getTimeToFirstTokenNanos();
+            nextSample = (nextSample + 1) % WINDOW;
+            sampleCount = Math.min(WINDOW, sampleCount + 1);
+        }
+    }
+
+    /**
+     * 새 요청 - 예산을 적립하고, 헤지할 요청이면 첫 토큰을 기다릴 시간(ms), 아니면 -1
+     */
+    public long onRequest() {
+        if (!enabled) {
+            return -1;
+        }
+        requests.increment();
+        synchronized (this) {
+            credits = Math.min(maxCredits(), credits + budgetRatio);
+            if (sampleCount < minSamples) {
+                return -1;
+            }
+            return Math.max(minDelayMillis, p95Nanos() / 1_000_000);
+        }
+    }
+
+    /**
+     * 헤지 예산 사용 - 남은 예산이 없으면 false
+     */
+    public boolean tryAcquire() {
+        synchronized (this) {
+            if (credits < 1) {
+                skippedBudget.increment();
+                generationMetrics.recordHedge("skipped_budget");
+                return false;
+            }
+            credits -= 1;
+        }
+        fired.increment();
+        generationMetrics.recordHedge("fired");
+        return true;
+    }
+
+    public void recordNoBackend() {
+        skippedNoBackend.increment();
+        generationMetrics.recordHedge("skipped_no_backend");
+    }
+
+    /**
+     * 헤지한 요청의 승자 - hedgeWon 이면 헤지 요청이 먼저 토큰을 보냈고 원래 요청은 취소됨
+     */
+    public void recordOutcome(boolean hedgeWon) {
+        if (hedgeWon) {
+            won.increment();
+            generationMetrics.recordHedge("won");
+        }
+    }
+
+    public synchronized Stats stats() {
+        long firedCount = fired.sum();
+        return new Stats(
+                enabled,
+                requests.sum(),
+                firedCount,
+                won.sum(),
+                firedCount == 0 ? 0 : (double) won.sum() / firedCount,
+                skippedBudget.sum(),
+                skippedNoBackend.sum(),
+                sampleCount,
+                sampleCount == 0 ? 0 : p95Nanos() / 1_000_000
+        );
+    }
+
+    /**
+     * 한 번에 몰아서 쓸 수 있는 예산 - 비율이 작아도 헤지 한 번은 가능
+     */
+    private double maxCredits() {
+        return Math.max(1, budgetRatio * 100);
+    }
+
+    private long p95Nanos() {
+        long[] sorted = Arrays.copyOf(ttftSamples, sampleCount);
+        Arrays.sort(sorted);
+        return sorted[(int) Math.ceil(sorted.length * 0.95) - 1];
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Stats {
+        private final boolean enabled;
+        private final long requests;
+        private final long fired;
+        /** 헤지 요청이 먼저 토큰을 보내 원래 요청을 취소한 횟수 */
+        private final long won;
+        private final double winRate;
+        private final long skippedBudget;
+        private final long skippedNoBackend;
+        private final int ttftSamples;
+        /** 현재 헤지 지연 기준 (최근 TTFT p95, ms) */
+        private final long ttftP95Millis;
+    }
+}
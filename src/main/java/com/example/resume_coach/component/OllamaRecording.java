@@ -0,0 +1,96 @@
+package com.example.resume_coach.component;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 녹화된 Ollama 스트림 하나 - 녹화 파일의 한 줄.
+ * lines 는 요청 전송 시점부터의 나노초 오프셋과 NDJSON 원문 줄의 [offset, line] 배열이다.
+ */
+public record OllamaRecording(
+        long recordedAt,
+        String backend,
+        JsonNode request,
+        List<Line> lines,
+        Stats stats,
+        String error
+) {
+
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    public record Line(long offsetNanos, String line) {
+    }
+
+    /**
+     * 종료 시점의 OllamaStreamStats (done 이 false 면 done 청크 전에 취소됨)
+     */
+    public record Stats(
+            boolean done,
+            boolean stoppedAtJsonEnd,
+            long timeToFirstTokenNanos,
+            long totalDuration,
+            long loadDuration,
+            long promptEvalCount,
+            long promptEvalDuration,
+            long evalCount,
+            long evalDuration
+    ) {
+        static Stats of(OllamaStreamStats stats) {
+            return new Stats(stats.isDone(), stats.isStoppedAtJsonEnd(), stats.getTimeToFirstTokenNanos(),
+                    stats.getTotalDuration(), stats.getLoadDuration(), stats.getPromptEvalCount(),
+                    stats.getPromptEvalDuration(), stats.getEvalCount(), stats.getEvalDuration());
+        }
+    }
+
+    @JsonIgnore
+    public boolean isLearningPath() {
+        return request != null && isLearningPath(request);
+    }
+
+    /**
+     * /api/chat 요청 본문이 학습 경로 생성인지 - format 스키마나 프롬프트에 learningSteps 가 있으면 학습 경로, 아니면 면접 질문
+     */
+    public static boolean isLearningPath(JsonNode request) {
+        if (request.path("format").path("properties").has("learningSteps")) {
+            return true;
+        }
+        for (JsonNode message : request.path("messages")) {
+            if (message.path("content").asText().contains("learningSteps")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 녹화 파일 전체 읽기 - 기록 도중 잘린 마지막 줄은 건너뛴다
+     */
+    public static List<OllamaRecording> readAll(ObjectMapper objectMapper, Path file) throws IOException {
+        List<OllamaRecording> recordings = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    recordings.add(objectMapper.readValue(line, OllamaRecording.class));
+                } catch (IOException e) {
+                    if (reader.ready()) {
+                        throw e;
+                    }
+                }
+            }
+        }
+        return recordings;
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.resume_coach.component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ollama 스트림 녹화 - 요청 본문, 모든 NDJSON 줄(요청 전송 시점부터의 나노초 오프셋), 종료 통계를
+ * 스트림당 한 줄의 JSON(OllamaRecording)으로 파일 끝에 덧붙인다. 파일 경로가 비어 있으면 꺼진다.
+ * 녹화 파일에는 이력서 내용이 담긴 프롬프트가 그대로 들어가므로 운영에서는 sample-rate 로 일부만 녹화한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OllamaStreamRecorder {
+
+    private final ObjectMapper objectMapper;
+    private Writer writer;
+
+    @Value("${ollama.api.recording.file:}")
+    private String recordingFile;
+
+    @Value("${ollama.api.recording.sample-rate:1.0}")
+    private double sampleRate;
+
+    @PostConstruct
+    void open() throws IOException {
+        if (recordingFile.isBlank()) {
+            return;
+        }
+        Path file = Path.of(recordingFile).toAbsolutePath();
+        Files.createDirectories(file.getParent());
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        log.info("Ollama 스트림 녹화: {} (sample-rate = {})", file, sampleRate);
+    }
+
+    @PreDestroy
+    synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    /**
+     * 녹화를 시작할 스트림이면 세션, 꺼져 있거나 샘플링에서 빠지면 null
+     */
+    public Session start(String backend, String requestBody) {
+        if (writer == null || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return null;
+        }
+        return new Session(backend, requestBody);
+    }
+
+    private synchronized void append(OllamaRecording recording) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.write(objectMapper.writeValueAsString(recording));
+            writer.write('\n');
+            writer.flush();
+        } catch (IOException e) {
+            log.warn("Ollama 스트림 녹화 실패", e);
+        }
+    }
+
+    public class Session {
+        private final String backend;
+        private final String requestBody;
+        private final long startedNanos = System.nanoTime();
+        private final long recordedAt = System.currentTimeMillis();
+        private final List<OllamaRecording.Line> lines = new ArrayList<>();
+        private final ByteArrayOutputStream partial = new ByteArrayOutputStream(256);
+        private boolean finished;
+
+        private Session(String backend, String requestBody) {
+            this.backend = backend;
+            this.requestBody = requestBody;
+        }
+
+        /**
+         * 바이트 구독자 앞에 붙여 받은 버퍼를 줄 단위로 녹화 (버퍼 위치는 건드리지 않음)
+         */
+        public Flow.Subscriber<List<ByteBuffer>> bytes(Flow.Subscriber<List<ByteBuffer>> downstream) {
+            return new Tee<>(downstream) {
+                @Override
+                void record(List<ByteBuffer> item) {
+                    recordBytes(item);
+                }
+            };
+        }
+
+        public Flow.Subscriber<String> lines(Flow.Subscriber<String> downstream) {
+            return new Tee<>(downstream) {
+                @Override
+                void record(String item) {
+                    recordLine(item);
+                }
+            };
+        }
+
+        private synchronized void recordBytes(List<ByteBuffer> buffers) {
+            long offset = System.nanoTime() - startedNanos;
+            for (ByteBuffer buffer : buffers) {
+                ByteBuffer view = buffer.duplicate();
+                while (view.hasRemaining()) {
+                    byte b = view.get();
+                    if (b == '\n') {
+                        addLine(offset, partial.toString(StandardCharsets.UTF_8));
+                        partial.reset();
+                    } else {
+                        partial.write(b);
+                    }
+                }
+            }
+        }
+
+        private synchronized void recordLine(String line) {
+            addLine(System.nanoTime() - startedNanos, line);
+        }
+
+        private void addLine(long offset, String line) {
+            if (!finished && !line.isBlank()) {
+                lines.add(new OllamaRecording.Line(offset, line));
+            }
+        }
+
+        /**
+         * 스트림 종료 시 한 번 - 녹화 파일에 한 줄 추가
+         */
+        public void finish(OllamaStreamStats stats, Throwable error) {
+            List<OllamaRecording.Line> recorded;
+            synchronized (this) {
+                if (finished) {
+                    return;
+                }
+                finished = true;
+                recorded = List.copyOf(lines);
+            }
+            try {
+                append(new OllamaRecording(recordedAt, backend, objectMapper.readTree(requestBody), recorded,
+                        OllamaRecording.Stats.of(stats), error == null ? null : String.valueOf(error.getMessage())));
+            } catch (IOException e) {
+                log.warn("Ollama 스트림 녹화 실패", e);
+            }
+        }
+    }
+
+    /**
+     * 항목을 녹화한 뒤 그대로 전달하는 구독자
+     */
+    private abstract static class Tee<T> implements Flow.Subscriber<T> {
+        private final Flow.Subscriber<T> downstream;
+
+        Tee(Flow.Subscriber<T> downstream) {
+            this.downstream = downstream;
+        }
+
+        abstract void record(T item);
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            downstream.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(T item) {
+            record(item);
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            downstream.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.resume_coach.component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Ollama 마지막 청크(done: true)에 포함된 생성 통계와 첫 토큰까지 걸린 시간 (시간 단위: 나노초)
+ */
+@Getter
+@Setter
+public class OllamaStreamStats {
+    private volatile boolean done;
+    private long totalDuration;
+    private long loadDuration;
+    private long promptEvalCount;
+    private long promptEvalDuration;
+    private long evalCount;
+    private long evalDuration;
+    /** 요청 전송부터 첫 content 토큰 수신까지 (0 이면 토큰 없음) */
+    private volatile long timeToFirstTokenNanos;
+    /** 최상위 JSON 이 닫혀 done 청크 전에 생성을 중단했는지 */
+    private volatile boolean stoppedAtJsonEnd;
+    /** 중단으로 아낀 최대 토큰 수 (num_predict 잔여분) */
+    private long tokensSaved;
+
+    /**
+     * 조기 중단 시에는 done 청크가 없으므로 수신한 토큰 수와 첫 토큰 이후 경과 시간으로 생성 통계를 채운다
+     */
+    public void markStoppedAtJsonEnd(long generatedTokens, long decodeNanos, long maxTokens) {
+        evalCount = generatedTokens;
+        evalDuration = decodeNanos;
+        tokensSaved = Math.max(0, maxTokens - generatedTokens);
+        stoppedAtJsonEnd = true;
+        done = true;
+    }
+}
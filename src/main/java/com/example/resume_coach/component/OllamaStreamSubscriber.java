@@ -0,0 +1,289 @@
+package com.example.resume_coach.component;
+
+import com.example.resume_coach.handler.StreamHandler;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+/**
+ * Ollama NDJSON 스트림 구독자 공통 로직 - 토큰 배치 전송, 백프레셔 요청, 종료 처리.
+ * 배치는 TokenFlushPolicy 의 크기/경계 조건을 만족하면 즉시, 아니면 첫 토큰 이후 maxDelay 가 지나면
+ * 공유 스케줄러에서 전송된다 (다음 줄 도착을 기다리지 않음).
+ * stopAtJsonEnd 가 설정되면 최상위 JSON 객체가 닫히는 즉시 handler 를 정상 완료시키고,
+ * done 청크(생성 통계)를 받을 때까지 최대 drainMillis 동안만 업스트림을 더 읽은 뒤 취소한다.
+ */
+@Slf4j
+public abstract class OllamaStreamSubscriber<T> implements Flow.Subscriber<T> {
+
+    private static final long REQUEST_BATCH = 32;
+    protected final StreamHandler handler;
+    private final TokenFlushPolicy flushPolicy;
+    private final TaskScheduler flushScheduler;
+    private final StringBuilder tokenBuffer = new StringBuilder(2048);
+    private final AtomicBoolean terminated = new AtomicBoolean(false);
+    private final AtomicBoolean reported = new AtomicBoolean(false);
+    private final long startedNanos = System.nanoTime();
+    private final List<BiConsumer<OllamaStreamStats, Throwable>> terminationListeners = new CopyOnWriteArrayList<>();
+    private volatile Throwable terminationError;
+    private boolean firstTokenSeen;
+    private long contentTokens;
+    private JsonCompletionTracker jsonTracker;
+    private long maxTokens;
+    private long drainMillis;
+    private volatile boolean draining;
+    private ScheduledFuture<?> drainTimeout;
+    @Getter
+    private final OllamaStreamStats stats = new OllamaStreamStats();
+    private int consumedSinceRequest = 0;
+    private Flow.Subscription subscription;
+
+    // 미전송 배치 상태 (this 로 동기화)
+    private int pendingBytes;
+    private int pendingTokens;
+    private ScheduledFuture<?> pendingFlush;
+
+    protected OllamaStreamSubscriber(StreamHandler handler, TokenFlushPolicy flushPolicy, TaskScheduler flushScheduler) {
+        this.handler = handler;
+        this.flushPolicy = flushPolicy;
+        this.flushScheduler = flushScheduler;
+    }
+
+    /**
+     * 스트림 종료(완료, 오류, 취소) 시 한 번 호출할 리스너 추가 - 오류가 아니면 두 번째 인자는 null.
+     * 이미 종료된 스트림이면 즉시 호출
+     */
+    public void onTermination(BiConsumer<OllamaStreamStats, Throwable> listener) {
+        terminationListeners.add(listener);
+        if (reported.get() && terminationListeners.remove(listener)) {
+            notifyTermination(listener, terminationError);
+        }
+    }
+
+    /**
+     * 최상위 JSON 객체가 닫히면 생성 중단 - maxTokens(num_predict)는 절약 토큰 계산용,
+     * drainMillis 는 완료 후 done 청크를 기다리는 최대 시간 (0 이면 즉시 취소)
+     */
+    public void stopAtJsonEnd(long maxTokens, long drainMillis) {
+        this.jsonTracker = new JsonCompletionTracker();
+        this.maxTokens = maxTokens;
+        this.drainMillis = drainMillis;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(REQUEST_BATCH);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (draining) {
+            cancel(); // handler 는 이미 완료됨
+            return;
+        }
+        if (!terminated.compareAndSet(false, true)) {
+            return;
+        }
+        reportTermination(throwable);
+        try {
+            flushBatch();
+            handler.onError(throwable);
+        } finally {
+            cancel();
+            handler.onComplete();
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (draining) {
+            cancel(); // done 청크까지 받고 Ollama 가 응답을 닫음
+            return;
+        }
+        if (!terminated.compareAndSet(false, true)) {
+            return;
+        }
+        reportTermination(null);
+        flushBatch();
+        cancel();
+        handler.onComplete();
+    }
+
+    /**
+     * 업스트림 구독 취소 - 취소 이후에는 handler 로 이벤트를 전달하지 않음
+     */
+    public void cancel() {
+        terminated.set(true);
+        draining = false;
+        reportTermination(null);
+        cancelPendingFlush();
+        cancelDrainTimeout();
+        try {
+            if (subscription != null) subscription.cancel();
+        } catch (Throwable ignore) {
+        }
+    }
+
+    private void reportTermination(Throwable error) {
+        if (!reported.compareAndSet(false, true)) {
+            return;
+        }
+        terminationError = error;
+        for (BiConsumer<OllamaStreamStats, Throwable> listener : terminationListeners) {
+            if (terminationListeners.remove(listener)) {
+                notifyTermination(listener, error);
+            }
+        }
+    }
+
+    private void notifyTermination(BiConsumer<OllamaStreamStats, Throwable> listener, Throwable error) {
+        try {
+            listener.accept(stats, error);
+        } catch (Exception e) {
+            log.warn("스트림 종료 리스너 실패", e);
+        }
+    }
+
+    public synchronized long getContentTokens() {
+        return contentTokens;
+    }
+
+    /**
+     * 수신 항목을 버려야 하는지 - 조기 완료 후 done 청크를 기다리는 동안은 통계 수집을 위해 계속 파싱
+     */
+    protected boolean isTerminated() {
+        return terminated.get() && !draining;
+    }
+
+    protected synchronized void appendToken(CharSequence token) {
+        int length = token.length();
+        if (length == 0 || isJsonClosed()) return;
+        int end = jsonTracker != null ? jsonTracker.feed(token, 0, length) : -1;
+        if (end >= 0) {
+            length = end; // 닫는 '}' 이후 텍스트는 버림
+        }
+        tokenBuffer.append(token, 0, length);
+        int bytes = 0;
+        for (int i = 0; i < length; i++) {
+            bytes += TokenFlushPolicy.utf8Length(token.charAt(i));
+        }
+        afterAppend(bytes, token.charAt(length - 1));
+        if (end >= 0) {
+            completeAtJsonEnd();
+        }
+    }
+
+    protected synchronized void appendToken(char[] chars, int offset, int length) {
+        if (length == 0 || isJsonClosed()) return;
+        int end = jsonTracker != null ? jsonTracker.feed(chars, offset, length) : -1;
+        if (end >= 0) {
+            length = end;
+        }
+        tokenBuffer.append(chars, offset, length);
+        int bytes = 0;
+        for (int i = offset; i < offset + length; i++) {
+            bytes += TokenFlushPolicy.utf8Length(chars[i]);
+        }
+        afterAppend(bytes, chars[offset + length - 1]);
+        if (end >= 0) {
+            completeAtJsonEnd();
+        }
+    }
+
+    private boolean isJsonClosed() {
+        return jsonTracker != null && jsonTracker.isClosed();
+    }
+
+    /**
+     * 최상위 JSON 완료 - 남은 배치를 보내고 정상 완료로 종료한 뒤, done 청크를 받거나 drainMillis 가 지나면
+     * 업스트림(HTTP 응답)을 취소해 Ollama 생성을 멈춘다. 종료 리스너는 그때 (done 청크 통계와 함께) 호출된다
+     */
+    private void completeAtJsonEnd() {
+        if (!terminated.compareAndSet(false, true)) {
+            return;
+        }
+        long decodeNanos = System.nanoTime() - startedNanos - stats.getTimeToFirstTokenNanos();
+        stats.markStoppedAtJsonEnd(contentTokens, decodeNanos, maxTokens);
+        log.info("최상위 JSON 완료 - Ollama 생성 중단: 생성 토큰 = {}, 절약 토큰(최대) = {}",
+                contentTokens, stats.getTokensSaved());
+        flushBatch();
+        if (drainMillis > 0) {
+            draining = true;
+            drainTimeout = flushScheduler.schedule(this::cancel, Instant.now().plusMillis(drainMillis));
+        } else {
+            cancel();
+        }
+        handler.onComplete();
+    }
+
+    private synchronized void cancelDrainTimeout() {
+        if (drainTimeout != null) {
+            drainTimeout.cancel(false);
+            drainTimeout = null;
+        }
+    }
+
+    /**
+     * 수신 항목 하나 처리 후 호출 - 백프레셔 요청 갱신
+     */
+    protected void afterItem() {
+        // 백프레셔 호출 줄이기
+        if (++consumedSinceRequest >= REQUEST_BATCH) {
+            subscription.request(REQUEST_BATCH);
+            consumedSinceRequest = 0;
+        }
+    }
+
+    private void afterAppend(int bytes, char lastChar) {
+        boolean firstInBatch = pendingTokens == 0;
+        contentTokens++;
+        if (!firstTokenSeen) {
+            firstTokenSeen = true;
+            stats.setTimeToFirstTokenNanos(System.nanoTime() - startedNanos);
+        }
+        pendingBytes += bytes;
+        pendingTokens++;
+
+        if (flushPolicy.shouldFlush(pendingBytes, pendingTokens, lastChar)) {
+            flushBatch();
+        } else if (firstInBatch) {
+            pendingFlush = flushScheduler.schedule(this::flushOnTimer,
+                    Instant.now().plusMillis(flushPolicy.getMaxDelayMs()));
+        }
+    }
+
+    private void flushOnTimer() {
+        if (!terminated.get()) {
+            flushBatch();
+        }
+    }
+
+    private synchronized void flushBatch() {
+        cancelPendingFlush();
+        if (tokenBuffer.length() == 0) return;
+        String batched = tokenBuffer.toString();
+        tokenBuffer.setLength(0);
+        pendingBytes = 0;
+        pendingTokens = 0;
+        try {
+            handler.onToken(batched);
+        } catch (Exception e) {
+            handler.onError(e);
+        }
+    }
+
+    private synchronized void cancelPendingFlush() {
+        if (pendingFlush != null) {
+            pendingFlush.cancel(false);
+            pendingFlush = null;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.resume_coach.component;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 출력 레코드(ResumeAiOutput)에서 Ollama format 용 JSON 스키마 생성.
+ * 모든 컴포넌트는 required, additionalProperties 는 false, @Schema allowableValues 는 enum, @ArraySchema 는 minItems/maxItems 로 변환한다.
+ */
+@Component
+public class OutputSchemaGenerator {
+
+    private final Map<Class<?>, Map<String, Object>> cache = new ConcurrentHashMap<>();
+
+    public Map<String, Object> schemaOf(Class<?> type) {
+        return cache.computeIfAbsent(type, t -> Collections.unmodifiableMap(objectSchema(t)));
+    }
+
+    private Map<String, Object> objectSchema(Class<?> type) {
+        if (!type.isRecord()) {
+            throw new IllegalArgumentException("출력 스키마는 record 만 지원합니다: " + type.getName());
+        }
+        Map<String, Object> properties = new LinkedHashMap<>();
+        List<String> required = new ArrayList<>();
+        for (RecordComponent component : type.getRecordComponents()) {
+            Field field = field(type, component.getName());
+            properties.put(component.getName(), propertySchema(component.getGenericType(), field));
+            Schema schema = field.getAnnotation(Schema.class);
+            if (schema == null || schema.requiredMode() != Schema.RequiredMode.NOT_REQUIRED) {
+                required.add(component.getName());
+            }
+        }
+        Map<String, Object> schema = new LinkedHashMap<>();
+        schema.put("type", "object");
+        schema.put("properties", properties);
+        schema.put("required", required);
+        schema.put("additionalProperties", false);
+        return schema;
+    }
+
+    private Map<String, Object> propertySchema(Type type, Field field) {
+        Map<String, Object> schema = new LinkedHashMap<>();
+        if (type instanceof ParameterizedType parameterized && parameterized.getRawType() == List.class) {
+            schema.put("type", "array");
+            schema.put("items", valueSchema(parameterized.getActualTypeArguments()[0], null));
+            ArraySchema array = field != null ? field.getAnnotation(ArraySchema.class) : null;
+            if (array != null) {
+                if (array.minItems() != Integer.MAX_VALUE) {
+                    schema.put("minItems", array.minItems());
+                }
+                if (array.maxItems() != Integer.MIN_VALUE) {
+                    schema.put("maxItems", array.maxItems());
+                }
+            }
+            return schema;
+        }
+        return valueSchema(type, field != null ? field.getAnnotation(Schema.class) : null);
+    }
+
+    private Map<String, Object> valueSchema(Type type, Schema annotation) {
+        if (!(type instanceof Class<?> clazz)) {
+            throw new IllegalArgumentException("지원하지 않는 출력 필드 타입: " + type);
+        }
+        if (clazz.isRecord()) {
+            return objectSchema(clazz);
+        }
+        Map<String, Object> schema = new LinkedHashMap<>();
+        if (clazz == String.class) {
+            schema.put("type", "string");
+            if (annotation != null && annotation.allowableValues().length > 0) {
+                schema.put("enum", List.of(annotation.allowableValues()));
+            }
+        } else if (clazz == Integer.class || clazz == int.class || clazz == Long.class || clazz == long.class) {
+            schema.put("type", "integer");
+            if (annotation != null && !annotation.minimum().isEmpty()) {
+                schema.put("minimum", Long.parseLong(annotation.minimum()));
+            }
+        } else if (clazz == Boolean.class || clazz == boolean.class) {
+            schema.put("type", "boolean");
+        } else {
+            throw new IllegalArgumentException("지원하지 않는 출력 필드 타입: " + clazz.getName());
+        }
+        return schema;
+    }
+
+    private static Field field(Class<?> type, String name) {
+        try {
+            return type.getDeclaredField(name);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("record 필드를 찾을 수 없습니다: " + type.getName() + "." + name, e);
+        }
+    }
+}
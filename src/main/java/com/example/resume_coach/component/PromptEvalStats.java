@@ -0,0 +1,71 @@
+package com.example.resume_coach.component;
+
+import com.example.resume_coach.model.GenerationRequest;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 직무 카탈로그 범위(pruned: 이력서 관련 카테고리만, full: 전체)별 prefill 비용 비교.
+ * Ollama done 청크의 prompt_eval_count / prompt_eval_duration 과 시스템 프롬프트 길이를 모은다.
+ */
+@Component
+public class PromptEvalStats {
+
+    private final Bucket pruned = new Bucket();
+    private final Bucket full = new Bucket();
+
+    /**
+     * done 청크를 받지 못한 스트림(취소, 조기 중단 후 drain 시간 안에 done 청크가 오지 않은 경우)은 prompt_eval 값이 없으므로 제외
+     */
+    public void record(GenerationRequest request, OllamaStreamStats stats) {
+        if (stats == null || stats.getPromptEvalCount() == 0) {
+            return;
+        }
+        Bucket bucket = request.isJobCatalogPruned() ? pruned : full;
+        bucket.samples.increment();
+        bucket.promptTokens.add(stats.getPromptEvalCount());
+        bucket.promptEvalNanos.add(stats.getPromptEvalDuration());
+        bucket.systemPromptChars.add(request.getSystemPrompt().length());
+    }
+
+    public Map<String, Stats> stats() {
+        Map<String, Stats> result = new LinkedHashMap<>();
+        result.put("pruned", pruned.stats());
+        result.put("full", full.stats());
+        return result;
+    }
+
+    private static final class Bucket {
+        private final LongAdder samples = new LongAdder();
+        private final LongAdder promptTokens = new LongAdder();
+        private final LongAdder promptEvalNanos = new LongAdder();
+        private final LongAdder systemPromptChars = new LongAdder();
+
+        private Stats stats() {
+            long count = samples.sum();
+            if (count == 0) {
+                return new Stats(0, 0, 0, 0);
+            }
+            return new Stats(
+                    count,
+                    (double) promptTokens.sum() / count,
+                    promptEvalNanos.sum() / 1_000_000.0 / count,
+                    (double) systemPromptChars.sum() / count
+            );
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Stats {
+        private final long samples;
+        private final double avgPromptTokens;
+        private final double avgPrefillMs;
+        private final double avgSystemPromptChars;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.resume_coach.component;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ${name} 자리표시자를 가진 프롬프트 템플릿을 리터럴 조각/자리표시자 배열로 미리 컴파일한 것.
+ * 렌더링은 값 길이를 더해 크기를 정한 StringBuilder 에 한 번에 이어 붙이며, 값이 없거나 null 이면 빈 문자열로 채운다.
+ */
+public final class PromptTemplate {
+
+    private static final String OPEN = "${";
+    private static final char CLOSE = '}';
+
+    /** 파일 이름 (예: interview_user_v1) */
+    @Getter
+    private final String name;
+    /** 로드 위치 (classpath 또는 외부 파일 경로) */
+    @Getter
+    private final String source;
+    /** 템플릿 원문 SHA-256 앞 8바이트 - 같은 이름의 파일이 바뀌면 버전이 바뀐다 */
+    @Getter
+    private final String contentHash;
+    @Getter
+    private final long loadedAtMillis;
+    /** segments.length == placeholders.length + 1 */
+    private final String[] segments;
+    private final String[] placeholders;
+    private final int literalLength;
+
+    private PromptTemplate(String name, String source, String contentHash, String[] segments, String[] placeholders) {
+        this.name = name;
+        this.source = source;
+        this.contentHash = contentHash;
+        this.loadedAtMillis = System.currentTimeMillis();
+        this.segments = segments;
+        this.placeholders = placeholders;
+        int length = 0;
+        for (String segment : segments) {
+            length += segment.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static PromptTemplate compile(String name, String source, String text) {
+        List<String> segments = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        int from = 0;
+        int open;
+        while ((open = text.indexOf(OPEN, from)) >= 0) {
+            int close = text.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                break;
+            }
+            segments.add(text.substring(from, open));
+            placeholders.add(text.substring(open + OPEN.length(), close));
+            from = close + 1;
+        }
+        segments.add(text.substring(from));
+        return new PromptTemplate(name, source, hash(text),
+                segments.toArray(String[]::new), placeholders.toArray(String[]::new));
+    }
+
+    /**
+     * 이름 + 내용 해시 (예: interview_user_v1@3fa2c1d09b7e4a10)
+     */
+    public String getVersion() {
+        return name + "@" + contentHash;
+    }
+
+    public List<String> getPlaceholderNames() {
+        return Arrays.stream(placeholders).distinct().toList();
+    }
+
+    public String render(Map<String, String> values) {
+        int length = literalLength;
+        for (String placeholder : placeholders) {
+            String value = values.get(placeholder);
+            if (value != null) {
+                length += value.length();
+            }
+        }
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < placeholders.length; i++) {
+            sb.append(segments[i]);
+            String value = values.get(placeholders[i]);
+            if (value != null) {
+                sb.append(value);
+            }
+        }
+        return sb.append(segments[placeholders.length]).toString();
+    }
+
+    private static String hash(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다", e);
+        }
+    }
+}
@@ -1,34 +1,152 @@
 package com.example.resume_coach.component;
 
+import com.example.resume_coach.model.GenerationType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
 
+/**
+ * prompts/{system,user}/*.txt 템플릿을 한 번 컴파일해 보관하는 저장소.
+ * classpath 는 InputStream 으로 읽어 jar 안에서도 동작하고, ollama.prompt.templates.dir 이 있으면 같은 구조의 외부 파일이 우선한다.
+ * 외부 파일은 주기적으로 수정 시각을 확인해 재시작 없이 다시 컴파일한다 (버전 = 이름@내용 해시).
+ */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class PromptTemplateLoader {
 
-    public String loadSystemPrompt(String promptName) {
-        return loadResourceFile("prompts/system/" + promptName + ".txt");
+    private final TaskScheduler ollamaProbeScheduler;
+    private final Map<String, Loaded> templates = new ConcurrentHashMap<>();
+    private ScheduledFuture<?> reloadTask;
+
+    /** 외부 템플릿 디렉터리 (system/, user/ 하위 구조). 비어 있으면 classpath 만 사용 */
+    @Value("${ollama.prompt.templates.dir:}")
+    private String externalDir;
+
+    @Value("${ollama.prompt.templates.reload-seconds:5}")
+    private long reloadSeconds;
+
+    /**
+     * v1/레거시 템플릿을 모두 미리 컴파일 (GenerationType 이 쓰는 템플릿이 없으면 시작 실패)
+     */
+    @PostConstruct
+    void init() throws IOException {
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources("classpath*:prompts/*/*.txt")) {
+            String fileName = resource.getFilename();
+            String directory = parentDirectory(resource);
+            if (fileName != null && directory != null) {
+                template(directory + "/" + fileName, fileName.substring(0, fileName.length() - ".txt".length()));
+            }
+        }
+        for (GenerationType type : GenerationType.values()) {
+            systemTemplate(type);
+            userTemplate(type);
+        }
+        if (!externalDir.isBlank() && reloadSeconds > 0) {
+            log.info("외부 프롬프트 템플릿 디렉터리: {} ({}초마다 변경 확인)", externalDir, reloadSeconds);
+            reloadTask = ollamaProbeScheduler.scheduleAtFixedRate(this::reloadChanged, Duration.ofSeconds(reloadSeconds));
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (reloadTask != null) reloadTask.cancel(true);
+    }
+
+    public PromptTemplate systemTemplate(GenerationType type) {
+        return template("system/" + type.getSystemPromptName() + ".txt", type.getSystemPromptName());
     }
 
-    public String loadUserPromptTemplate(String promptName) {
-        return loadResourceFile("prompts/user/" + promptName + ".txt");
+    public PromptTemplate userTemplate(GenerationType type) {
+        return template("user/" + type.getUserPromptName() + ".txt", type.getUserPromptName());
     }
 
+    public Collection<PromptTemplate> loadedTemplates() {
+        return templates.values().stream().map(Loaded::template).toList();
+    }
 
-    private String loadResourceFile(String resourcePath) {
+    private PromptTemplate template(String relativePath, String name) {
+        return templates.computeIfAbsent(relativePath, path -> load(path, name)).template();
+    }
+
+    /**
+     * 외부 파일이 새로 생겼거나 수정 시각이 바뀐 템플릿만 다시 컴파일 - 실패하면 이전 템플릿을 유지
+     */
+    void reloadChanged() {
+        for (Map.Entry<String, Loaded> entry : templates.entrySet()) {
+            Loaded current = entry.getValue();
+            Path file = externalPath(entry.getKey());
+            if (file == null || !Files.isRegularFile(file) || lastModified(file) == current.lastModified()) {
+                continue;
+            }
+            try {
+                Loaded reloaded = load(entry.getKey(), current.template().getName());
+                templates.put(entry.getKey(), reloaded);
+                log.info("프롬프트 템플릿 재로드: {} → {}", current.template().getVersion(), reloaded.template().getVersion());
+            } catch (RuntimeException e) {
+                log.warn("프롬프트 템플릿 재로드 실패 - 이전 버전 유지: {}", file, e);
+            }
+        }
+    }
+
+    private Loaded load(String relativePath, String name) {
+        Path file = externalPath(relativePath);
         try {
-            Resource resource = new ClassPathResource(resourcePath);
-            return Files.readString(Paths.get(resource.getURI()));
+            if (file != null && Files.isRegularFile(file)) {
+                long modified = lastModified(file);
+                String text = Files.readString(file, StandardCharsets.UTF_8);
+                return new Loaded(PromptTemplate.compile(name, file.toString(), text), modified);
+            }
+            try (InputStream inputStream = new ClassPathResource("prompts/" + relativePath).getInputStream()) {
+                String text = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+                return new Loaded(PromptTemplate.compile(name, "classpath:prompts/" + relativePath, text), -1);
+            }
         } catch (IOException e) {
-            log.error("프롬프트 파일 로드 실패: {}", resourcePath, e);
-            throw new RuntimeException("프롬프트 파일을 찾을 수 없습니다: " + resourcePath);
+            log.error("프롬프트 파일 로드 실패: {}", relativePath, e);
+            throw new RuntimeException("프롬프트 파일을 찾을 수 없습니다: " + relativePath);
         }
     }
+
+    /**
+     * jar 안의 리소스도 URL 경로 문자열로 상위 디렉터리(system/user) 이름을 구한다
+     */
+    private static String parentDirectory(Resource resource) throws IOException {
+        String path = resource.getURL().getPath();
+        int end = path.lastIndexOf('/');
+        int start = path.lastIndexOf('/', end - 1);
+        return end > 0 && start >= 0 ? path.substring(start + 1, end) : null;
+    }
+
+    private Path externalPath(String relativePath) {
+        return externalDir.isBlank() ? null : Path.of(externalDir, relativePath);
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private record Loaded(PromptTemplate template, long lastModified) {
+    }
 }
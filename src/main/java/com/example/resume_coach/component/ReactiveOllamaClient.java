@@ -0,0 +1,131 @@
+package com.example.resume_coach.component;
+
+import com.example.resume_coach.model.GenerationRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * WebClient 기반 Ollama 스트리밍 클라이언트.
+ * NDJSON 응답을 Flux&lt;String&gt; 토큰으로 변환하며, 구독자의 요청량(demand)만큼만 소켓에서 읽는다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveOllamaClient {
+
+    private final WebClient ollamaWebClient;
+    private final OllamaApiClient ollamaApiClient;
+    private final OllamaBackendPool backendPool;
+    private final OllamaAdmissionController admissionController;
+    private final StructuredOutputStats outputStats;
+    private final PromptEvalStats promptEvalStats;
+    private final GenerationMetrics generationMetrics;
+
+    @Value("${ollama.api.end-point}")
+    private String ollamaEndPoint;
+
+    /**
+     * 생성 요청을 스트리밍으로 실행 - message.content 토큰만 방출, 구독 취소 시 연결 종료.
+     * 백엔드는 구독 시점에 풀에서 고르고, 종료 시 진행 중 수와 헬스(TTFT/실패)를 보고한다.
+     * ollama.api.stop-at-json-end 이면 최상위 JSON 이 닫히는 즉시 완료하고 연결을 끊는다
+     * (완료 신호가 곧 업스트림 취소이므로 이 경로에서는 done 청크 통계를 기다리지 않는다).
+     */
+    public Flux<String> streamTokens(GenerationRequest request) {
+        String body;
+        try {
+            body = ollamaApiClient.createChatRequestBodyJson(
+                    request.getSystemPrompt(), request.getUserPrompt(), request.getOptions(), request.getFormat(), true);
+        } catch (JsonProcessingException e) {
+            return Flux.error(e);
+        }
+        long jsonStopBudget = ollamaApiClient.isStopAtJsonEnd() ? OllamaApiClient.numPredictOf(request.getOptions()) : -1;
+        return Flux.defer(() -> {
+            OllamaBackend backend = backendPool.select();
+            OllamaStreamStats stats = new OllamaStreamStats();
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            AtomicLong contentTokens = new AtomicLong();
+            long started = System.nanoTime();
+            backendPool.acquire(backend);
+            Flux<String> tokens = stream(backend, body)
+                    .doOnNext(chunk -> {
+                        if (chunk.done) {
+                            stats.setTotalDuration(chunk.totalDuration);
+                            stats.setLoadDuration(chunk.loadDuration);
+                            stats.setPromptEvalCount(chunk.promptEvalCount);
+                            stats.setPromptEvalDuration(chunk.promptEvalDuration);
+                            stats.setEvalCount(chunk.evalCount);
+                            stats.setEvalDuration(chunk.evalDuration);
+                            stats.setDone(true);
+                        }
+                    })
+                    .mapNotNull(chunk -> chunk.message != null ? chunk.message.content : null)
+                    .filter(content -> !content.isEmpty())
+                    .doOnNext(content -> {
+                        if (contentTokens.getAndIncrement() == 0) {
+                            stats.setTimeToFirstTokenNanos(System.nanoTime() - started);
+                        }
+                    });
+            if (jsonStopBudget >= 0) {
+                tokens = stopAtJsonEnd(tokens, stats, contentTokens, started, jsonStopBudget);
+            }
+            return tokens
+                    .doOnError(failure::set)
+                    .doFinally(signal -> {
+                        backendPool.release(backend, stats, signal == SignalType.ON_ERROR ? failure.get() : null);
+                        admissionController.recordSample(stats);
+                        if (stats.isStoppedAtJsonEnd()) {
+                            outputStats.recordEarlyStop(stats.getTokensSaved());
+                        }
+                        promptEvalStats.record(request, stats);
+                        generationMetrics.recordOllama(request, stats, failure.get());
+                    });
+        });
+    }
+
+    /**
+     * 최상위 JSON 객체가 닫히는 토큰에서 완료 - 완료 신호가 업스트림 취소로 이어져 Ollama 연결이 끊기고 생성이 멈춘다
+     */
+    private Flux<String> stopAtJsonEnd(Flux<String> tokens, OllamaStreamStats stats, AtomicLong contentTokens,
+                                       long started, long maxTokens) {
+        JsonCompletionTracker tracker = new JsonCompletionTracker();
+        return tokens.handle((token, sink) -> {
+            int end = tracker.feed(token, 0, token.length());
+            if (end < 0) {
+                sink.next(token);
+                return;
+            }
+            sink.next(token.substring(0, end));
+            long decodeNanos = System.nanoTime() - started - stats.getTimeToFirstTokenNanos();
+            stats.markStoppedAtJsonEnd(contentTokens.get(), decodeNanos, maxTokens);
+            log.info("최상위 JSON 완료 - Ollama 리액티브 생성 중단: 생성 토큰 = {}, 절약 토큰(최대) = {}",
+                    contentTokens.get(), stats.getTokensSaved());
+            sink.complete();
+        });
+    }
+
+    private Flux<OllamaLineSubscriber.Chunk> stream(OllamaBackend backend, String body) {
+        return ollamaWebClient.post()
+                .uri(backend.getBaseUrl() + ollamaEndPoint)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .retrieve()
+                .bodyToFlux(OllamaLineSubscriber.Chunk.class)
+                .doOnNext(chunk -> {
+                    if (chunk.done) {
+                        log.info("Ollama 리액티브 스트림 완료: 생성 토큰 = {}, eval = {}ms",
+                                chunk.evalCount, chunk.evalDuration / 1_000_000);
+                    }
+                });
+    }
+}
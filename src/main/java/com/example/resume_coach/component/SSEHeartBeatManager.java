@@ -1,33 +1,66 @@
 package com.example.resume_coach.component;
 
+import com.example.resume_coach.handler.SseOutboundQueue;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
-import lombok.RequiredArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.stereotype.Component;
-import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.Duration;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * SSE keepalive 관리 - 해시 타이밍 휠.
+ * 연결마다 Handle 의 volatile long 에 마지막 활동 시각만 기록하고(touch), 휠은 마감 시각이 된 슬롯만 확인한다.
+ * 그 사이 활동이 있었던 연결은 전송 없이 새 마감 시각 슬롯으로 옮겨지므로 틱 비용은 해당 슬롯 크기에 비례한다.
+ * keepalive 는 연결의 송신 큐에 넣기만 하며(대기 중인 전송이 있으면 생략), 실제 전송은 연결의 writer 가 한다.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class SSEHeartBeatManager {
+    private static final long SLOW_TICK_NANOS = Duration.ofMillis(50).toNanos();
+
     private final ThreadPoolTaskScheduler sseKeepAliveScheduler;
-    private final Map<SseEmitter, Long> lastActivity = new ConcurrentHashMap<>();
-    private final Duration idleThreshold = Duration.ofSeconds(59);
-    private final Duration checkEvery = Duration.ofSeconds(10);
+    private final long idleThresholdMs = Duration.ofSeconds(59).toMillis();
+    private final long tickMs = Duration.ofSeconds(1).toMillis();
+
+    // 휠 스레드 전용 상태
+    private final ArrayDeque<Handle>[] wheel;
+    private final int mask;
+    private long cursorTick;
+
+    private final Queue<Handle> registrations = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger registered = new AtomicInteger();
+    private final LongAdder keepAlivesSent = new LongAdder();
+    private volatile long lastTickNanos;
+    private volatile long maxTickNanos;
     private ScheduledFuture<?> task;
 
+    @SuppressWarnings("unchecked")
+    public SSEHeartBeatManager(ThreadPoolTaskScheduler sseKeepAliveScheduler) {
+        this.sseKeepAliveScheduler = sseKeepAliveScheduler;
+        // 한 바퀴가 idle 기준보다 길도록 2의 거듭제곱 슬롯
+        int slots = Integer.highestOneBit((int) (idleThresholdMs / tickMs) + 1) << 1;
+        this.wheel = new ArrayDeque[slots];
+        for (int i = 0; i < slots; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+        this.mask = slots - 1;
+        this.cursorTick = System.currentTimeMillis() / tickMs;
+    }
+
     @PostConstruct
     void start() {
-        task = sseKeepAliveScheduler.scheduleAtFixedRate(this::tick, checkEvery);
+        cursorTick = System.currentTimeMillis() / tickMs;
+        task = sseKeepAliveScheduler.scheduleAtFixedRate(() -> tick(System.currentTimeMillis()), Duration.ofMillis(tickMs));
     }
 
     @PreDestroy
@@ -35,46 +68,100 @@ public class SSEHeartBeatManager {
         if (task != null) task.cancel(true);
     }
 
-    public void register(SseEmitter emitter) {
-        touch(emitter); // now
-        emitter.onCompletion(() -> lastActivity.remove(emitter));
-        emitter.onTimeout(() -> lastActivity.remove(emitter));
+    /**
+     * 연결 등록 - 송신 큐의 전송 성공마다 활동 시각 갱신 (연결 종료 시 자동 해제)
+     */
+    public Handle register(SseOutboundQueue outbound) {
+        Handle handle = new Handle(outbound);
+        outbound.onWrite(handle::touch);
+        outbound.getEmitter().onCompletion(handle::close);
+        outbound.getEmitter().onTimeout(handle::close);
+        outbound.getEmitter().onError(e -> handle.close());
+        registered.incrementAndGet();
+        registrations.add(handle);
+        return handle;
+    }
+
+    public Stats stats() {
+        return new Stats(registered.get(), keepAlivesSent.sum(), lastTickNanos, maxTickNanos);
     }
 
     /**
-     * 토큰 전송 등 활동 시 매번 호출해서 타임스탬프 갱신
+     * 휠 한 칸 이상 전진 - 지난 틱부터 now 까지의 슬롯만 처리
      */
-    public void touch(SseEmitter emitter) {
-        lastActivity.put(emitter, System.currentTimeMillis());
+    void tick(long now) {
+        long started = System.nanoTime();
+        Handle added;
+        while ((added = registrations.poll()) != null) {
+            schedule(added, added.lastActivity + idleThresholdMs, cursorTick);
+        }
+
+        long targetTick = now / tickMs;
+        while (cursorTick <= targetTick) {
+            ArrayDeque<Handle> slot = wheel[(int) (cursorTick & mask)];
+            for (int n = slot.size(); n > 0; n--) {
+                Handle handle = slot.poll();
+                if (handle.closed) {
+                    registered.decrementAndGet();
+                    continue;
+                }
+                long deadline = handle.lastActivity + idleThresholdMs;
+                if (deadline <= now) {
+                    handle.outbound.keepAlive(); // 큐에 넣기만 함 - 휠 스레드는 블로킹되지 않음
+                    keepAlivesSent.increment();
+                    deadline = now + idleThresholdMs;
+                }
+                schedule(handle, deadline, cursorTick + 1);
+            }
+            cursorTick++;
+        }
+
+        long elapsed = System.nanoTime() - started;
+        lastTickNanos = elapsed;
+        if (elapsed > maxTickNanos) {
+            maxTickNanos = elapsed;
+        }
+        if (elapsed > SLOW_TICK_NANOS) {
+            log.warn("SSE 하트비트 틱 지연: {}ms, 등록 연결 = {}", elapsed / 1_000_000, registered.get());
+        }
     }
 
-    private void tick() {
-        long now = System.currentTimeMillis();
-        List<SseEmitter> toRemove = new ArrayList<>();
+    private void schedule(Handle handle, long deadlineMs, long minTick) {
+        // 한 바퀴 이상 뒤의 마감은 마지막 슬롯에 두고 그때 다시 계산
+        long tick = Math.min(Math.max(deadlineMs / tickMs, minTick), cursorTick + mask);
+        wheel[(int) (tick & mask)].add(handle);
+    }
 
-        for (Map.Entry<SseEmitter, Long> entry : lastActivity.entrySet()) {
-            SseEmitter emitter = entry.getKey();
-            long ts = entry.getValue();
-            if (now - ts < idleThreshold.toMillis()) {
-                continue;
-            }
-            try {
-                emitter.send(SseEmitter.event().name("keepalive").comment("ping"));
-                entry.setValue(now);
-            } catch (Exception e) {
-                toRemove.add(emitter); // 루프 끝난 뒤 제거
-                completeQuietly(emitter, e);
-            }
+    /**
+     * 연결별 하트비트 상태 - touch 는 volatile 쓰기 하나
+     */
+    public static final class Handle {
+        private final SseOutboundQueue outbound;
+        private volatile long lastActivity = System.currentTimeMillis();
+        private volatile boolean closed;
+
+        private Handle(SseOutboundQueue outbound) {
+            this.outbound = outbound;
+        }
+
+        /**
+         * 토큰 전송 등 활동 시 호출해서 타임스탬프 갱신
+         */
+        public void touch() {
+            lastActivity = System.currentTimeMillis();
         }
 
-        for (SseEmitter emitter : toRemove) {
-            lastActivity.remove(emitter);
+        public void close() {
+            closed = true;
         }
     }
 
-    private void completeQuietly(SseEmitter emitter, Exception cause) {
-        try {
-            emitter.completeWithError(cause);
-        } catch (Exception ignore) {}
+    @Getter
+    @AllArgsConstructor
+    public static class Stats {
+        private final int registered;
+        private final long keepAlivesSent;
+        private final long lastTickNanos;
+        private final long maxTickNanos;
     }
 }
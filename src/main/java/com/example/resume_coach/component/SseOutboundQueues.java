@@ -0,0 +1,50 @@
+package com.example.resume_coach.component;
+
+import com.example.resume_coach.handler.SseOutboundQueue;
+import com.example.resume_coach.model.GenerationType;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.Executor;
+
+/**
+ * SSE 연결별 송신 큐 생성 - 한도와 overflow 정책은 sse.outbound.* 설정
+ */
+@Component
+public class SseOutboundQueues {
+
+    private final Executor sseOutboundWriter;
+    private final int softLimitChars;
+    private final int hardLimitChars;
+    private final SseOutboundQueue.OverflowPolicy overflowPolicy;
+    private final GenerationMetrics generationMetrics;
+
+    public SseOutboundQueues(
+            @Qualifier("sseOutboundWriter") Executor sseOutboundWriter,
+            GenerationMetrics generationMetrics,
+            @Value("${sse.outbound.soft-limit-chars:4096}") int softLimitChars,
+            @Value("${sse.outbound.hard-limit-chars:262144}") int hardLimitChars,
+            @Value("${sse.outbound.overflow:final-only}") String overflow
+    ) {
+        this.sseOutboundWriter = sseOutboundWriter;
+        this.generationMetrics = generationMetrics;
+        this.softLimitChars = softLimitChars;
+        this.hardLimitChars = hardLimitChars;
+        this.overflowPolicy = SseOutboundQueue.OverflowPolicy.valueOf(overflow.toUpperCase().replace('-', '_'));
+    }
+
+    public SseOutboundQueue open(SseEmitter emitter) {
+        return new SseOutboundQueue(emitter, sseOutboundWriter, softLimitChars, hardLimitChars, overflowPolicy);
+    }
+
+    /**
+     * 생성 스트림용 송신 큐 - 프레임 전송 시간과 요청 수신부터 연결 종료까지의 지연을 지표로 기록
+     */
+    public SseOutboundQueue open(SseEmitter emitter, GenerationType type) {
+        SseOutboundQueue outbound = open(emitter);
+        outbound.observe(generationMetrics.sseObserver(type));
+        return outbound;
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.resume_coach.component;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 생성 중인 부분 JSON 을 OutputSchemaGenerator 스키마와 대조하는 검증기.
+ * 구조(객체/배열/값 타입), 키 이름, 필수 키, 배열 길이, enum 값(category, difficulty 등)을 토큰이 도착하는 대로 확인하고,
+ * 스키마에서 벗어난 첫 지점의 이유를 돌려준다. 최상위 객체가 닫힌 뒤의 입력은 무시한다.
+ */
+public class StreamingSchemaValidator {
+
+    /** '{' 없이 이만큼 출력되면 JSON 응답이 아닌 것으로 판단 */
+    private static final int MAX_LEADING_CHARS = 256;
+
+    private final Map<String, Object> rootSchema;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final Deque<Frame> stack = new ArrayDeque<>();
+    private boolean started;
+    private int leadingChars;
+    private boolean closed;
+    @Getter
+    private String divergence;
+
+    public StreamingSchemaValidator(ObjectMapper objectMapper, Map<String, Object> rootSchema) {
+        this.rootSchema = rootSchema;
+        try {
+            this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Non-blocking JSON 파서 생성 실패", e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * 토큰을 이어서 검증
+     *
+     * @return 스키마에서 벗어났으면 그 이유 (이후 호출도 같은 이유 반환), 아니면 null
+     */
+    public String feed(String token) {
+        if (divergence != null || closed || token == null || token.isEmpty()) {
+            return divergence;
+        }
+        if (!started) {
+            int start = token.indexOf('{');
+            if (start < 0) {
+                leadingChars += token.length();
+                if (leadingChars > MAX_LEADING_CHARS) {
+                    divergence = "JSON 객체가 시작되지 않음";
+                }
+                return divergence;
+            }
+            started = true;
+            token = token.substring(start);
+        }
+        byte[] bytes = token.getBytes(StandardCharsets.UTF_8);
+        try {
+            feeder.feedInput(bytes, 0, bytes.length);
+            JsonToken next;
+            while (divergence == null && !closed
+                    && (next = parser.nextToken()) != null && next != JsonToken.NOT_AVAILABLE) {
+                handle(next);
+            }
+        } catch (JsonProcessingException e) {
+            divergence = "JSON 문법 오류: " + e.getOriginalMessage();
+        } catch (IOException e) {
+            divergence = "JSON 문법 오류: " + e.getMessage();
+        }
+        return divergence;
+    }
+
+    public boolean isDiverged() {
+        return divergence != null;
+    }
+
+    private void handle(JsonToken token) throws IOException {
+        Frame frame = stack.peek();
+        switch (token) {
+            case FIELD_NAME -> {
+                String name = parser.currentName();
+                if (!frame.properties().containsKey(name)) {
+                    diverge("알 수 없는 키: " + frame.path(name));
+                } else if (!frame.seen.add(name)) {
+                    diverge("중복 키: " + frame.path(name));
+                } else {
+                    frame.field = name;
+                }
+            }
+            case END_OBJECT -> {
+                for (String required : frame.required()) {
+                    if (!frame.seen.contains(required)) {
+                        diverge("필수 키 누락: " + frame.path(required));
+                        return;
+                    }
+                }
+                pop();
+            }
+            case END_ARRAY -> {
+                Object minItems = frame.schema.get("minItems");
+                if (minItems instanceof Number min && frame.items < min.intValue()) {
+                    diverge("배열 항목 부족: " + frame.name + " (" + frame.items + " < " + min + ")");
+                    return;
+                }
+                pop();
+            }
+            default -> value(token, frame);
+        }
+    }
+
+    private void value(JsonToken token, Frame parent) throws IOException {
+        Map<String, Object> schema;
+        String name;
+        if (parent == null) {
+            schema = rootSchema;
+            name = "$";
+        } else if (parent.isArray()) {
+            Object maxItems = parent.schema.get("maxItems");
+            if (maxItems instanceof Number max && parent.items >= max.intValue()) {
+                diverge("배열 항목 초과: " + parent.name + " (최대 " + max + ")");
+                return;
+            }
+            parent.items++;
+            schema = parent.itemSchema();
+            name = parent.name + "[" + (parent.items - 1) + "]";
+        } else {
+            schema = parent.propertySchema();
+            name = parent.path(parent.field);
+        }
+
+        String expected = (String) schema.get("type");
+        String actual = typeOf(token);
+        if (!expected.equals(actual) && !("number".equals(expected) && "integer".equals(actual))) {
+            diverge("타입 불일치: " + name + " (" + expected + " 기대, " + actual + ")");
+            return;
+        }
+        switch (token) {
+            case START_OBJECT, START_ARRAY -> stack.push(new Frame(name, schema));
+            case VALUE_STRING -> checkEnum(name, schema, parser.getText());
+            case VALUE_NUMBER_INT -> {
+                Object minimum = schema.get("minimum");
+                if (minimum instanceof Number min && parser.getLongValue() < min.longValue()) {
+                    diverge("최솟값 미만: " + name + " (" + parser.getLongValue() + ")");
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * 프롬프트가 허용하는 "기술면접|문제해결" 형태의 복합 값은 각 부분이 모두 허용 값이면 통과
+     */
+    private void checkEnum(String name, Map<String, Object> schema, String value) {
+        if (!(schema.get("enum") instanceof Collection<?> allowed)) {
+            return;
+        }
+        for (String part : value.split("\\|")) {
+            if (!allowed.contains(part.trim())) {
+                diverge("허용되지 않는 값: " + name + " = " + value);
+                return;
+            }
+        }
+    }
+
+    private void pop() {
+        stack.pop();
+        if (stack.isEmpty()) {
+            closed = true;
+        }
+    }
+
+    private void diverge(String reason) {
+        divergence = reason;
+    }
+
+    private static String typeOf(JsonToken token) {
+        return switch (token) {
+            case START_OBJECT -> "object";
+            case START_ARRAY -> "array";
+            case VALUE_STRING -> "string";
+            case VALUE_NUMBER_INT -> "integer";
+            case VALUE_NUMBER_FLOAT -> "number";
+            case VALUE_TRUE, VALUE_FALSE -> "boolean";
+            default -> "null";
+        };
+    }
+
+    private static final class Frame {
+        private final String name;
+        private final Map<String, Object> schema;
+        private final Set<String> seen = new HashSet<>();
+        private String field;
+        private int items;
+
+        private Frame(String name, Map<String, Object> schema) {
+            this.name = name;
+            this.schema = schema;
+        }
+
+        private boolean isArray() {
+            return "array".equals(schema.get("type"));
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map<String, Object> properties() {
+            return (Map<String, Object>) schema.get("properties");
+        }
+
+        @SuppressWarnings("unchecked")
+        private List<String> required() {
+            return (List<String>) schema.getOrDefault("required", List.of());
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map<String, Object> propertySchema() {
+            return (Map<String, Object>) properties().get(field);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map<String, Object> itemSchema() {
+            return (Map<String, Object>) schema.get("items");
+        }
+
+        private String path(String key) {
+            return "$".equals(name) ? key : name + "." + key;
+        }
+    }
+
+    /**
+     * 스키마 이탈로 생성을 중단함 - 리액티브 스트림에서 재시도 신호로 사용
+     */
+    @Getter
+    public static class DivergedException extends RuntimeException {
+        private final long wastedTokens;
+
+        public DivergedException(String reason, long wastedTokens) {
+            super(reason);
+            this.wastedTokens = wastedTokens;
+        }
+    }
+}
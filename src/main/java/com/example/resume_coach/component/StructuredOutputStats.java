@@ -0,0 +1,106 @@
+package com.example.resume_coach.component;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * AI 응답 바인딩 통계 - 파싱 실패율, 전체 응답 바인딩 시간, 스트리밍 조립으로 생략된 최종 파싱 시간 추정치,
+ * 최상위 JSON 완료 시 조기 중단 횟수와 절약 토큰 수, 스키마 이탈로 인한 재시도 횟수와 낭비 토큰 수
+ */
+@Component
+public class StructuredOutputStats {
+
+    private final LongAdder fullParses = new LongAdder();
+    private final LongAdder fullParseNanos = new LongAdder();
+    private final LongAdder streamedAssemblies = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder earlyStops = new LongAdder();
+    private final LongAdder tokensSaved = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder wastedTokens = new LongAdder();
+
+    /**
+     * 전체 응답을 출력 레코드로 바인딩 성공
+     */
+    public void recordFullParse(long nanos) {
+        fullParses.increment();
+        fullParseNanos.add(nanos);
+    }
+
+    /**
+     * 스트리밍 파서가 이미 바인딩된 조각으로 최종 DTO 조립 (전체 응답 재파싱 생략)
+     */
+    public void recordStreamedAssembly() {
+        streamedAssemblies.increment();
+    }
+
+    /**
+     * 바인딩 실패 또는 필수 필드 누락 - 대체(fallback) 응답 반환
+     */
+    public void recordFailure() {
+        failures.increment();
+    }
+
+    /**
+     * 최상위 JSON 이 닫혀 Ollama 생성을 done 전에 중단
+     */
+    public void recordEarlyStop(long savedTokens) {
+        earlyStops.increment();
+        tokensSaved.add(savedTokens);
+    }
+
+    /**
+     * 스트리밍 검증에서 스키마 이탈을 발견해 생성을 중단하고 다시 시작
+     */
+    public void recordRetry(long wasted) {
+        retries.increment();
+        wastedTokens.add(wasted);
+    }
+
+    public Stats stats() {
+        long parsed = fullParses.sum();
+        long streamed = streamedAssemblies.sum();
+        long failed = failures.sum();
+        long total = parsed + streamed + failed;
+        double avgParseMicros = parsed == 0 ? 0 : fullParseNanos.sum() / 1_000.0 / parsed;
+        long stops = earlyStops.sum();
+        long saved = tokensSaved.sum();
+        return new Stats(
+                total,
+                parsed,
+                streamed,
+                failed,
+                total == 0 ? 0 : (double) failed / total,
+                avgParseMicros,
+                total == 0 ? 0 : avgParseMicros * streamed / total,
+                stops,
+                saved,
+                stops == 0 ? 0 : (double) saved / stops,
+                retries.sum(),
+                wastedTokens.sum()
+        );
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Stats {
+        private final long requests;
+        private final long fullParses;
+        private final long streamedAssemblies;
+        private final long failures;
+        private final double failureRate;
+        private final double avgFullParseMicros;
+        /** 스트리밍 조립으로 생략된 최종 파싱 시간의 요청당 평균 (avgFullParseMicros 기준 추정) */
+        private final double savedMicrosPerRequest;
+        private final long earlyStops;
+        /** 조기 중단으로 아낀 최대 토큰 수 합계 (num_predict 잔여분 기준) */
+        private final long tokensSaved;
+        private final double avgTokensSavedPerStop;
+        private final long retries;
+        /** 중단된 시도에서 생성된 토큰 수 합계 */
+        private final long wastedTokens;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.resume_coach.component;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 엔드포인트별 토큰 배치 정책 - 델타 스트림(interactive)은 짧은 지연, 최종 결과만 받는 스트림(batch)은 큰 배치
+ */
+@Component
+public class TokenFlushPolicies {
+
+    private final TokenFlushPolicy interactive;
+    private final TokenFlushPolicy batch;
+
+    public TokenFlushPolicies(
+            @Value("${ollama.stream.flush.interactive.max-delay-ms:50}") long interactiveDelayMs,
+            @Value("${ollama.stream.flush.interactive.max-bytes:256}") int interactiveMaxBytes,
+            @Value("${ollama.stream.flush.interactive.max-tokens:16}") int interactiveMaxTokens,
+            @Value("${ollama.stream.flush.interactive.flush-on-boundary:true}") boolean interactiveBoundary,
+            @Value("${ollama.stream.flush.batch.max-delay-ms:1000}") long batchDelayMs,
+            @Value("${ollama.stream.flush.batch.max-bytes:16384}") int batchMaxBytes,
+            @Value("${ollama.stream.flush.batch.max-tokens:512}") int batchMaxTokens,
+            @Value("${ollama.stream.flush.batch.flush-on-boundary:false}") boolean batchBoundary
+    ) {
+        this.interactive = new TokenFlushPolicy(interactiveDelayMs, interactiveMaxBytes, interactiveMaxTokens, interactiveBoundary);
+        this.batch = new TokenFlushPolicy(batchDelayMs, batchMaxBytes, batchMaxTokens, batchBoundary);
+    }
+
+    public TokenFlushPolicy interactive() {
+        return interactive;
+    }
+
+    public TokenFlushPolicy batch() {
+        return batch;
+    }
+
+    public TokenFlushPolicy forDeltas(boolean emitDeltas) {
+        return emitDeltas ? interactive : batch;
+    }
+}
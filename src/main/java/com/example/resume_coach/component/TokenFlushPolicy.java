@@ -0,0 +1,57 @@
+package com.example.resume_coach.component;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.function.Predicate;
+
+/**
+ * 토큰 배치 전송 정책 - 지연/바이트/토큰 수 한도와 문장 경계 전송 여부
+ */
+@Getter
+@RequiredArgsConstructor
+public class TokenFlushPolicy {
+    private static final String BOUNDARY_CHARS = ".!?,\n}]。";
+
+    private final long maxDelayMs;
+    private final int maxBytes;
+    private final int maxTokens;
+    private final boolean flushOnBoundary;
+
+    /**
+     * 크기/경계 조건으로 즉시 전송해야 하는지 (지연 한도는 스케줄러가 처리)
+     */
+    public boolean shouldFlush(int pendingBytes, int pendingTokens, char lastChar) {
+        if (pendingBytes >= maxBytes || pendingTokens >= maxTokens) {
+            return true;
+        }
+        return flushOnBoundary && BOUNDARY_CHARS.indexOf(lastChar) >= 0;
+    }
+
+    /**
+     * Flux.bufferUntil 용 배치 경계 - 누적 바이트/토큰 수와 마지막 문자로 shouldFlush 를 평가한다.
+     * 상태를 가지므로 배치 흐름(윈도)마다 새로 만든다
+     */
+    public Predicate<String> batchBoundary() {
+        int[] pending = new int[2]; // 바이트, 토큰
+        return token -> {
+            for (int i = 0; i < token.length(); i++) {
+                pending[0] += utf8Length(token.charAt(i));
+            }
+            pending[1]++;
+            char lastChar = token.isEmpty() ? 0 : token.charAt(token.length() - 1);
+            if (!shouldFlush(pending[0], pending[1], lastChar)) {
+                return false;
+            }
+            pending[0] = 0;
+            pending[1] = 0;
+            return true;
+        };
+    }
+
+    static int utf8Length(char c) {
+        if (c < 0x80) return 1;
+        if (c < 0x800 || Character.isSurrogate(c)) return 2; // 서로게이트 쌍은 합쳐서 4바이트
+        return 3;
+    }
+}
@@ -5,26 +5,68 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.reactive.function.client.WebClient;
 
 import java.net.http.HttpClient;
 import java.time.Duration;
+import java.util.concurrent.Executors;
 
 
 @Configuration
 public class OllamaConfig {
 
     @Getter
-    @Value("${ollama.model")
+    @Value("${ollama.model}")
     private String ollamaModel;
     @Value("${ollama.api.timeout.connect:30}")
     private int connectTimeoutSeconds;
+    @Value("${ollama.api.timeout.read:1800}")
+    private int readTimeoutSeconds;
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
 
     @Bean
     @ConditionalOnProperty(name = "ai.provider", havingValue = "ollama", matchIfMissing = true)
     public HttpClient ollamaHttpClient() {
-        return HttpClient.newBuilder()
+        HttpClient.Builder builder = HttpClient.newBuilder()
                 .connectTimeout(Duration.ofSeconds(connectTimeoutSeconds))
-                .version(HttpClient.Version.HTTP_1_1)
+                .version(HttpClient.Version.HTTP_1_1);
+        if (virtualThreads) {
+            // 응답 수신 콜백(토큰 처리, SSE 전송)을 가상 스레드에서 실행
+            builder.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+        return builder.build();
+    }
+
+    /**
+     * 리액티브 스트리밍 엔드포인트용 WebClient (Reactor Netty 이벤트 루프, 요청 수만큼만 소켓에서 읽음)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "ai.provider", havingValue = "ollama", matchIfMissing = true)
+    public WebClient ollamaWebClient(
+            WebClient.Builder builder,
+            @Value("${ollama.api.base-url}") String baseUrl
+    ) {
+        reactor.netty.http.client.HttpClient nettyClient = reactor.netty.http.client.HttpClient.create()
+                .option(io.netty.channel.ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutSeconds * 1000)
+                .responseTimeout(Duration.ofSeconds(readTimeoutSeconds));
+        return builder
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(nettyClient))
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Ollama 백엔드 능동 probe 스케줄러 (probe 요청 자체는 비동기)
+     */
+    @Bean
+    public ThreadPoolTaskScheduler ollamaProbeScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("ollama-probe-");
+        scheduler.initialize();
+        return scheduler;
+    }
+}
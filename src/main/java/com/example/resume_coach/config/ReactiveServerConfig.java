@@ -0,0 +1,63 @@
+package com.example.resume_coach.config;
+
+import com.example.resume_coach.controller.ReactiveResumeController;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * 리액티브 SSE 엔드포인트(/api/reactive/**)를 Tomcat 과 분리된 Reactor Netty 서버에서 실행.
+ * web 과 webflux 스타터가 함께 있으면 Boot 는 MVC 를 선택해 Flux 반환값도 서블릿 스레드(ReactiveTypeHandler)로 쓰므로,
+ * 이벤트 루프와 소켓 쓰기 가능 여부에 따른 백프레셔를 쓰려면 별도 포트가 필요하다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sse.reactive.server.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class ReactiveServerConfig {
+
+    @Value("${sse.reactive.server.port:9071}")
+    private int port;
+
+    @Bean
+    public SmartLifecycle reactiveSseServer(ReactiveResumeController controller, ObjectMapper objectMapper) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper)))
+                .build();
+        ReactorHttpHandlerAdapter adapter = new ReactorHttpHandlerAdapter(
+                RouterFunctions.toHttpHandler(controller.routes(), strategies));
+
+        return new SmartLifecycle() {
+            private volatile DisposableServer server;
+
+            @Override
+            public void start() {
+                server = HttpServer.create().port(port).handle(adapter).bindNow();
+                log.info("리액티브 SSE 서버 시작 (Reactor Netty): 포트 = {}", server.port());
+            }
+
+            @Override
+            public void stop() {
+                DisposableServer running = server;
+                server = null;
+                if (running != null) {
+                    running.disposeNow();
+                }
+            }
+
+            @Override
+            public boolean isRunning() {
+                return server != null;
+            }
+        };
+    }
+}
@@ -1,17 +1,70 @@
 package com.example.resume_coach.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
+import java.util.concurrent.Executor;
+
 @Configuration
 public class SSEConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    /**
+     * 하트비트 타이밍 휠 틱 전용 (전송은 하지 않음)
+     */
     @Bean
     public ThreadPoolTaskScheduler sseKeepAliveScheduler() {
         ThreadPoolTaskScheduler pool = new ThreadPoolTaskScheduler();
-        pool.setPoolSize(4);
+        pool.setPoolSize(1);
         pool.setThreadNamePrefix("sse-keepalive-");
         pool.initialize();
         return pool;
     }
+
+    /**
+     * SSE 연결별 송신 큐의 writer 실행기 - 느린 클라이언트의 블로킹 전송이 Ollama 수신 스레드를 막지 않도록 분리
+     */
+    @Bean
+    public Executor sseOutboundWriter() {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("sse-writer-vt-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(16);
+        executor.setMaxPoolSize(16);
+        executor.setQueueCapacity(20_000); // 연결당 최대 1건의 drain 작업
+        executor.setThreadNamePrefix("sse-writer-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Ollama 토큰 배치를 지연 한도에 맞춰 전송하는 공유 스케줄러
+     */
+    @Bean
+    public TaskScheduler tokenFlushScheduler() {
+        if (virtualThreads) {
+            // 스케줄링은 단일 스레드, 전송 작업은 가상 스레드에서 실행
+            SimpleAsyncTaskScheduler scheduler = new SimpleAsyncTaskScheduler();
+            scheduler.setThreadNamePrefix("token-flush-vt-");
+            scheduler.setVirtualThreads(true);
+            return scheduler;
+        }
+        ThreadPoolTaskScheduler pool = new ThreadPoolTaskScheduler();
+        pool.setPoolSize(2);
+        pool.setThreadNamePrefix("token-flush-");
+        pool.setRemoveOnCancelPolicy(true);
+        pool.initialize();
+        return pool;
+    }
 }
\ No newline at end of file
@@ -1,6 +1,17 @@
 package com.example.resume_coach.controller;
 
+import com.example.resume_coach.component.GenerationResultCache;
+import com.example.resume_coach.component.ModelResidencyManager;
+import com.example.resume_coach.component.OllamaAdmissionController;
 import com.example.resume_coach.component.OllamaApiClient;
+import com.example.resume_coach.component.OllamaBackend;
+import com.example.resume_coach.component.OllamaBackendPool;
+import com.example.resume_coach.component.OllamaHedgePolicy;
+import com.example.resume_coach.component.PromptEvalStats;
+import com.example.resume_coach.component.PromptTemplate;
+import com.example.resume_coach.component.PromptTemplateLoader;
+import com.example.resume_coach.component.SseOutboundQueues;
+import com.example.resume_coach.component.StructuredOutputStats;
 import com.example.resume_coach.handler.SSEOllamaStreamHandler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -8,6 +19,8 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -17,15 +30,88 @@ import java.util.Map;
 public class OllamaHealthController {
 
     private final OllamaApiClient ollamaApiClient;
+    private final GenerationResultCache generationResultCache;
+    private final SseOutboundQueues sseOutboundQueues;
+    private final OllamaBackendPool ollamaBackendPool;
+    private final OllamaHedgePolicy hedgePolicy;
+    private final ModelResidencyManager residencyManager;
+    private final OllamaAdmissionController admissionController;
+    private final StructuredOutputStats structuredOutputStats;
+    private final PromptEvalStats promptEvalStats;
+    private final PromptTemplateLoader promptTemplateLoader;
 
+    /**
+     * 실제 생성(num_predict 100)을 하는 수동 확인용 - 헬스체크에는 /actuator/health(캐시된 단계별 결과)를 사용
+     */
     @GetMapping(path = "/greeting", produces = "text/event-stream;charset=UTF-8")
     public SseEmitter testOllamaGeneration() {
         SseEmitter emitter = new SseEmitter();
         ollamaApiClient.callOllamaStream(
                 "안녕하세요! 한국어로 2줄 이내의 간단한 자기소개를 해주세요.",
                 Map.of("num_predict", 100, "temperature", 0.2),
-                new SSEOllamaStreamHandler(emitter, null, false, null)
+                new SSEOllamaStreamHandler(sseOutboundQueues.open(emitter), null, false)
         );
         return emitter;
     }
-}
\ No newline at end of file
+
+    @GetMapping("/cache")
+    public GenerationResultCache.Stats cacheStats() {
+        return generationResultCache.stats();
+    }
+
+    /**
+     * 백엔드별 진행 중/대기 추정 스트림 수, TTFT 평균, 퇴출 상태
+     */
+    @GetMapping("/backends")
+    public List<OllamaBackend.Stats> backendStats() {
+        return ollamaBackendPool.stats();
+    }
+
+    /**
+     * 헤지 요청 수, 헤지 요청이 이긴 수, 예산/백엔드 부족으로 건너뛴 수와 현재 TTFT p95
+     */
+    @GetMapping("/hedge")
+    public OllamaHedgePolicy.Stats hedgeStats() {
+        return hedgePolicy.stats();
+    }
+
+    /**
+     * 백엔드별 모델 상주 여부, GPU 메모리 크기, keep_alive 만료 시각 (/api/ps), 워밍업 중 여부
+     */
+    @GetMapping("/residency")
+    public List<ModelResidencyManager.Residency> residency() {
+        return residencyManager.stats();
+    }
+
+    /**
+     * 동시 생성 한도, 사용 중 슬롯, 대기열 길이와 거절/시간 초과 수
+     */
+    @GetMapping("/admission")
+    public OllamaAdmissionController.Stats admissionStats() {
+        return admissionController.stats();
+    }
+
+    /**
+     * AI 응답 바인딩 실패율과 요청당 파싱 시간 (스트리밍 조립으로 생략된 시간 추정 포함)
+     */
+    @GetMapping("/structured-output")
+    public StructuredOutputStats.Stats structuredOutputStats() {
+        return structuredOutputStats.stats();
+    }
+
+    /**
+     * 직무 카탈로그 축소(pruned)/전체(full) 요청별 평균 프롬프트 토큰 수와 prefill 시간
+     */
+    @GetMapping("/prompt-eval")
+    public Map<String, PromptEvalStats.Stats> promptEvalStats() {
+        return promptEvalStats.stats();
+    }
+
+    /**
+     * 컴파일된 프롬프트 템플릿 목록 (버전 = 이름@내용 해시, 로드 위치, 자리표시자)
+     */
+    @GetMapping("/prompts")
+    public Collection<PromptTemplate> prompts() {
+        return promptTemplateLoader.loadedTemplates();
+    }
+}
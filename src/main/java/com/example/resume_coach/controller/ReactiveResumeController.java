@@ -0,0 +1,73 @@
+package com.example.resume_coach.controller;
+
+
+import com.example.resume_coach.component.OllamaAdmissionController;
+import com.example.resume_coach.model.GenerationType;
+import com.example.resume_coach.service.ReactiveResumeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+
+/**
+ * SseEmitter 엔드포인트와 같은 이벤트(question/step, 델타, queue, retry, final, error)를 Flux&lt;ServerSentEvent&gt; 로 제공.
+ * MVC 가 아니라 ReactiveServerConfig 의 Reactor Netty 서버(sse.reactive.server.port)에서 함수형 라우트로 실행된다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveResumeController {
+
+    private static final MediaType EVENT_STREAM_UTF8 = MediaType.parseMediaType("text/event-stream;charset=UTF-8");
+
+    private final ReactiveResumeService reactiveResumeService;
+    private final OllamaAdmissionController admissionController;
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .GET("/api/reactive/resumes/{id}/mock-interview", request -> stream(request, GenerationType.INTERVIEW))
+                .GET("/api/reactive/resumes/{id}/learning-path", request -> stream(request, GenerationType.LEARNING))
+                .build();
+    }
+
+    /**
+     * 포화 상태에서 새 생성 슬롯이 필요한 요청은 429. 슬롯 판단의 이력서 조회(JPA)는 이벤트 루프 밖에서 실행
+     */
+    private Mono<ServerResponse> stream(ServerRequest request, GenerationType type) {
+        String id = request.pathVariable("id");
+        boolean deltas = request.queryParam("deltas").map(Boolean::parseBoolean).orElse(false);
+        Mono<Boolean> rejected = admissionController.isSaturated()
+                ? Mono.fromCallable(() -> reactiveResumeService.needsGenerationSlot(id, type))
+                        .subscribeOn(Schedulers.boundedElastic())
+                : Mono.just(false);
+        return rejected.flatMap(reject -> {
+            if (reject) {
+                return tooManyRequests();
+            }
+            Flux<ServerSentEvent<Object>> events = type == GenerationType.INTERVIEW
+                    ? reactiveResumeService.streamMockInterview(id, deltas)
+                    : reactiveResumeService.streamLearningPath(id, deltas);
+            return ServerResponse.ok()
+                    .contentType(EVENT_STREAM_UTF8)
+                    .body(BodyInserters.fromServerSentEvents(events));
+        });
+    }
+
+    private Mono<ServerResponse> tooManyRequests() {
+        return ServerResponse.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(admissionController.retryAfterSeconds()))
+                .build();
+    }
+}
@@ -1,7 +1,11 @@
 package com.example.resume_coach.controller;
 
 
+import com.example.resume_coach.component.OllamaAdmissionController;
 import com.example.resume_coach.component.SSEHeartBeatManager;
+import com.example.resume_coach.component.SseOutboundQueues;
+import com.example.resume_coach.handler.SseOutboundQueue;
+import com.example.resume_coach.model.GenerationType;
 import com.example.resume_coach.model.ResumeDto;
 import com.example.resume_coach.service.ResumeService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,6 +18,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -33,6 +38,8 @@ public class ResumeController {
 
     private final ResumeService resumeService;
     private final SSEHeartBeatManager sseHeartbeatManager;
+    private final SseOutboundQueues sseOutboundQueues;
+    private final OllamaAdmissionController admissionController;
     /**
      * 이력서 핵심 정보 입력 API
      */
@@ -146,16 +153,22 @@ public class ResumeController {
                     }
             """))),
             @ApiResponse(responseCode = "404", description = "이력서를 찾을 수 없음"),
+            @ApiResponse(responseCode = "429", description = "생성 대기열 초과 (Retry-After 헤더 참고)"),
             @ApiResponse(responseCode = "500", description = "AI 서비스 오류")})
     @GetMapping(path = "/resumes/{id}/mock-interview", produces =  "text/event-stream;charset=UTF-8")
-    public SseEmitter streamMockInterview(
+    public ResponseEntity<SseEmitter> streamMockInterview(
             @PathVariable String id,
-            @RequestParam(defaultValue = "false") boolean deltas) throws IOException {
+            @RequestParam(defaultValue = "false") boolean deltas,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) throws IOException {
+        if (admissionController.isSaturated() && resumeService.needsGenerationSlot(id, GenerationType.INTERVIEW, lastEventId)) {
+            return tooManyRequests();
+        }
         SseEmitter emitter = new SseEmitter();
         emitter.send(SseEmitter.event().name("keepalive").comment("start"));
-        sseHeartbeatManager.register(emitter);
-        resumeService.generateMockInterviewStream(id, deltas, emitter, sseHeartbeatManager);
-        return emitter;
+        SseOutboundQueue outbound = sseOutboundQueues.open(emitter, GenerationType.INTERVIEW);
+        sseHeartbeatManager.register(outbound);
+        resumeService.generateMockInterviewStream(id, deltas, lastEventId, outbound);
+        return ResponseEntity.ok(emitter);
     }
 
     @Operation(summary = "개인 맞춤형 학습 경로 추천 ⭐", description = "이력서 정보를 분석하여 구직자의 합격률을 높이고 역량을 강화할 수 있는 " + "개인 맞춤형 학습 경로를 단계별로 제안합니다. 기술 스택 심화, 프로젝트 경험, " + "커뮤니케이션 스킬 강화 등 구체적인 방안을 포함합니다.")
@@ -183,15 +196,32 @@ public class ResumeController {
                     }
             """))),
             @ApiResponse(responseCode = "404", description = "이력서를 찾을 수 없음"),
+            @ApiResponse(responseCode = "429", description = "생성 대기열 초과 (Retry-After 헤더 참고)"),
             @ApiResponse(responseCode = "500", description = "AI 서비스 오류")})
     @GetMapping(path = "/resumes/{id}/learning-path", produces = "text/event-stream;charset=UTF-8")
-    public SseEmitter streamLearningPath(
+    public ResponseEntity<SseEmitter> streamLearningPath(
             @PathVariable String id,
-            @RequestParam(defaultValue = "false") boolean deltas) throws IOException {
+            @RequestParam(defaultValue = "false") boolean deltas,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) throws IOException {
+        if (admissionController.isSaturated() && resumeService.needsGenerationSlot(id, GenerationType.LEARNING, lastEventId)) {
+            return tooManyRequests();
+        }
         SseEmitter emitter = new SseEmitter();
         emitter.send(SseEmitter.event().name("keepalive").comment("start"));
-        sseHeartbeatManager.register(emitter);
-        resumeService.generateLearningPathStream(id, deltas, emitter, sseHeartbeatManager);
-        return emitter;
+        SseOutboundQueue outbound = sseOutboundQueues.open(emitter, GenerationType.LEARNING);
+        sseHeartbeatManager.register(outbound);
+        resumeService.generateLearningPathStream(id, deltas, lastEventId, outbound);
+        return ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * 생성 대기열이 가득 찬 경우 - 대기열에 쌓지 않고 바로 429 와 Retry-After 반환.
+     * 캐시 적중, 실행 중인 생성 합류, Last-Event-ID 재합류처럼 슬롯이 필요 없는 요청은 포화 상태에서도 받는다
+     */
+    private ResponseEntity<SseEmitter> tooManyRequests() {
+        log.warn("생성 대기열 초과 - 429 반환");
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(admissionController.retryAfterSeconds()))
+                .build();
     }
 }
\ No newline at end of file
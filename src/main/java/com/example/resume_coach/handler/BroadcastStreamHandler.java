@@ -0,0 +1,388 @@
+package com.example.resume_coach.handler;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 하나의 Ollama 스트림을 여러 구독자(SSE 연결)에게 팬아웃하는 StreamHandler.
+ * 이미 수신한 토큰 청크를 제한된 링 버퍼에 보관해 두었다가 늦게 합류하거나 재연결한 구독자에게 먼저 재전송한 뒤
+ * 실시간 토큰을 이어서 전달한다. 청크 순번(1부터)이 SSE 이벤트 id 의 기준이 된다.
+ * 링 버퍼에서 밀려난 청크는 이벤트로 재전송할 수 없으므로 원문만 이어 붙여 두고, 구독자의 파서 상태 복원(onCatchUp)에 쓴다.
+ * 스키마 이탈로 재시도하면 재시도 표시도 같은 순서로 보관해, 재전송 시 구독자가 같은 지점에서 파서 상태를 초기화하게 한다.
+ * <p>
+ * 잠금 안에서는 상태 갱신과 전달 대상 복사만 하고 구독자 호출은 잠금 밖에서 한다 - 토큰 배치는 공유 flush 스케줄러에서 오므로
+ * 구독자 하나의 처리나 재전송이 다른 생성의 flush 를 막지 않게 하기 위함이다. 재전송 중인 구독자에게는 그동안 들어온 항목을
+ * 따로 모아 두었다가 이어서 전달한 뒤 실시간 대상으로 옮긴다. 실시간 전달 순서는 업스트림이 호출을 직렬화한다는 전제에 기댄다
+ * (OllamaStreamSubscriber 의 flush 는 구독자 잠금 안에서 호출).
+ */
+@Slf4j
+public class BroadcastStreamHandler implements StreamHandler {
+    @Getter
+    private final String generationId;
+    private final int maxBufferedChunks;
+    private static final StreamHandler[] NONE = new StreamHandler[0];
+
+    private StreamHandler[] live = NONE; // 잠금 안에서 교체 (copy-on-write)
+    private final Map<StreamHandler, List<Object>> joining = new IdentityHashMap<>(); // 재전송 중 → 그동안 들어온 항목
+    private final ArrayDeque<Object> buffered = new ArrayDeque<>(); // String 토큰 또는 RetryMarker
+    private final List<Runnable> finishListeners = new ArrayList<>();
+    private OllamaResponseHandler upstream;
+    private Runnable idleListener;
+    private Throwable error;
+    private final StringBuilder evictedText = new StringBuilder(); // 밀려난 토큰 원문 (마지막 재시도 이후)
+    private long evictedTokens;
+    private long receivedTokens;
+    private boolean completed;
+    private boolean cancelled;
+    private boolean finished;
+
+    public BroadcastStreamHandler(String generationId, int maxBufferedChunks) {
+        this.generationId = generationId;
+        this.maxBufferedChunks = maxBufferedChunks;
+    }
+
+    /**
+     * 스트림 종료(완료 또는 취소) 시 한 번 실행할 작업 등록
+     */
+    public void addFinishListener(Runnable listener) {
+        synchronized (this) {
+            if (!finished) {
+                finishListeners.add(listener);
+                return;
+            }
+        }
+        listener.run();
+    }
+
+    /**
+     * 마지막 구독자가 떠났을 때 즉시 취소하는 대신 실행할 작업 (재연결 대기 후 cancelIfIdle 호출)
+     */
+    public synchronized void setIdleListener(Runnable idleListener) {
+        this.idleListener = idleListener;
+    }
+
+    /**
+     * 업스트림 Ollama 스트림 연결. 모든 구독자가 이미 떠났다면 즉시 취소
+     */
+    public void attachUpstream(OllamaResponseHandler upstream) {
+        boolean cancelNow;
+        synchronized (this) {
+            this.upstream = upstream;
+            cancelNow = cancelled;
+        }
+        if (cancelNow) {
+            upstream.cancel();
+        }
+    }
+
+    /**
+     * 새 구독자 합류. 밀려난 청크가 없으면 버퍼링된 토큰을 모두 재전송하고,
+     * 있으면 지금까지의 원문을 상태로만 넘긴 뒤(이벤트 재전송 없음) 실시간 토큰부터 전달한다.
+     *
+     * @return 이미 취소되었으면 false
+     */
+    public boolean subscribe(StreamHandler subscriber) {
+        Object[] replay;
+        String catchUpText = null;
+        long catchUpChunks = 0;
+        synchronized (this) {
+            if (cancelled) {
+                return false;
+            }
+            if (evictedTokens == 0) {
+                replay = buffered.toArray();
+            } else {
+                StringBuilder text = new StringBuilder(evictedText);
+                for (Object entry : buffered) {
+                    if (entry instanceof RetryMarker) {
+                        text.setLength(0);
+                    } else {
+                        text.append((String) entry);
+                    }
+                }
+                replay = new Object[0];
+                catchUpText = text.toString();
+                catchUpChunks = receivedTokens;
+            }
+            joining.put(subscriber, new ArrayList<>());
+        }
+        subscriber.onGeneration(generationId);
+        if (catchUpText != null) {
+            subscriber.onCatchUp(catchUpChunks, catchUpText);
+        }
+        deliver(subscriber, replay);
+        join(subscriber);
+        return true;
+    }
+
+    /**
+     * Last-Event-ID 재연결 - afterSeq 이후 청크를 재전송한 뒤 실시간 토큰 수신.
+     * 구독자가 afterSeq 까지의 이벤트를 직접 걸러내므로 밀려난 구간은 원문 상태만 넘긴다.
+     *
+     * @return 이미 취소되었거나 재연결 지점이 링 버퍼에서 밀려난 구간이면 false
+     */
+    public boolean resume(StreamHandler subscriber, long afterSeq) {
+        Object[] replay;
+        String catchUpText;
+        long catchUpChunks;
+        synchronized (this) {
+            if (cancelled || afterSeq < evictedTokens) {
+                return false;
+            }
+            replay = buffered.toArray();
+            catchUpText = evictedText.toString();
+            catchUpChunks = evictedTokens;
+            joining.put(subscriber, new ArrayList<>());
+        }
+        subscriber.onGeneration(generationId);
+        if (catchUpChunks > 0) {
+            subscriber.onCatchUp(catchUpChunks, catchUpText);
+        }
+        deliver(subscriber, replay);
+        join(subscriber);
+        return true;
+    }
+
+    /**
+     * 재전송 동안 쌓인 항목을 비울 때까지 전달한 뒤 실시간 대상으로 옮긴다 (이미 끝난 스트림이면 종료 신호 전달)
+     */
+    private void join(StreamHandler subscriber) {
+        while (true) {
+            Object[] backlog;
+            Throwable failure;
+            boolean done;
+            synchronized (this) {
+                List<Object> pending = joining.get(subscriber);
+                if (pending == null) {
+                    return; // 재전송 중에 구독 해제
+                }
+                if (!pending.isEmpty()) {
+                    backlog = pending.toArray();
+                    pending.clear();
+                    failure = null;
+                    done = false;
+                } else {
+                    backlog = null;
+                    joining.remove(subscriber);
+                    if (!completed && !cancelled) {
+                        live = append(live, subscriber);
+                    }
+                    failure = error;
+                    done = completed;
+                }
+            }
+            if (backlog != null) {
+                deliver(subscriber, backlog);
+                continue;
+            }
+            if (failure != null) {
+                subscriber.onError(failure);
+            }
+            if (done) {
+                subscriber.onComplete();
+            }
+            return;
+        }
+    }
+
+    private static void deliver(StreamHandler subscriber, Object[] entries) {
+        for (Object entry : entries) {
+            if (entry instanceof RetryMarker retry) {
+                subscriber.onRetry(retry.attempt(), retry.reason(), retry.wastedTokens());
+            } else {
+                subscriber.onToken((String) entry);
+            }
+        }
+    }
+
+    /**
+     * 구독자 제거 - 마지막 구독자가 떠나면 idle 리스너에 맡기거나(재연결 대기) 업스트림 즉시 취소
+     */
+    public void unsubscribe(StreamHandler subscriber) {
+        Runnable onIdle;
+        synchronized (this) {
+            boolean removed = joining.remove(subscriber) != null | removeLive(subscriber);
+            if (!removed || hasSubscribers() || completed || cancelled) {
+                return;
+            }
+            onIdle = idleListener;
+        }
+        if (onIdle != null) {
+            onIdle.run();
+        } else {
+            cancelIfIdle();
+        }
+    }
+
+    /**
+     * 여전히 구독자가 없으면 업스트림 취소
+     */
+    public void cancelIfIdle() {
+        OllamaResponseHandler toCancel;
+        synchronized (this) {
+            if (hasSubscribers() || completed || cancelled) {
+                return;
+            }
+            cancelled = true;
+            toCancel = upstream;
+        }
+        log.info("모든 구독자가 종료되어 Ollama 스트림을 취소합니다: 생성 ID = {}", generationId);
+        finish();
+        if (toCancel != null) {
+            toCancel.cancel();
+        }
+    }
+
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    public synchronized int subscriberCount() {
+        return live.length + joining.size();
+    }
+
+    private boolean hasSubscribers() {
+        return live.length > 0 || !joining.isEmpty();
+    }
+
+    private boolean removeLive(StreamHandler subscriber) {
+        for (int i = 0; i < live.length; i++) {
+            if (live[i] == subscriber) {
+                StreamHandler[] next = new StreamHandler[live.length - 1];
+                System.arraycopy(live, 0, next, 0, i);
+                System.arraycopy(live, i + 1, next, i, live.length - i - 1);
+                live = next;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static StreamHandler[] append(StreamHandler[] handlers, StreamHandler handler) {
+        StreamHandler[] next = Arrays.copyOf(handlers, handlers.length + 1);
+        next[handlers.length] = handler;
+        return next;
+    }
+
+    @Override
+    public void onToken(String token) {
+        StreamHandler[] targets;
+        synchronized (this) {
+            if (completed || cancelled) {
+                return;
+            }
+            receivedTokens++;
+            buffer(token);
+            targets = live;
+        }
+        for (StreamHandler subscriber : targets) {
+            subscriber.onToken(token);
+        }
+    }
+
+    @Override
+    public void onRetry(int attempt, String reason, long wastedTokens) {
+        StreamHandler[] targets;
+        synchronized (this) {
+            if (completed || cancelled) {
+                return;
+            }
+            buffer(new RetryMarker(attempt, reason, wastedTokens));
+            targets = live;
+        }
+        for (StreamHandler subscriber : targets) {
+            subscriber.onRetry(attempt, reason, wastedTokens);
+        }
+    }
+
+    /**
+     * 링 버퍼에 보관하고 재전송 중인 구독자의 밀린 항목에도 추가 (잠금 안에서 호출)
+     */
+    private void buffer(Object entry) {
+        for (List<Object> pending : joining.values()) {
+            pending.add(entry);
+        }
+        buffered.add(entry);
+        if (buffered.size() > maxBufferedChunks) {
+            Object evicted = buffered.poll();
+            if (evicted instanceof RetryMarker) {
+                evictedText.setLength(0);
+            } else {
+                evictedText.append((String) evicted);
+                evictedTokens++;
+            }
+        }
+    }
+
+    @Override
+    public void onQueued(int position, long estimatedWaitSeconds) {
+        StreamHandler[] targets;
+        synchronized (this) {
+            targets = live;
+        }
+        for (StreamHandler subscriber : targets) {
+            subscriber.onQueued(position, estimatedWaitSeconds);
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        StreamHandler[] targets;
+        synchronized (this) {
+            if (completed || cancelled) {
+                return;
+            }
+            error = t;
+            targets = live;
+        }
+        for (StreamHandler subscriber : targets) {
+            subscriber.onError(t);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        StreamHandler[] targets;
+        synchronized (this) {
+            if (completed || cancelled) {
+                return;
+            }
+            completed = true;
+            targets = live;
+            live = NONE;
+        }
+        for (StreamHandler subscriber : targets) {
+            subscriber.onComplete();
+        }
+        finish();
+    }
+
+    private void finish() {
+        List<Runnable> listeners;
+        synchronized (this) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            listeners = new ArrayList<>(finishListeners);
+            finishListeners.clear();
+        }
+        for (Runnable listener : listeners) {
+            try {
+                listener.run();
+            } catch (Exception e) {
+                log.warn("스트림 종료 처리 실패", e);
+            }
+        }
+    }
+
+    private record RetryMarker(int attempt, String reason, long wastedTokens) {
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.resume_coach.handler;
+
+import com.example.resume_coach.component.OllamaStreamStats;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 원래 요청과 (필요하면) 다른 백엔드로 보낸 헤지 요청 중 먼저 토큰을 보낸 스트림만 downstream 으로 전달하는 OllamaResponseHandler.
+ * 승자가 정해지면 다른 스트림은 즉시 취소해 GPU 슬롯을 돌려준다. 토큰 전에 한쪽이 실패하면 남은 쪽을 기다리고,
+ * 둘 다 끝났을 때만 마지막 오류/완료를 전달한다.
+ * 클라이언트 연결 종료 등으로 전체가 취소되면 종료 리스너는 현재 스트림의 통계로 한 번 호출된다 (진 쪽의 종료만 숨김).
+ */
+@Slf4j
+public class HedgedResponseHandler extends OllamaResponseHandler {
+
+    private final StreamHandler downstream;
+    private final Consumer<Boolean> outcomeListener;
+    private final List<BiConsumer<OllamaStreamStats, Throwable>> terminationListeners = new CopyOnWriteArrayList<>();
+    private volatile Leg primary;
+    private Leg hedge;
+    private Leg winner;
+    private boolean cancelled;
+    // 전체 취소 시 종료 리스너에 통계를 넘길 스트림 (승자, 없으면 진행 중인 쪽)
+    private Leg cancelledLeg;
+    // 승자의 종료 (this 로 동기화)
+    private boolean terminated;
+    private OllamaStreamStats terminalStats;
+    private Throwable terminalError;
+
+    /**
+     * @param outcomeListener 헤지 요청을 보낸 경우 승자가 정해지면 호출 (true 면 헤지 요청이 이김)
+     */
+    public HedgedResponseHandler(StreamHandler downstream, Consumer<Boolean> outcomeListener) {
+        super(CompletableFuture.completedFuture(null), null);
+        this.downstream = downstream;
+        this.outcomeListener = outcomeListener;
+    }
+
+    public HedgedResponseHandler start(Function<StreamHandler, OllamaResponseHandler> starter) {
+        Leg leg = new Leg(false);
+        synchronized (this) {
+            primary = leg;
+        }
+        leg.attach(starter.apply(leg));
+        return this;
+    }
+
+    /**
+     * 아직 토큰이 없고 원래 요청이 진행 중이면 admit(예산) 확인 후 헤지 요청 시작
+     *
+     * @return 헤지 요청을 시작했으면 true
+     */
+    public boolean hedge(BooleanSupplier admit, Function<StreamHandler, OllamaResponseHandler> starter) {
+        if (!needsHedge()) {
+            return false;
+        }
+        Leg leg;
+        synchronized (this) {
+            if (!awaitingFirstToken() || !admit.getAsBoolean()) {
+                return false;
+            }
+            leg = new Leg(true);
+            hedge = leg;
+        }
+        log.info("첫 토큰 지연 - 다른 백엔드로 헤지 요청 시작");
+        leg.attach(starter.apply(leg));
+        return true;
+    }
+
+    /**
+     * 헤지가 필요한 상태인지 - 취소되지 않았고, 승자가 없고, 원래 요청이 끝나지 않았고 아직 토큰을 받지 못함
+     */
+    public boolean needsHedge() {
+        // 구독자 락 안에서 claim 이 this 를 잠그므로 토큰 수는 this 락 밖에서 읽는다
+        OllamaResponseHandler upstream = primary != null ? primary.upstream : null;
+        return (upstream == null || upstream.getGeneratedTokens() == 0) && awaitingFirstToken();
+    }
+
+    private synchronized boolean awaitingFirstToken() {
+        return !cancelled && winner == null && hedge == null && primary != null && !primary.finished;
+    }
+
+    @Override
+    public OllamaStreamStats getStats() {
+        OllamaResponseHandler upstream = currentUpstream();
+        return upstream != null ? upstream.getStats() : null;
+    }
+
+    @Override
+    public long getGeneratedTokens() {
+        OllamaResponseHandler upstream = currentUpstream();
+        return upstream != null ? upstream.getGeneratedTokens() : 0;
+    }
+
+    @Override
+    public void onTermination(BiConsumer<OllamaStreamStats, Throwable> listener) {
+        terminationListeners.add(listener);
+        boolean done;
+        synchronized (this) {
+            done = terminated;
+        }
+        if (done && terminationListeners.remove(listener)) {
+            listener.accept(terminalStats, terminalError);
+        }
+    }
+
+    /**
+     * 두 스트림 모두 취소 - 현재 스트림이 이미 종료를 보고했으면 그 통계로 종료 리스너를 바로 호출
+     */
+    @Override
+    public void cancel() {
+        Leg first;
+        Leg second;
+        Leg current;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            first = primary;
+            second = hedge;
+            current = winner != null ? winner : second != null && !second.finished ? second : first;
+            cancelledLeg = current;
+        }
+        if (first != null) first.abort();
+        if (second != null) second.abort();
+        if (current != null && current.reported) {
+            notifyTermination(current.terminalStats, current.terminalError);
+        }
+    }
+
+    private synchronized OllamaResponseHandler currentUpstream() {
+        Leg leg = winner != null ? winner : primary;
+        return leg != null ? leg.upstream : null;
+    }
+
+    /**
+     * 첫 토큰을 보낸 스트림을 승자로 정하고 다른 쪽 취소
+     *
+     * @return leg 가 승자면 true
+     */
+    private boolean claim(Leg leg) {
+        Leg loser;
+        synchronized (this) {
+            if (winner != null) {
+                return winner == leg;
+            }
+            winner = leg;
+            loser = leg == primary ? hedge : primary;
+        }
+        if (loser != null) {
+            loser.abort();
+            outcomeListener.accept(leg.hedge);
+        }
+        return true;
+    }
+
+    /**
+     * 토큰 없이 끝난 스트림의 종료 신호를 전달할지 - 다른 스트림이 아직 진행 중이면 그쪽을 기다린다
+     */
+    private boolean claimTerminal(Leg leg) {
+        synchronized (this) {
+            if (winner == null) {
+                Leg other = leg == primary ? hedge : primary;
+                if (other != null && !other.finished && !other.aborted) {
+                    return false;
+                }
+                winner = leg;
+            }
+            return winner == leg;
+        }
+    }
+
+    private void terminated(Leg leg, OllamaStreamStats stats, Throwable error) {
+        boolean wholeCancelled;
+        synchronized (this) {
+            leg.terminalStats = stats;
+            leg.terminalError = error;
+            leg.reported = true;
+            if (cancelled && leg != cancelledLeg) {
+                return;
+            }
+            wholeCancelled = cancelled;
+        }
+        if (!wholeCancelled && (leg.aborted || !claimTerminal(leg))) {
+            return;
+        }
+        notifyTermination(stats, error);
+    }
+
+    private void notifyTermination(OllamaStreamStats stats, Throwable error) {
+        synchronized (this) {
+            if (terminated) {
+                return;
+            }
+            terminated = true;
+            terminalStats = stats;
+            terminalError = error;
+        }
+        for (BiConsumer<OllamaStreamStats, Throwable> listener : terminationListeners) {
+            if (terminationListeners.remove(listener)) {
+                listener.accept(stats, error);
+            }
+        }
+    }
+
+    /**
+     * 한 번의 Ollama 스트림 - 승자일 때만 downstream 으로 전달
+     */
+    private final class Leg implements StreamHandler {
+        private final boolean hedge;
+        private volatile OllamaResponseHandler upstream;
+        private volatile boolean aborted;
+        private volatile boolean finished;
+        private Boolean forwardTerminal;
+        // upstream 이 보고한 종료 (HedgedResponseHandler 로 동기화)
+        private volatile boolean reported;
+        private OllamaStreamStats terminalStats;
+        private Throwable terminalError;
+
+        private Leg(boolean hedge) {
+            this.hedge = hedge;
+        }
+
+        private void attach(OllamaResponseHandler upstream) {
+            this.upstream = upstream;
+            upstream.onTermination((stats, error) -> terminated(this, stats, error));
+            if (aborted) {
+                upstream.cancel();
+            }
+        }
+
+        private void abort() {
+            aborted = true;
+            OllamaResponseHandler toCancel = upstream;
+            if (toCancel != null) {
+                toCancel.cancel();
+            }
+        }
+
+        /**
+         * 오류 뒤 완료가 이어지므로 첫 종료 신호에서 한 번만 결정
+         */
+        private synchronized boolean forwardTerminal() {
+            if (forwardTerminal == null) {
+                finished = true;
+                forwardTerminal = !aborted && claimTerminal(this);
+            }
+            return forwardTerminal;
+        }
+
+        @Override
+        public void onToken(String token) {
+            if (!aborted && claim(this)) {
+                downstream.onToken(token);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (forwardTerminal()) {
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (forwardTerminal()) {
+                downstream.onComplete();
+            }
+        }
+    }
+}
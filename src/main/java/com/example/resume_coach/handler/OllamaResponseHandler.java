@@ -1,18 +1,43 @@
 package com.example.resume_coach.handler;
 
-import com.example.resume_coach.component.OllamaLineSubscriber;
+import com.example.resume_coach.component.OllamaStreamStats;
+import com.example.resume_coach.component.OllamaStreamSubscriber;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
 
 public class OllamaResponseHandler {
     private final CompletableFuture<Void> future;
-    private final OllamaLineSubscriber subscriber;
+    private final OllamaStreamSubscriber<?> subscriber;
 
-    public OllamaResponseHandler(CompletableFuture<Void> future, OllamaLineSubscriber subscriber) {
+    public OllamaResponseHandler(CompletableFuture<Void> future, OllamaStreamSubscriber<?> subscriber) {
         this.future = future;
         this.subscriber = subscriber;
     }
 
+    /**
+     * Ollama 마지막 청크의 생성 통계 (스트림 완료 전이거나 호출 실패 시 null 또는 done=false)
+     */
+    public OllamaStreamStats getStats() {
+        return subscriber != null ? subscriber.getStats() : null;
+    }
+
+    /**
+     * Ollama 스트림 종료 시 (생성 통계, 오류) 전달 - 호출 자체가 실패해 스트림이 없으면 호출되지 않음
+     */
+    public void onTermination(BiConsumer<OllamaStreamStats, Throwable> listener) {
+        if (subscriber != null) {
+            subscriber.onTermination(listener);
+        }
+    }
+
+    /**
+     * 지금까지 수신한 content 토큰(청크) 수
+     */
+    public long getGeneratedTokens() {
+        return subscriber != null ? subscriber.getContentTokens() : 0;
+    }
+
     public void cancel() {
         if (subscriber != null) {
             subscriber.cancel();
@@ -0,0 +1,168 @@
+package com.example.resume_coach.handler;
+
+import com.example.resume_coach.component.OllamaStreamStats;
+import com.example.resume_coach.component.StreamingSchemaValidator;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 구조화 출력 생성을 스트리밍 스키마 검증과 함께 실행하는 OllamaResponseHandler.
+ * 부분 JSON 이 스키마에서 벗어나면 전체 생성을 기다리지 않고 현재 Ollama 스트림을 취소한 뒤 새 시도를 시작한다.
+ * 재시도 예산을 다 쓴 마지막 시도는 검증 없이 끝까지 받아 기존 fallback 경로로 처리한다.
+ */
+@Slf4j
+public class RetryingResponseHandler extends OllamaResponseHandler {
+
+    private final StreamHandler downstream;
+    private final int maxRetries;
+    private final Supplier<StreamingSchemaValidator> validators;
+    private final Function<StreamHandler, OllamaResponseHandler> starter;
+    private final BiConsumer<String, Long> retryListener;
+    private Attempt current;
+    private boolean cancelled;
+
+    /**
+     * @param starter       시도마다 호출되어 주어진 핸들러로 Ollama 스트림을 시작
+     * @param retryListener (중단 이유, 낭비된 토큰 수) - 통계 기록용
+     */
+    public RetryingResponseHandler(
+            StreamHandler downstream,
+            int maxRetries,
+            Supplier<StreamingSchemaValidator> validators,
+            Function<StreamHandler, OllamaResponseHandler> starter,
+            BiConsumer<String, Long> retryListener
+    ) {
+        super(CompletableFuture.completedFuture(null), null);
+        this.downstream = downstream;
+        this.maxRetries = maxRetries;
+        this.validators = validators;
+        this.starter = starter;
+        this.retryListener = retryListener;
+    }
+
+    public RetryingResponseHandler start() {
+        startAttempt(1);
+        return this;
+    }
+
+    @Override
+    public OllamaStreamStats getStats() {
+        OllamaResponseHandler upstream = currentUpstream();
+        return upstream != null ? upstream.getStats() : null;
+    }
+
+    @Override
+    public long getGeneratedTokens() {
+        OllamaResponseHandler upstream = currentUpstream();
+        return upstream != null ? upstream.getGeneratedTokens() : 0;
+    }
+
+    @Override
+    public void cancel() {
+        Attempt attempt;
+        synchronized (this) {
+            cancelled = true;
+            attempt = current;
+        }
+        if (attempt != null) {
+            attempt.abort();
+        }
+    }
+
+    private synchronized OllamaResponseHandler currentUpstream() {
+        return current != null ? current.upstream : null;
+    }
+
+    private void startAttempt(int number) {
+        Attempt attempt = new Attempt(number, number <= maxRetries ? validators.get() : null);
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            current = attempt;
+        }
+        attempt.attach(starter.apply(attempt));
+    }
+
+    private void diverged(Attempt attempt, String reason) {
+        synchronized (this) {
+            if (cancelled || current != attempt) {
+                return;
+            }
+        }
+        long wastedTokens = attempt.abort();
+        log.warn("구조화 출력 스키마 이탈 - 생성 중단 후 재시도: 시도 = {}/{}, 이유 = {}, 낭비 토큰 = {}",
+                attempt.number, maxRetries + 1, reason, wastedTokens);
+        retryListener.accept(reason, wastedTokens);
+        downstream.onRetry(attempt.number + 1, reason, wastedTokens);
+        startAttempt(attempt.number + 1);
+    }
+
+    /**
+     * 한 번의 Ollama 스트림 - 검증을 통과한 토큰만 downstream 으로 전달하고, 중단된 뒤의 신호는 모두 버린다
+     */
+    private final class Attempt implements StreamHandler {
+        private final int number;
+        private final StreamingSchemaValidator validator;
+        private volatile OllamaResponseHandler upstream;
+        private volatile boolean aborted;
+
+        private Attempt(int number, StreamingSchemaValidator validator) {
+            this.number = number;
+            this.validator = validator;
+        }
+
+        private void attach(OllamaResponseHandler upstream) {
+            this.upstream = upstream;
+            if (aborted) {
+                upstream.cancel();
+            }
+        }
+
+        /**
+         * 업스트림 취소
+         *
+         * @return 취소 시점까지 생성된 토큰 수
+         */
+        private long abort() {
+            aborted = true;
+            OllamaResponseHandler toCancel = upstream;
+            if (toCancel == null) {
+                return 0;
+            }
+            long generated = toCancel.getGeneratedTokens();
+            toCancel.cancel();
+            return generated;
+        }
+
+        @Override
+        public void onToken(String token) {
+            if (aborted) {
+                return;
+            }
+            if (validator != null && validator.feed(token) != null) {
+                diverged(this, validator.getDivergence());
+                return;
+            }
+            downstream.onToken(token);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!aborted) {
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!aborted) {
+                downstream.onComplete();
+            }
+        }
+    }
+}
@@ -1,60 +1,166 @@
 package com.example.resume_coach.handler;
 
-import com.example.resume_coach.component.SSEHeartBeatManager;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
-import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 
+/**
+ * Ollama 토큰을 SSE 이벤트로 변환 - 전송은 연결별 송신 큐에 맡기므로 Ollama 수신 스레드는 블로킹되지 않는다.
+ * 공유 생성에 합류한 경우 토큰 청크마다 마지막 이벤트에 "{생성 ID}:{청크 순번}" id 를 붙여 재연결 지점으로 쓴다.
+ */
 @RequiredArgsConstructor
 public class SSEOllamaStreamHandler<T> implements StreamHandler {
-    private final SseEmitter emitter;
+    private final SseOutboundQueue outbound;
     private final Function<String, T> parser;
     private final boolean emitDeltas;
-    private final SSEHeartBeatManager heartbeat;
     private final StringBuilder sb = new StringBuilder();
+    private BiConsumer<String, T> resultListener;
+    private Supplier<StructuredResponseParser<T>> structuredParsers;
+    private StructuredResponseParser<T> structuredParser;
+    private final List<PendingEvent> pending = new ArrayList<>(4);
+    private String generationId;
+    private long seq;
+    private long resumeAfter;
+
+    /**
+     * 최종 DTO 파싱 후 (원문, DTO)를 전달받을 리스너 등록 (결과 캐시 저장용)
+     */
+    public SSEOllamaStreamHandler<T> onResult(BiConsumer<String, T> listener) {
+        this.resultListener = listener;
+        return this;
+    }
+
+    /**
+     * 스트리밍 파서 등록 - 배열 항목이 완성될 때마다 이름 있는 이벤트(question/step) 전송.
+     * 재시도 시 새 파서로 교체해야 하므로 팩토리로 받는다.
+     */
+    public SSEOllamaStreamHandler<T> withStructuredParser(Supplier<StructuredResponseParser<T>> structuredParsers) {
+        this.structuredParsers = structuredParsers;
+        this.structuredParser = structuredParsers.get();
+        return this;
+    }
+
+    /**
+     * Last-Event-ID 재연결 - 해당 순번까지의 토큰은 파서 상태 복원에만 쓰고 다시 전송하지 않음
+     */
+    public SSEOllamaStreamHandler<T> resumeAfter(long seq) {
+        this.resumeAfter = seq;
+        return this;
+    }
+
+    @Override
+    public void onGeneration(String generationId) {
+        this.generationId = generationId;
+    }
+
+    @Override
+    public void onCatchUp(long chunks, String text) {
+        sb.append(text);
+        seq += chunks;
+        if (structuredParser != null && !text.isEmpty()) {
+            structuredParser.feed(text, (name, element) -> { }); // 이미 지나간 항목은 다시 보내지 않음
+        }
+    }
 
     @Override
     public void onToken(String token) {
         sb.append(token);
-        if (!emitDeltas) {
-            return;
+        seq++;
+        if (structuredParser != null) {
+            structuredParser.feed(token, (name, element) -> pending.add(new PendingEvent(name, element)));
         }
-        try {
-            emitter.send(SseEmitter.event().data(token));
-            if (heartbeat != null) {
-                heartbeat.touch(emitter); // 활동 갱신
+        if (emitDeltas) {
+            pending.add(new PendingEvent(null, token));
+        }
+        if (seq > resumeAfter) {
+            // 청크의 마지막 이벤트에만 id - 그 이전에 끊기면 청크 전체를 다시 받음
+            for (int i = 0, last = pending.size() - 1; i <= last; i++) {
+                PendingEvent event = pending.get(i);
+                String id = i == last ? eventId(seq) : null;
+                if (event.name() == null) {
+                    outbound.delta((String) event.data(), id);
+                } else {
+                    outbound.event(event.name(), event.data(), id);
+                }
             }
-        } catch (Exception e) {
-            emitter.completeWithError(e);
         }
+        pending.clear();
+    }
+
+    private String eventId(long sequence) {
+        return generationId == null ? null : generationId + ":" + sequence;
     }
 
+    /**
+     * 이전 시도의 원문과 파서 상태를 버리고 retry 이벤트 전송 - 클라이언트도 이미 받은 항목/델타를 폐기해야 한다.
+     * 청크 순번은 시도와 관계없이 이어지므로, 재연결 지점이 재시도 이후면 이벤트를 다시 보내지 않는다.
+     */
     @Override
-    public void onError(Throwable t) {
-        try {
-            emitter.send(SseEmitter.event().name("error").data(t.getMessage()));
-        } catch (Exception e) {
-            emitter.completeWithError(t);
+    public void onRetry(int attempt, String reason, long wastedTokens) {
+        sb.setLength(0);
+        if (structuredParsers != null) {
+            structuredParser = structuredParsers.get();
+        }
+        if (seq >= resumeAfter) {
+            outbound.event("retry", Map.of("attempt", attempt, "reason", reason, "wastedTokens", wastedTokens));
         }
     }
 
-    @SneakyThrows
+    @Override
+    public void onQueued(int position, long estimatedWaitSeconds) {
+        outbound.event("queue", Map.of("position", position, "estimatedWaitSeconds", estimatedWaitSeconds));
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        outbound.event("error", String.valueOf(t.getMessage()));
+    }
+
     @Override
     public void onComplete() {
         String full = sb.toString();
+        String finalId = eventId(seq + 1);
+        if (seq + 1 <= resumeAfter) {
+            outbound.complete(); // 재연결 전에 이미 final 수신
+            return;
+        }
         try {
             if (parser == null) {
-                emitter.send(SseEmitter.event().name("final").data(full));
+                outbound.event("final", full, finalId);
             } else {
-                T dto = parser.apply(full); // DTO 파싱
-                emitter.send(SseEmitter.event().name("final").data(dto));
+                // 스트리밍 중 이미 파싱된 조각으로 조립, 불가능하면 전체 응답 파싱
+                T dto = structuredParser != null ? structuredParser.assemble() : null;
+                if (dto == null) {
+                    dto = parser.apply(full); // DTO 파싱
+                }
+                outbound.event("final", dto, finalId);
+                if (resultListener != null) {
+                    resultListener.accept(full, dto);
+                }
             }
-            emitter.complete();
         } catch (Exception ex) {
             onError(ex);
         }
+        outbound.complete();
+    }
+
+    /**
+     * 캐시된 결과 재전송 - Ollama 호출 없이 원문(델타)과 최종 DTO 전송
+     */
+    public void replay(String rawResponse, T result) {
+        if (emitDeltas && rawResponse != null && !rawResponse.isEmpty()) {
+            outbound.delta(rawResponse);
+        }
+        outbound.event("final", result);
+        outbound.complete();
+    }
+
+    private record PendingEvent(String name, Object data) {
     }
 }
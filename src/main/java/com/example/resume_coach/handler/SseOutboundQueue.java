@@ -0,0 +1,339 @@
+package com.example.resume_coach.handler;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * SSE 연결별 송신 큐.
+ * 생산자(Ollama 수신 스레드)는 큐에 넣기만 하고 반환하며, 실제 emitter.send 는 연결별 writer 작업이 순서대로 수행한다.
+ * 미전송 델타가 softLimit 을 넘으면 대기 중인 델타를 한 프레임으로 병합하고,
+ * hardLimit 을 넘으면 설정에 따라 final-only 모드로 전환하거나 연결을 끊는다.
+ * 이름 있는 이벤트(question/step/final/error)는 병합하거나 버리지 않는다.
+ */
+@Slf4j
+public class SseOutboundQueue {
+
+    public enum OverflowPolicy {
+        FINAL_ONLY, DISCONNECT
+    }
+
+    @Getter
+    private final SseEmitter emitter;
+    private final Executor writer;
+    private final int softLimitChars;
+    private final int hardLimitChars;
+    private final OverflowPolicy overflowPolicy;
+
+    // this 로 동기화
+    private final ArrayDeque<Outbound> queue = new ArrayDeque<>();
+    private int pendingDeltaChars;
+    private boolean draining;
+    private boolean closed;
+    @Getter
+    private boolean finalOnly;
+    private Runnable writeListener;
+    private Observer observer;
+    private boolean failed;
+    private boolean reported;
+    private final long openedAt = System.nanoTime();
+
+    public SseOutboundQueue(
+            SseEmitter emitter,
+            Executor writer,
+            int softLimitChars,
+            int hardLimitChars,
+            OverflowPolicy overflowPolicy
+    ) {
+        this.emitter = emitter;
+        this.writer = writer;
+        this.softLimitChars = softLimitChars;
+        this.hardLimitChars = hardLimitChars;
+        this.overflowPolicy = overflowPolicy;
+        emitter.onCompletion(() -> closeAndReport(false));
+        emitter.onTimeout(() -> closeAndReport(true));
+        emitter.onError(e -> closeAndReport(true));
+    }
+
+    /**
+     * 프레임 전송 시간과 연결 종료(요청 수신부터의 지연) 관찰 - 지표 기록용
+     */
+    public synchronized void observe(Observer observer) {
+        this.observer = observer;
+    }
+
+    /**
+     * 전송 성공 시마다 실행할 작업 (하트비트 활동 갱신)
+     */
+    public synchronized void onWrite(Runnable listener) {
+        this.writeListener = listener;
+    }
+
+    public void delta(String token) {
+        delta(token, null);
+    }
+
+    /**
+     * 이름 없는 토큰 델타 - 밀려 있으면 병합(병합된 프레임은 마지막 id 사용), 한도 초과 시 overflow 처리
+     */
+    public void delta(String token, String id) {
+        boolean disconnect = false;
+        synchronized (this) {
+            if (closed || finalOnly || token.isEmpty()) {
+                return;
+            }
+            if (pendingDeltaChars + token.length() > hardLimitChars) {
+                disconnect = overflow();
+            } else {
+                pendingDeltaChars += token.length();
+                Outbound last = queue.peekLast();
+                if (pendingDeltaChars > softLimitChars && last instanceof Delta delta) {
+                    delta.text.append(token); // 느린 클라이언트 - 한 프레임으로 병합
+                    if (id != null) {
+                        delta.id = id;
+                    }
+                    return;
+                }
+                queue.add(new Delta(token, id));
+            }
+        }
+        if (disconnect) {
+            failEmitter(new IllegalStateException("SSE 클라이언트 수신 지연"));
+            return;
+        }
+        scheduleDrain();
+    }
+
+    public void event(String name, Object data) {
+        event(name, data, null);
+    }
+
+    public void event(String name, Object data, String id) {
+        enqueue(new Named(name, data, id));
+    }
+
+    /**
+     * 유휴 연결 keepalive - 다른 전송이 대기 중이면 생략
+     */
+    public void keepAlive() {
+        synchronized (this) {
+            if (closed || !queue.isEmpty()) {
+                return;
+            }
+            queue.add(KeepAlive.INSTANCE);
+        }
+        scheduleDrain();
+    }
+
+    public void complete() {
+        enqueue(new Complete(null));
+    }
+
+    public void completeWithError(Throwable error) {
+        enqueue(new Complete(error));
+    }
+
+    public synchronized int pendingDeltaChars() {
+        return pendingDeltaChars;
+    }
+
+    private void enqueue(Outbound outbound) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            queue.add(outbound);
+        }
+        scheduleDrain();
+    }
+
+    /**
+     * hardLimit 초과 - 대기 중인 델타를 버리고 final-only 로 전환하거나 연결 종료 (잠금 안에서 호출)
+     *
+     * @return 연결을 끊어야 하면 true - 호출자가 잠금 밖에서 failEmitter 호출
+     */
+    private boolean overflow() {
+        if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+            log.warn("SSE 송신 큐 한도 초과 - 연결 종료");
+            failed = true;
+            close();
+            return true;
+        }
+        log.warn("SSE 송신 큐 한도 초과 - final-only 모드로 전환");
+        finalOnly = true;
+        for (Iterator<Outbound> it = queue.iterator(); it.hasNext(); ) {
+            if (it.next() instanceof Delta) {
+                it.remove();
+            }
+        }
+        pendingDeltaChars = 0;
+        queue.add(new Named("mode", "final-only", null));
+        return false;
+    }
+
+    private void scheduleDrain() {
+        synchronized (this) {
+            if (draining || queue.isEmpty()) {
+                return;
+            }
+            draining = true;
+        }
+        try {
+            writer.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // 종료 중이거나 writer 포화 - 큐를 비울 수 없으므로 연결을 끝내 생산자와 emitter 가 남지 않게 한다
+            log.warn("SSE writer 실행 거부 - 연결 종료: {}", e.getMessage());
+            synchronized (this) {
+                draining = false;
+                failed = true;
+                close();
+            }
+            completeQuietly(e);
+        }
+    }
+
+    /**
+     * writer 에서 emitter 를 오류로 종료 - writer 가 거부하면 호출 스레드에서 직접 종료
+     */
+    private void failEmitter(Throwable error) {
+        try {
+            writer.execute(() -> completeQuietly(error));
+        } catch (RejectedExecutionException e) {
+            completeQuietly(error);
+        }
+    }
+
+    private void completeQuietly(Throwable error) {
+        try {
+            emitter.completeWithError(error);
+        } catch (Exception ignore) {
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            Outbound next;
+            Runnable listener;
+            Observer observer;
+            synchronized (this) {
+                next = queue.poll();
+                if (next == null || closed) {
+                    draining = false;
+                    return;
+                }
+                if (next instanceof Delta delta) {
+                    pendingDeltaChars -= delta.text.length();
+                }
+                if (next instanceof Complete complete && complete.error() != null) {
+                    failed = true;
+                }
+                listener = writeListener;
+                observer = this.observer;
+            }
+            try {
+                long started = System.nanoTime();
+                next.writeTo(emitter);
+                if (observer != null && !(next instanceof Complete)) {
+                    observer.onWrite(System.nanoTime() - started);
+                }
+                if (listener != null) {
+                    listener.run();
+                }
+            } catch (Exception e) {
+                synchronized (this) {
+                    failed = true;
+                    close();
+                }
+                completeQuietly(e);
+            }
+        }
+    }
+
+    private synchronized void close() {
+        closed = true;
+        queue.clear();
+        pendingDeltaChars = 0;
+    }
+
+    private void closeAndReport(boolean error) {
+        Observer toNotify;
+        boolean failure;
+        synchronized (this) {
+            close();
+            if (reported || observer == null) {
+                return;
+            }
+            reported = true;
+            toNotify = observer;
+            failure = failed || error;
+        }
+        toNotify.onClosed(System.nanoTime() - openedAt, failure);
+    }
+
+    public interface Observer {
+        /** 프레임 하나의 emitter.send 소요 시간 */
+        void onWrite(long nanos);
+
+        /** 연결 종료 - openNanos 는 송신 큐 생성(요청 수신)부터 종료까지 */
+        void onClosed(long openNanos, boolean error);
+    }
+
+    private interface Outbound {
+        void writeTo(SseEmitter emitter) throws Exception;
+    }
+
+    private static final class Delta implements Outbound {
+        private final StringBuilder text;
+        private String id;
+
+        private Delta(String token, String id) {
+            this.text = new StringBuilder(token);
+            this.id = id;
+        }
+
+        @Override
+        public void writeTo(SseEmitter emitter) throws Exception {
+            SseEmitter.SseEventBuilder event = SseEmitter.event().data(text.toString());
+            if (id != null) {
+                event.id(id);
+            }
+            emitter.send(event);
+        }
+    }
+
+    private record Named(String name, Object data, String id) implements Outbound {
+        @Override
+        public void writeTo(SseEmitter emitter) throws Exception {
+            SseEmitter.SseEventBuilder event = SseEmitter.event().name(name).data(data);
+            if (id != null) {
+                event.id(id);
+            }
+            emitter.send(event);
+        }
+    }
+
+    private enum KeepAlive implements Outbound {
+        INSTANCE;
+
+        @Override
+        public void writeTo(SseEmitter emitter) throws Exception {
+            emitter.send(SseEmitter.event().name("keepalive").comment("ping"));
+        }
+    }
+
+    private record Complete(Throwable error) implements Outbound {
+        @Override
+        public void writeTo(SseEmitter emitter) {
+            if (error == null) {
+                emitter.complete();
+            } else {
+                emitter.completeWithError(error);
+            }
+        }
+    }
+}
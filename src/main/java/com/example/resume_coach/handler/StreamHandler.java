@@ -6,4 +6,24 @@ public interface StreamHandler {
 
     default void onError(Throwable t) {}
     default void onComplete() {}
+
+    /**
+     * 공유 생성(BroadcastStreamHandler)에 합류할 때 토큰 재전송 전에 생성 ID 전달 (SSE 이벤트 id 용)
+     */
+    default void onGeneration(String generationId) {}
+
+    /**
+     * 재전송할 수 없는 앞부분(청크 chunks 개, 현재 시도의 원문 text)을 이벤트 없이 상태로만 전달 - 청크 순번도 그만큼 진행
+     */
+    default void onCatchUp(long chunks, String text) {}
+
+    /**
+     * Ollama 생성 슬롯 대기 중 순번(1부터)과 예상 대기 시간 알림
+     */
+    default void onQueued(int position, long estimatedWaitSeconds) {}
+
+    /**
+     * 출력이 스키마에서 벗어나 생성을 중단하고 attempt 번째 시도를 새로 시작함 - 이전 토큰은 모두 폐기
+     */
+    default void onRetry(int attempt, String reason, long wastedTokens) {}
 }
\ No newline at end of file
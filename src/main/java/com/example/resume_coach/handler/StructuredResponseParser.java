@@ -0,0 +1,19 @@
+package com.example.resume_coach.handler;
+
+import java.util.function.BiConsumer;
+
+/**
+ * 스트리밍 토큰을 누적 파싱해 완성된 항목을 즉시 내보내고, 이미 파싱된 조각으로 최종 DTO 를 조립한다.
+ */
+public interface StructuredResponseParser<T> {
+
+    /**
+     * 토큰 누적 파싱 - 완성된 항목은 elementSink(이벤트 이름, 항목)로 전달
+     */
+    void feed(String token, BiConsumer<String, Object> elementSink);
+
+    /**
+     * 최종 DTO 조립. 구조화 파싱이 불가능했으면 null (전체 응답 파싱으로 대체)
+     */
+    T assemble();
+}
@@ -0,0 +1,73 @@
+package com.example.resume_coach.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 렌더링이 끝난 한 번의 생성 요청 (프롬프트, 옵션, 모델, 출력 JSON 스키마)
+ */
+@Getter
+@RequiredArgsConstructor
+public class GenerationRequest {
+    private final GenerationType type;
+    private final String resumeId;
+    private final String systemPrompt;
+    private final String userPrompt;
+    private final Map<String, Object> options;
+    private final String model;
+    /** Ollama format 으로 보낼 JSON 스키마 (null 이면 제약 없이 생성) */
+    private final Map<String, Object> format;
+    /** 시스템 프롬프트에 넣은 직무 카테고리 (비어 있으면 전체 카탈로그) */
+    private final List<String> jobCategories;
+    /** 렌더링에 쓴 템플릿 버전 (시스템@해시+사용자@해시) */
+    private final String promptVersion;
+
+    private volatile String promptHash;
+
+    public boolean isJobCatalogPruned() {
+        return !jobCategories.isEmpty();
+    }
+
+    /**
+     * 프롬프트 버전, 모델, 옵션, 출력 스키마, 렌더링된 프롬프트 전체에 대한 SHA-256
+     */
+    public String getPromptHash() {
+        String hash = promptHash;
+        if (hash == null) {
+            hash = computePromptHash();
+            promptHash = hash;
+        }
+        return hash;
+    }
+
+    private String computePromptHash() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, getPromptVersion());
+            update(digest, model);
+            // Map.of 는 순회 순서가 보장되지 않으므로 정렬 후 해시
+            update(digest, String.valueOf(new TreeMap<>(options)));
+            update(digest, format != null ? String.valueOf(format) : null);
+            update(digest, systemPrompt);
+            update(digest, userPrompt);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다", e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.resume_coach.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * AI 생성 작업 종류와 사용하는 프롬프트 버전, 모델 출력 구조
+ */
+@Getter
+@RequiredArgsConstructor
+public enum GenerationType {
+    INTERVIEW("interview", "interview_system_v1", "interview_user_v1", ResumeAiOutput.Interview.class),
+    LEARNING("learning", "learning_system_v1", "learning_user_v1", ResumeAiOutput.LearningPath.class);
+
+    private final String endpoint;
+    private final String systemPromptName;
+    private final String userPromptName;
+    private final Class<?> outputType;
+}
@@ -0,0 +1,97 @@
+package com.example.resume_coach.model;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * 모델이 생성하는 원본 JSON 구조 (사용자 프롬프트의 "JSON 응답 형식"과 동일).
+ * Ollama format(JSON 스키마)의 원본이며, 응답은 트리 변환 없이 이 레코드로 바로 바인딩한다.
+ */
+public class ResumeAiOutput {
+
+    @Schema(description = "면접 질문 생성 결과")
+    public record Interview(
+            @ArraySchema(minItems = 5, maxItems = 5)
+            List<InterviewQuestion> questions,
+
+            @Schema(description = "전체 난이도", allowableValues = {"기초", "초급", "중급", "고급", "전문가"})
+            String overallDifficulty,
+
+            @Schema(description = "주요 포커스 영역")
+            String focusArea,
+
+            @Schema(description = "면접 전략")
+            String interviewStrategy
+    ) {
+    }
+
+    @Schema(description = "면접 질문")
+    public record InterviewQuestion(
+            @Schema(description = "면접 질문")
+            String question,
+
+            @Schema(description = "질문 카테고리",
+                    allowableValues = {"기술면접", "경험면접", "문제해결", "시스템설계", "최신기술", "상황대응"})
+            String category,
+
+            @Schema(description = "기대하는 답변 방향")
+            String expectedAnswerDirection,
+
+            @Schema(description = "질문 난이도", allowableValues = {"기초", "초급", "중급", "고급", "전문가"})
+            String difficulty,
+
+            @Schema(description = "개인화 근거")
+            String personalizationReason
+    ) {
+    }
+
+    @Schema(description = "학습 경로 생성 결과")
+    public record LearningPath(
+            @Schema(description = "현재 수준")
+            String currentLevel,
+
+            @Schema(description = "목표 수준")
+            String targetLevel,
+
+            @ArraySchema(minItems = 2)
+            List<LearningStep> learningSteps,
+
+            @Schema(description = "전체 예상 기간")
+            String estimatedTimeframe,
+
+            @ArraySchema(minItems = 1)
+            List<String> successMetrics,
+
+            @Schema(description = "학습 전략")
+            String learningStrategy
+    ) {
+    }
+
+    @Schema(description = "학습 단계")
+    public record LearningStep(
+            @Schema(description = "학습 단계 제목")
+            String title,
+
+            @Schema(description = "학습 내용 설명")
+            String description,
+
+            @Schema(description = "학습 카테고리",
+                    allowableValues = {"기술역량", "프로젝트경험", "소프트스킬", "자격증", "네트워킹"})
+            String category,
+
+            @Schema(description = "우선순위", minimum = "1")
+            Integer priority,
+
+            @Schema(description = "예상 소요 기간")
+            String estimatedDuration,
+
+            @ArraySchema(minItems = 2)
+            List<String> resources,
+
+            @Schema(description = "개인화 근거")
+            String personalizationReason
+    ) {
+    }
+}
@@ -1,106 +1,244 @@
 package com.example.resume_coach.service;
 
-import com.example.resume_coach.component.DataInitializer;
+import com.example.resume_coach.component.GenerationMetrics;
+import com.example.resume_coach.component.JobCatalogIndex;
+import com.example.resume_coach.component.JsonStreamResponseParser;
 import com.example.resume_coach.component.OllamaApiClient;
+import com.example.resume_coach.component.OutputSchemaGenerator;
+import com.example.resume_coach.component.PromptEvalStats;
+import com.example.resume_coach.component.PromptTemplate;
+import com.example.resume_coach.component.PromptTemplateLoader;
+import com.example.resume_coach.component.StreamingSchemaValidator;
+import com.example.resume_coach.component.StructuredOutputStats;
+import com.example.resume_coach.component.TokenFlushPolicies;
+import com.example.resume_coach.component.TokenFlushPolicy;
 import com.example.resume_coach.handler.OllamaResponseHandler;
+import com.example.resume_coach.handler.RetryingResponseHandler;
 import com.example.resume_coach.handler.StreamHandler;
+import com.example.resume_coach.handler.StructuredResponseParser;
+import com.example.resume_coach.model.GenerationRequest;
+import com.example.resume_coach.model.GenerationType;
+import com.example.resume_coach.model.ResumeAiOutput;
 import com.example.resume_coach.model.ResumeDto;
 import com.example.resume_coach.repository.entity.Resume;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AICareerCoachService {
 
-    private final DataInitializer dataInitializer;
+    private final PromptTemplateLoader promptTemplateLoader;
+    private final JobCatalogIndex jobCatalogIndex;
     private final OllamaApiClient ollamaApiClient;
     private final ObjectMapper objectMapper;
+    private final TokenFlushPolicies flushPolicies;
+    private final OutputSchemaGenerator schemaGenerator;
+    private final StructuredOutputStats outputStats;
+    private final PromptEvalStats promptEvalStats;
+    private final GenerationMetrics generationMetrics;
+
+    /**
+     * true 면 출력 레코드에서 만든 JSON 스키마를 Ollama format 으로 보내 디코딩을 제약
+     */
+    @Value("${ollama.api.structured-output:true}")
+    private boolean structuredOutput;
+
+    @Value("${ollama.api.validation.enabled:true}")
+    private boolean validationEnabled;
+
+    @Value("${ollama.api.validation.max-retries:2}")
+    private int maxOutputRetries;
+
+    private ObjectReader interviewReader;
+    private ObjectReader interviewQuestionReader;
+    private ObjectReader learningPathReader;
+    private ObjectReader learningStepReader;
+
+    /**
+     * 출력 레코드별 ObjectReader 는 불변이고 스레드 안전하므로 한 번만 생성해 재사용
+     */
+    @PostConstruct
+    void initReaders() {
+        interviewReader = objectMapper.readerFor(ResumeAiOutput.Interview.class);
+        interviewQuestionReader = objectMapper.readerFor(ResumeAiOutput.InterviewQuestion.class);
+        learningPathReader = objectMapper.readerFor(ResumeAiOutput.LearningPath.class);
+        learningStepReader = objectMapper.readerFor(ResumeAiOutput.LearningStep.class);
+    }
 
     public OllamaResponseHandler generateMockInterviewQuestionsStream(
             Resume resume,
             StreamHandler handler
     ) {
-        log.info("개인 맞춤형 면접 질문 생성 시작: 이력서 ID = {}", resume.getId());
-        String userPrompt = formatUserPrompt(dataInitializer.getInterviewUserPrompt(), resume);
-        return ollamaApiClient.callOllamaStream(
-                dataInitializer.getInterviewSystemPrompt(),
-                userPrompt,
-                ollamaApiClient.createCreativeOptions(),
-                handler
-        );
+        return generateStream(prepareMockInterview(resume), handler);
     }
 
 
     public OllamaResponseHandler generateLearningPathStream(
             Resume resume,
             StreamHandler handler) {
-        log.info("개인 맞춤형 학습 경로 생성 시작: 이력서 ID = {}", resume.getId());
-        String userPrompt = formatUserPrompt(dataInitializer.getLearningUserPrompt(), resume);
-        return ollamaApiClient.callOllamaStream(
-                dataInitializer.getLearningSystemPrompt(),
-                userPrompt,
-                ollamaApiClient.createAnalyticalOptions(),
-                handler
+        return generateStream(prepareLearningPath(resume), handler);
+    }
+
+    /**
+     * 면접 질문 생성 요청 준비 (이력서 관련 직무만 넣은 시스템 프롬프트 + 사용자 프롬프트 렌더링 + 옵션)
+     */
+    public GenerationRequest prepareMockInterview(Resume resume) {
+        return prepare(GenerationType.INTERVIEW, resume, ollamaApiClient.createCreativeOptions());
+    }
+
+    /**
+     * 학습 경로 생성 요청 준비 (이력서 관련 직무만 넣은 시스템 프롬프트 + 사용자 프롬프트 렌더링 + 옵션)
+     */
+    public GenerationRequest prepareLearningPath(Resume resume) {
+        return prepare(GenerationType.LEARNING, resume, ollamaApiClient.createAnalyticalOptions());
+    }
+
+    /**
+     * 요청 시점의 컴파일된 템플릿으로 렌더링 - 외부 템플릿이 재로드되면 프롬프트 버전(이름@내용 해시)과 해시도 바뀐다
+     */
+    private GenerationRequest prepare(GenerationType type, Resume resume, Map<String, Object> options) {
+        JobCatalogIndex.Selection jobs = jobCatalogIndex.select(resume);
+        PromptTemplate systemTemplate = promptTemplateLoader.systemTemplate(type);
+        PromptTemplate userTemplate = promptTemplateLoader.userTemplate(type);
+        GenerationRequest request = new GenerationRequest(
+                type,
+                resume.getId(),
+                systemTemplate.render(Map.of("jobs", jobs.getJson())),
+                userTemplate.render(userPromptValues(resume)),
+                options,
+                ollamaApiClient.getOllamaModel(),
+                formatOf(type),
+                jobs.getCategories(),
+                systemTemplate.getVersion() + "+" + userTemplate.getVersion()
         );
+        log.debug("생성 요청 준비: 이력서 ID = {}, 프롬프트 버전 = {}, 해시 = {}",
+                resume.getId(), request.getPromptVersion(), request.getPromptHash());
+        return request;
     }
 
-    public ResumeDto.MockInterviewResponse parseInterviewResponse(String aiResponse, String resumeId) {
-        String jsonPart = ollamaApiClient.extractJsonFromResponse(aiResponse);
-        try {
-            JsonNode jsonNode = objectMapper.readTree(jsonPart);
+    private Map<String, Object> formatOf(GenerationType type) {
+        return structuredOutput ? schemaGenerator.schemaOf(type.getOutputType()) : null;
+    }
 
-            List<ResumeDto.MockInterviewResponse.InterviewQuestion> questions = new ArrayList<>();
-            JsonNode questionsArray = jsonNode.get("questions");
+    public OllamaResponseHandler generateStream(GenerationRequest request, StreamHandler handler) {
+        return generateStream(request, handler, flushPolicies.batch());
+    }
 
-            if (questionsArray == null || !questionsArray.isArray()) {
-                log.warn("면접 질문이 없거나 잘못된 형식입니다. AI 응답: {}", aiResponse);
-                return createInterviewFallbackResponse(resumeId, jsonPart);
-            }
+    /**
+     * 재시도 예산이 있으면 부분 JSON 을 스키마로 검증하며 생성하고, 이탈하는 즉시 중단 후 새로 생성한다
+     */
+    public OllamaResponseHandler generateStream(GenerationRequest request, StreamHandler handler, TokenFlushPolicy flushPolicy) {
+        if (request.getType() == GenerationType.INTERVIEW) {
+            log.info("개인 맞춤형 면접 질문 생성 시작: 이력서 ID = {}", request.getResumeId());
+        } else {
+            log.info("개인 맞춤형 학습 경로 생성 시작: 이력서 ID = {}", request.getResumeId());
+        }
+        int retries = outputRetryBudget();
+        if (retries == 0) {
+            return callOllama(request, handler, flushPolicy);
+        }
+        return new RetryingResponseHandler(
+                handler,
+                retries,
+                () -> newOutputValidator(request.getType()),
+                attempt -> callOllama(request, attempt, flushPolicy),
+                (reason, wastedTokens) -> outputStats.recordRetry(wastedTokens)
+        ).start();
+    }
 
-            for (JsonNode questionNode : questionsArray) {
-                ResumeDto.MockInterviewResponse.InterviewQuestion question =
-                        new ResumeDto.MockInterviewResponse.InterviewQuestion();
+    private OllamaResponseHandler callOllama(GenerationRequest request, StreamHandler handler, TokenFlushPolicy flushPolicy) {
+        OllamaResponseHandler response = ollamaApiClient.callOllamaStream(
+                request.getSystemPrompt(),
+                request.getUserPrompt(),
+                request.getOptions(),
+                request.getFormat(),
+                flushPolicy,
+                handler
+        );
+        response.onTermination((stats, error) -> {
+            promptEvalStats.record(request, stats);
+            generationMetrics.recordOllama(request, stats, error);
+        });
+        return response;
+    }
 
-                question.setQuestion(questionNode.get("question").asText());
-                question.setCategory(questionNode.get("category").asText());
-                question.setExpectedAnswerDirection(questionNode.get("expectedAnswerDirection").asText());
-                question.setDifficulty(questionNode.get("difficulty").asText());
+    /**
+     * 스키마 이탈 시 중단 후 다시 생성할 수 있는 횟수 (0 이면 검증 없이 끝까지 생성)
+     */
+    public int outputRetryBudget() {
+        return validationEnabled ? Math.max(0, maxOutputRetries) : 0;
+    }
 
-                if (questionNode.has("personalizationReason")) {
-                    String enhanced = question.getExpectedAnswerDirection() +
-                            " [개인화 근거: " + questionNode.get("personalizationReason").asText() + "]";
-                    question.setExpectedAnswerDirection(enhanced);
-                }
+    public StreamingSchemaValidator newOutputValidator(GenerationType type) {
+        return new StreamingSchemaValidator(objectMapper, schemaGenerator.schemaOf(type.getOutputType()));
+    }
 
-                questions.add(question);
-            }
+    /**
+     * 면접 질문 스트리밍 파서 - questions[] 요소가 닫힐 때마다 "question" 이벤트 발행
+     */
+    public StructuredResponseParser<ResumeDto.MockInterviewResponse> newInterviewStreamParser(String resumeId) {
+        return new JsonStreamResponseParser<>(
+                objectMapper,
+                "questions",
+                "question",
+                interviewQuestionReader,
+                interviewReader,
+                this::toInterviewQuestion,
+                (questions, root) -> toInterviewResponse(resumeId, questions, root),
+                outputStats
+        );
+    }
 
-            String difficulty = jsonNode.get("overallDifficulty").asText();
-            String focusArea = jsonNode.get("focusArea").asText();
+    /**
+     * 학습 경로 스트리밍 파서 - learningSteps[] 요소가 닫힐 때마다 "step" 이벤트 발행
+     */
+    public StructuredResponseParser<ResumeDto.LearningPathResponse> newLearningPathStreamParser(String resumeId) {
+        return new JsonStreamResponseParser<>(
+                objectMapper,
+                "learningSteps",
+                "step",
+                learningStepReader,
+                learningPathReader,
+                this::toLearningStep,
+                (steps, root) -> toLearningPathResponse(resumeId, steps, root),
+                outputStats
+        );
+    }
 
-            if (jsonNode.has("interviewStrategy")) {
-                focusArea += " [전략: " + jsonNode.get("interviewStrategy").asText() + "]";
+    public ResumeDto.MockInterviewResponse parseInterviewResponse(String aiResponse, String resumeId) {
+        String jsonPart = ollamaApiClient.extractJsonFromResponse(aiResponse);
+        long started = System.nanoTime();
+        try {
+            ResumeAiOutput.Interview output = interviewReader.readValue(jsonPart);
+            if (output.questions() == null || output.questions().isEmpty()) {
+                log.warn("면접 질문이 없거나 잘못된 형식입니다. AI 응답: {}", aiResponse);
+                outputStats.recordFailure();
+                return createInterviewFallbackResponse(resumeId, jsonPart);
             }
 
-            return new ResumeDto.MockInterviewResponse(
-                    resumeId,
-                    questions,
-                    difficulty,
-                    focusArea,
-                    ""
-            );
+            List<ResumeDto.MockInterviewResponse.InterviewQuestion> questions = new ArrayList<>(output.questions().size());
+            for (ResumeAiOutput.InterviewQuestion question : output.questions()) {
+                questions.add(toInterviewQuestion(question));
+            }
+            ResumeDto.MockInterviewResponse response = toInterviewResponse(resumeId, questions, output);
+            outputStats.recordFullParse(System.nanoTime() - started);
+            return response;
 
         } catch (Exception e) {
             log.error("면접 질문 응답 파싱 실패", e);
+            outputStats.recordFailure();
             return createInterviewFallbackResponse(resumeId, jsonPart);
         }
     }
@@ -108,78 +246,118 @@ public class AICareerCoachService {
 
     public ResumeDto.LearningPathResponse parseLearningPathResponse(String aiResponse, String resumeId) {
         String jsonPart = ollamaApiClient.extractJsonFromResponse(aiResponse);
+        long started = System.nanoTime();
         try {
-            JsonNode jsonNode = objectMapper.readTree(jsonPart);
-
-            List<ResumeDto.LearningPathResponse.LearningStep> learningSteps = new ArrayList<>();
-            JsonNode stepsArray = jsonNode.get("learningSteps");
-
-            if (stepsArray == null || !stepsArray.isArray()) {
+            ResumeAiOutput.LearningPath output = learningPathReader.readValue(jsonPart);
+            if (output.learningSteps() == null || output.learningSteps().isEmpty()) {
                 log.warn("학습 단계가 없거나 잘못된 형식입니다. AI 응답: {}", aiResponse);
+                outputStats.recordFailure();
                 return createLearningPathFallbackResponse(resumeId, jsonPart);
             }
 
-            for (JsonNode stepNode : stepsArray) {
-                ResumeDto.LearningPathResponse.LearningStep step =
-                        new ResumeDto.LearningPathResponse.LearningStep();
-
-                step.setTitle(stepNode.get("title").asText());
-
-                // 개인화 근거를 설명에 통합
-                String description = stepNode.get("description").asText();
-                if (stepNode.has("personalizationReason")) {
-                    description += "\n\n💡 개인 맞춤 포인트: " + stepNode.get("personalizationReason").asText();
-                }
-                step.setDescription(description);
-
-                step.setCategory(stepNode.get("category").asText());
-                step.setPriority(stepNode.get("priority").asInt());
-                step.setEstimatedDuration(stepNode.get("estimatedDuration").asText());
-
-                // 리소스 파싱
-                List<String> resources = new ArrayList<>();
-                JsonNode resourcesArray = stepNode.get("resources");
-                if (resourcesArray != null && resourcesArray.isArray()) {
-                    for (JsonNode resource : resourcesArray) {
-                        resources.add(resource.asText());
-                    }
-                }
-                step.setResources(resources);
-
-                learningSteps.add(step);
+            List<ResumeDto.LearningPathResponse.LearningStep> learningSteps = new ArrayList<>(output.learningSteps().size());
+            for (ResumeAiOutput.LearningStep step : output.learningSteps()) {
+                learningSteps.add(toLearningStep(step));
             }
-
-            String currentLevel = jsonNode.get("currentLevel").asText();
-            String targetLevel = jsonNode.get("targetLevel").asText();
-            String timeframe = jsonNode.get("estimatedTimeframe").asText();
-
-            if (jsonNode.has("learningStrategy")) {
-                timeframe += " [전략: " + jsonNode.get("learningStrategy").asText() + "]";
-            }
-
-            return new ResumeDto.LearningPathResponse(
-                    resumeId,
-                    currentLevel,
-                    targetLevel,
-                    learningSteps,
-                    timeframe,
-                    ""
-            );
+            ResumeDto.LearningPathResponse response = toLearningPathResponse(resumeId, learningSteps, output);
+            outputStats.recordFullParse(System.nanoTime() - started);
+            return response;
 
         } catch (Exception e) {
             log.error("학습 경로 응답 파싱 실패", e);
+            outputStats.recordFailure();
             return createLearningPathFallbackResponse(resumeId, jsonPart);
         }
     }
 
-    private String formatUserPrompt(String template, Resume resume) {
-        return template
-                .replace("${industry}", resume.getIndustry())
-                .replace("${desiredPosition}", resume.getDesiredPosition())
-                .replace("${yearsOfExperience}", String.valueOf(resume.getYearsOfExperience()))
-                .replace("${careerSummary}", resume.getCareerSummary())
-                .replace("${jobExperience}", resume.getJobExperience())
-                .replace("${skills}", resume.getSkills());
+    private ResumeDto.MockInterviewResponse.InterviewQuestion toInterviewQuestion(ResumeAiOutput.InterviewQuestion output) {
+        String expectedAnswerDirection = require(output.expectedAnswerDirection(), "expectedAnswerDirection");
+        if (output.personalizationReason() != null) {
+            expectedAnswerDirection += " [개인화 근거: " + output.personalizationReason() + "]";
+        }
+        return new ResumeDto.MockInterviewResponse.InterviewQuestion(
+                require(output.question(), "question"),
+                require(output.category(), "category"),
+                expectedAnswerDirection,
+                require(output.difficulty(), "difficulty")
+        );
+    }
+
+    private ResumeDto.MockInterviewResponse toInterviewResponse(
+            String resumeId,
+            List<ResumeDto.MockInterviewResponse.InterviewQuestion> questions,
+            ResumeAiOutput.Interview output
+    ) {
+        String focusArea = require(output.focusArea(), "focusArea");
+        if (output.interviewStrategy() != null) {
+            focusArea += " [전략: " + output.interviewStrategy() + "]";
+        }
+
+        return new ResumeDto.MockInterviewResponse(
+                resumeId,
+                questions,
+                require(output.overallDifficulty(), "overallDifficulty"),
+                focusArea,
+                ""
+        );
+    }
+
+    private ResumeDto.LearningPathResponse.LearningStep toLearningStep(ResumeAiOutput.LearningStep output) {
+        // 개인화 근거를 설명에 통합
+        String description = require(output.description(), "description");
+        if (output.personalizationReason() != null) {
+            description += "\n\n💡 개인 맞춤 포인트: " + output.personalizationReason();
+        }
+
+        return new ResumeDto.LearningPathResponse.LearningStep(
+                require(output.title(), "title"),
+                description,
+                require(output.category(), "category"),
+                require(output.priority(), "priority"),
+                require(output.estimatedDuration(), "estimatedDuration"),
+                output.resources() != null ? output.resources() : List.of()
+        );
+    }
+
+    private ResumeDto.LearningPathResponse toLearningPathResponse(
+            String resumeId,
+            List<ResumeDto.LearningPathResponse.LearningStep> learningSteps,
+            ResumeAiOutput.LearningPath output
+    ) {
+        String timeframe = require(output.estimatedTimeframe(), "estimatedTimeframe");
+        if (output.learningStrategy() != null) {
+            timeframe += " [전략: " + output.learningStrategy() + "]";
+        }
+
+        return new ResumeDto.LearningPathResponse(
+                resumeId,
+                require(output.currentLevel(), "currentLevel"),
+                require(output.targetLevel(), "targetLevel"),
+                learningSteps,
+                timeframe,
+                ""
+        );
+    }
+
+    private static <V> V require(V value, String field) {
+        if (value == null) {
+            throw new IllegalArgumentException("필수 필드 누락: " + field);
+        }
+        return value;
+    }
+
+    /**
+     * 사용자 프롬프트 자리표시자 값 - null 필드는 템플릿 렌더링에서 빈 문자열이 된다
+     */
+    private static Map<String, String> userPromptValues(Resume resume) {
+        Map<String, String> values = new HashMap<>();
+        values.put("industry", resume.getIndustry());
+        values.put("desiredPosition", resume.getDesiredPosition());
+        values.put("yearsOfExperience", resume.getYearsOfExperience() != null ? String.valueOf(resume.getYearsOfExperience()) : null);
+        values.put("careerSummary", resume.getCareerSummary());
+        values.put("jobExperience", resume.getJobExperience());
+        values.put("skills", resume.getSkills());
+        return values;
     }
 
     private ResumeDto.MockInterviewResponse createInterviewFallbackResponse(String resumeId, String result) {
@@ -0,0 +1,263 @@
+package com.example.resume_coach.service;
+
+import com.example.resume_coach.component.GenerationMetrics;
+import com.example.resume_coach.component.GenerationResultCache;
+import com.example.resume_coach.component.OllamaAdmissionController;
+import com.example.resume_coach.component.ReactiveOllamaClient;
+import com.example.resume_coach.component.StreamingSchemaValidator;
+import com.example.resume_coach.component.StructuredOutputStats;
+import com.example.resume_coach.component.TokenFlushPolicies;
+import com.example.resume_coach.component.TokenFlushPolicy;
+import com.example.resume_coach.handler.StructuredResponseParser;
+import com.example.resume_coach.model.GenerationRequest;
+import com.example.resume_coach.model.GenerationType;
+import com.example.resume_coach.model.ResumeDto;
+import com.example.resume_coach.repository.ResumeRepository;
+import com.example.resume_coach.repository.entity.Resume;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 리액티브 SSE 스트리밍 - Ollama NDJSON → Flux&lt;String&gt; 토큰 → Flux&lt;ServerSentEvent&gt;.
+ * 연결당 스레드나 SseEmitter 를 잡지 않으며, 하트비트는 SSEHeartBeatManager 대신 Flux.interval 병합으로 전송한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveResumeService {
+
+    private final ResumeRepository resumeRepository;
+    private final AICareerCoachService aiService;
+    private final ReactiveOllamaClient reactiveOllamaClient;
+    private final GenerationResultCache resultCache;
+    private final OllamaAdmissionController admissionController;
+    private final TokenFlushPolicies flushPolicies;
+    private final StructuredOutputStats outputStats;
+    private final GenerationMetrics generationMetrics;
+
+    @Value("${sse.reactive.heartbeat-seconds:15}")
+    private long heartbeatSeconds;
+
+    public Flux<ServerSentEvent<Object>> streamMockInterview(String resumeId, boolean emitDeltas) {
+        log.info("🎯 개인 맞춤형 면접 질문 생성 요청 (reactive): 이력서 ID = {}", resumeId);
+        return withHeartbeat(timed(GenerationType.INTERVIEW, findResume(resumeId)
+                .flatMapMany(resume -> generate(
+                        aiService.prepareMockInterview(resume),
+                        () -> aiService.newInterviewStreamParser(resumeId),
+                        full -> aiService.parseInterviewResponse(full, resumeId),
+                        ResumeDto.MockInterviewResponse::getErrorMessage,
+                        emitDeltas))
+                .onErrorResume(e -> {
+                    log.error("면접 질문 생성 중 오류 발생", e);
+                    return Flux.just(event("error", "면접 질문 생성 중 오류: " + e.getMessage()));
+                })));
+    }
+
+    public Flux<ServerSentEvent<Object>> streamLearningPath(String resumeId, boolean emitDeltas) {
+        log.info("🎯 개인 맞춤형 학습 경로 생성 요청 (reactive): 이력서 ID = {}", resumeId);
+        return withHeartbeat(timed(GenerationType.LEARNING, findResume(resumeId)
+                .flatMapMany(resume -> generate(
+                        aiService.prepareLearningPath(resume),
+                        () -> aiService.newLearningPathStreamParser(resumeId),
+                        full -> aiService.parseLearningPathResponse(full, resumeId),
+                        ResumeDto.LearningPathResponse::getErrorMessage,
+                        emitDeltas))
+                .onErrorResume(e -> {
+                    log.error("맞춤형 학습 경로 생성 중 오류 발생", e);
+                    return Flux.just(event("error", "학습 경로 생성 중 오류: " + e.getMessage()));
+                })));
+    }
+
+    /**
+     * 새 Ollama 생성(슬롯)이 필요한 요청인지 - 캐시 적중이면 필요 없음. 포화 상태에서만 호출되므로 조회는 호출 스레드에서 한다.
+     * 이력서가 없으면 false (스트림에서 error 이벤트로 응답)
+     */
+    public boolean needsGenerationSlot(String resumeId, GenerationType type) {
+        return resumeRepository.findById(resumeId)
+                .map(resume -> type == GenerationType.INTERVIEW
+                        ? aiService.prepareMockInterview(resume)
+                        : aiService.prepareLearningPath(resume))
+                .map(request -> !resultCache.contains(request))
+                .orElse(false);
+    }
+
+    /**
+     * 구독(요청 수신)부터 스트림 종료까지의 지연 기록 - 오류 이벤트로 끝났거나 클라이언트가 끊은 경우는 outcome 으로 구분
+     */
+    private Flux<ServerSentEvent<Object>> timed(GenerationType type, Flux<ServerSentEvent<Object>> events) {
+        return Flux.defer(() -> {
+            long started = System.nanoTime();
+            AtomicBoolean failed = new AtomicBoolean();
+            return events
+                    .doOnNext(event -> {
+                        if ("error".equals(event.event())) {
+                            failed.set(true);
+                        }
+                    })
+                    .doFinally(signal -> generationMetrics.recordLatency(type, System.nanoTime() - started,
+                            signal == SignalType.CANCEL ? "cancelled" : failed.get() ? "error" : "completed"));
+        });
+    }
+
+    /**
+     * JPA 조회는 블로킹이므로 boundedElastic 에서 실행
+     */
+    private Mono<Resume> findResume(String resumeId) {
+        return Mono.fromCallable(() -> resumeRepository.findById(resumeId)
+                        .orElseThrow(() -> new RuntimeException("이력서를 찾을 수 없습니다: " + resumeId)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * 캐시 적중 시 저장된 결과를 재전송하고, 아니면 생성 슬롯을 얻어 Ollama 를 스트리밍한 뒤 정상 결과만 캐시에 저장.
+     * 토큰은 TokenFlushPolicy 의 개수/바이트/지연/문장 경계 기준으로 묶어 SSE 프레임 수를 줄인다.
+     */
+    private <T> Flux<ServerSentEvent<Object>> generate(
+            GenerationRequest request,
+            Supplier<StructuredResponseParser<T>> structuredParsers,
+            Function<String, T> parser,
+            Function<T, String> errorMessageOf,
+            boolean emitDeltas
+    ) {
+        Optional<GenerationResultCache.CachedGeneration> cached = resultCache.get(request);
+        if (cached.isPresent()) {
+            log.info("캐시된 생성 결과 재전송: 이력서 ID = {}, 해시 = {}", request.getResumeId(), request.getPromptHash());
+            String raw = cached.get().getRawResponse();
+            Flux<ServerSentEvent<Object>> delta = emitDeltas && raw != null && !raw.isEmpty()
+                    ? Flux.just(ServerSentEvent.builder((Object) raw).build())
+                    : Flux.empty();
+            return delta.concatWith(Mono.just(event("final", cached.get().getResult())));
+        }
+
+        // 슬롯 허가를 기다리는 동안 queue 이벤트 전송, 허가되면 생성 시작 (완료/오류/취소 시 슬롯 반환)
+        Sinks.Many<ServerSentEvent<Object>> queueEvents = Sinks.many().unicast().onBackpressureBuffer();
+        Mono<OllamaAdmissionController.Permit> permit = Mono.defer(() -> Mono.fromFuture(admissionController
+                        .enqueue((position, wait) -> queueEvents.tryEmitNext(
+                                event("queue", Map.of("position", position, "estimatedWaitSeconds", wait))))
+                        .permit()))
+                .doOnNext(granted -> generationMetrics.recordQueueWait(request, granted.getQueueWaitNanos()))
+                .doFinally(signal -> queueEvents.tryEmitComplete());
+        Flux<ServerSentEvent<Object>> generation = Flux.usingWhen(
+                permit,
+                granted -> attempt(request, structuredParsers, parser, errorMessageOf, emitDeltas, 1),
+                granted -> Mono.fromRunnable(granted::release));
+        return Flux.merge(queueEvents.asFlux(), generation);
+    }
+
+    /**
+     * 한 번의 생성 시도. 재시도 예산이 남아 있으면 부분 JSON 을 스키마로 검증하고, 이탈하면 Ollama 스트림을 끊고
+     * retry 이벤트 뒤에 다음 시도를 이어 붙인다 (같은 생성 슬롯 안에서 재시도).
+     */
+    private <T> Flux<ServerSentEvent<Object>> attempt(
+            GenerationRequest request,
+            Supplier<StructuredResponseParser<T>> structuredParsers,
+            Function<String, T> parser,
+            Function<T, String> errorMessageOf,
+            boolean emitDeltas,
+            int attempt
+    ) {
+        return Flux.defer(() -> {
+            TokenFlushPolicy policy = flushPolicies.forDeltas(emitDeltas);
+            StructuredResponseParser<T> structuredParser = structuredParsers.get();
+            StringBuilder full = new StringBuilder();
+
+            Flux<String> tokens = reactiveOllamaClient.streamTokens(request);
+            if (attempt <= aiService.outputRetryBudget()) {
+                StreamingSchemaValidator validator = aiService.newOutputValidator(request.getType());
+                AtomicLong generated = new AtomicLong();
+                tokens = tokens.handle((token, sink) -> {
+                    long count = generated.incrementAndGet();
+                    String divergence = validator.feed(token);
+                    if (divergence != null) {
+                        sink.error(new StreamingSchemaValidator.DivergedException(divergence, count));
+                    } else {
+                        sink.next(token);
+                    }
+                });
+            }
+
+            Flux<ServerSentEvent<Object>> tokenEvents = batch(tokens, policy)
+                    .concatMapIterable(token -> {
+                        full.append(token);
+                        List<ServerSentEvent<Object>> events = new ArrayList<>(2);
+                        structuredParser.feed(token, (name, element) -> events.add(event(name, element)));
+                        if (emitDeltas) {
+                            events.add(ServerSentEvent.builder((Object) token).build());
+                        }
+                        return events;
+                    });
+
+            Mono<ServerSentEvent<Object>> finalEvent = Mono.fromCallable(() -> {
+                // 스트리밍 중 이미 파싱된 조각으로 조립, 불가능하면 전체 응답 파싱
+                T dto = structuredParser.assemble();
+                if (dto == null) {
+                    dto = parser.apply(full.toString());
+                }
+                String errorMessage = errorMessageOf.apply(dto);
+                if (errorMessage == null || errorMessage.isEmpty()) { // fallback 응답은 캐시하지 않음
+                    resultCache.put(request, full.toString(), dto);
+                }
+                return event("final", dto);
+            });
+
+            return tokenEvents.concatWith(finalEvent);
+        }).onErrorResume(StreamingSchemaValidator.DivergedException.class, e -> {
+            log.warn("구조화 출력 스키마 이탈 - 생성 중단 후 재시도 (reactive): 시도 = {}, 이유 = {}, 낭비 토큰 = {}",
+                    attempt, e.getMessage(), e.getWastedTokens());
+            outputStats.recordRetry(e.getWastedTokens());
+            return Flux.just(event("retry", Map.of(
+                            "attempt", attempt + 1,
+                            "reason", e.getMessage(),
+                            "wastedTokens", e.getWastedTokens())))
+                    .concatWith(attempt(request, structuredParsers, parser, errorMessageOf, emitDeltas, attempt + 1));
+        });
+    }
+
+    /**
+     * OllamaStreamSubscriber 와 같은 TokenFlushPolicy 로 토큰을 묶는다 - 토큰 수/지연 한도는 windowTimeout,
+     * 바이트 한도와 문장 경계는 윈도 안의 bufferUntil 이 처리한다.
+     * fairBackpressure - 클라이언트 수요가 없으면 타이머가 만료돼도 윈도를 닫지 않고 upstream 요청을 멈춘다
+     */
+    private static Flux<String> batch(Flux<String> tokens, TokenFlushPolicy policy) {
+        return tokens
+                .windowTimeout(policy.getMaxTokens(), Duration.ofMillis(policy.getMaxDelayMs()), true)
+                .concatMap(window -> window.bufferUntil(policy.batchBoundary()))
+                .filter(batch -> !batch.isEmpty())
+                .map(batch -> String.join("", batch));
+    }
+
+    /**
+     * 시작 keepalive 후 스트림이 끝날 때까지 주기적으로 주석 이벤트 병합
+     */
+    private Flux<ServerSentEvent<Object>> withHeartbeat(Flux<ServerSentEvent<Object>> events) {
+        Flux<ServerSentEvent<Object>> start = Flux.just(ServerSentEvent.builder().event("keepalive").comment("start").build());
+        return start.concatWith(events.publish(shared -> Flux.merge(
+                shared,
+                Flux.interval(Duration.ofSeconds(heartbeatSeconds))
+                        .map(tick -> ServerSentEvent.builder().comment("ping").build())
+                        .takeUntilOther(shared.then())
+        )));
+    }
+
+    private static ServerSentEvent<Object> event(String name, Object data) {
+        return ServerSentEvent.builder(data).event(name).build();
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.resume_coach.service;
 
-import com.example.resume_coach.component.SSEHeartBeatManager;
-import com.example.resume_coach.handler.OllamaResponseHandler;
+import com.example.resume_coach.component.GenerationResultCache;
+import com.example.resume_coach.component.InFlightGenerationRegistry;
+import com.example.resume_coach.component.TokenFlushPolicies;
 import com.example.resume_coach.handler.SSEOllamaStreamHandler;
-import com.example.resume_coach.handler.StreamHandler;
+import com.example.resume_coach.handler.SseOutboundQueue;
+import com.example.resume_coach.model.GenerationRequest;
+import com.example.resume_coach.model.GenerationType;
 import com.example.resume_coach.model.ResumeDto;
 import com.example.resume_coach.repository.ResumeRepository;
 import com.example.resume_coach.repository.entity.Resume;
@@ -14,7 +17,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
 import java.util.Optional;
 import java.util.function.Function;
 
@@ -26,6 +28,9 @@ public class ResumeService {
 
     private final ResumeRepository resumeRepository;
     private final AICareerCoachService aiService;
+    private final GenerationResultCache resultCache;
+    private final InFlightGenerationRegistry inFlightRegistry;
+    private final TokenFlushPolicies flushPolicies;
 
     public ResumeDto.Response createResume(ResumeDto.CreateRequest request) {
         log.info("새로운 이력서 생성 요청: {}", request.getCareerSummary());
@@ -67,6 +72,7 @@ public class ResumeService {
         resume.setIndustry(request.getIndustry());
 
         Resume updatedResume = resumeRepository.save(resume);
+        resultCache.invalidate(id);
         log.info("이력서 수정 완료: ID = {}", updatedResume.getId());
 
         return convertToResponse(updatedResume);
@@ -80,53 +86,149 @@ public class ResumeService {
         }
 
         resumeRepository.deleteById(id);
+        resultCache.invalidate(id);
         log.info("이력서 삭제 완료: ID = {}", id);
     }
 
 
+    /**
+     * 새 Ollama 생성(슬롯)이 필요한 요청인지 - Last-Event-ID 재합류, 캐시 적중, 실행 중인 생성 합류는 슬롯이 필요 없다.
+     * 이력서가 없으면 false (비동기 경로에서 error 이벤트로 응답)
+     */
+    public boolean needsGenerationSlot(String resumeId, GenerationType type, String lastEventId) {
+        Optional<Resume> resume = resumeRepository.findById(resumeId);
+        if (resume.isEmpty()) {
+            return false;
+        }
+        GenerationRequest request = type == GenerationType.INTERVIEW
+                ? aiService.prepareMockInterview(resume.get())
+                : aiService.prepareLearningPath(resume.get());
+        return !resultCache.contains(request) && !inFlightRegistry.canJoin(request, generationIdOf(lastEventId));
+    }
+
     @Async("aiServiceExecutor")
-    public void generateMockInterviewStream(String resumeId, boolean emitDeltas, SseEmitter emitter, SSEHeartBeatManager heartBeat) throws IOException {
+    public void generateMockInterviewStream(String resumeId, boolean emitDeltas, String lastEventId, SseOutboundQueue outbound) {
         log.info("🎯 개인 맞춤형 면접 질문 생성 요청 : 이력서 ID = {}", resumeId);
         try {
             Resume resume = resumeRepository.findById(resumeId).orElseThrow(() -> new RuntimeException("이력서를 찾을 수 없습니다: " + resumeId));
             Function<String, ResumeDto.MockInterviewResponse> parser = full -> aiService.parseInterviewResponse(full, resumeId);
-            StreamHandler handler = new SSEOllamaStreamHandler<>(emitter, parser, emitDeltas, heartBeat);
-            OllamaResponseHandler responseHandler = aiService.generateMockInterviewQuestionsStream(resume, handler);
-            emitter.onTimeout(() -> {
-                responseHandler.cancel();
-                emitter.completeWithError(new java.util.concurrent.TimeoutException("SSE timeout"));
-            });
-            emitter.onError(e -> {
-                responseHandler.cancel();
-            });
+            SSEOllamaStreamHandler<ResumeDto.MockInterviewResponse> handler = new SSEOllamaStreamHandler<>(outbound, parser, emitDeltas)
+                    .withStructuredParser(() -> aiService.newInterviewStreamParser(resumeId));
+            streamGeneration(aiService.prepareMockInterview(resume), handler, ResumeDto.MockInterviewResponse::getErrorMessage, emitDeltas, lastEventId, outbound.getEmitter());
         } catch (Exception e) {
             log.error("면접 질문 생성 중 오류 발생", e);
-            emitter.send(SseEmitter.event().name("error").data("면접 질문 생성 중 오류: " + e.getMessage()));
-            emitter.completeWithError(e);
+            outbound.event("error", "면접 질문 생성 중 오류: " + e.getMessage());
+            outbound.completeWithError(e);
         }
     }
 
 
     @Async("aiServiceExecutor")
-    public void generateLearningPathStream(String resumeId, boolean emitDeltas, SseEmitter emitter, SSEHeartBeatManager heartBeat) throws IOException {
+    public void generateLearningPathStream(String resumeId, boolean emitDeltas, String lastEventId, SseOutboundQueue outbound) {
         log.info("🎯 개인 맞춤형 학습 경로 생성 요청: 이력서 ID = {}", resumeId);
         try {
             Resume resume = resumeRepository.findById(resumeId).orElseThrow(() -> new RuntimeException("이력서를 찾을 수 없습니다: " + resumeId));
             Function<String, ResumeDto.LearningPathResponse> parser = full -> aiService.parseLearningPathResponse(full, resumeId);
-            StreamHandler handler = new SSEOllamaStreamHandler<>(emitter, parser, emitDeltas, heartBeat);
-            OllamaResponseHandler responseHandler = aiService.generateLearningPathStream(resume, handler);
-            emitter.onTimeout(() -> {
-                responseHandler.cancel();
-                emitter.completeWithError(new java.util.concurrent.TimeoutException("SSE timeout"));
-            });
-            emitter.onError(e -> {
-                responseHandler.cancel();
-            });
+            SSEOllamaStreamHandler<ResumeDto.LearningPathResponse> handler = new SSEOllamaStreamHandler<>(outbound, parser, emitDeltas)
+                    .withStructuredParser(() -> aiService.newLearningPathStreamParser(resumeId));
+            streamGeneration(aiService.prepareLearningPath(resume), handler, ResumeDto.LearningPathResponse::getErrorMessage, emitDeltas, lastEventId, outbound.getEmitter());
         } catch (Exception e) {
             log.error("맞춤형 학습 경로 생성 중 오류 발생", e);
-            emitter.send(SseEmitter.event().name("error").data("면접 질문 생성 중 오류: " + e.getMessage()));
-            emitter.completeWithError(e);
+            outbound.event("error", "면접 질문 생성 중 오류: " + e.getMessage());
+            outbound.completeWithError(e);
+        }
+    }
+
+    /**
+     * Last-Event-ID 가 보관 중인 생성을 가리키면 놓친 이벤트부터 이어서 전송하고,
+     * 아니면 캐시 적중 시 저장된 결과를 재전송, 그 외에는 Ollama 스트리밍(동일 요청은 합류) 후 정상 결과만 캐시에 저장
+     */
+    @SuppressWarnings("unchecked")
+    private <T> void streamGeneration(
+            GenerationRequest request,
+            SSEOllamaStreamHandler<T> handler,
+            Function<T, String> errorMessageOf,
+            boolean emitDeltas,
+            String lastEventId,
+            SseEmitter emitter
+    ) {
+        handler.onResult((full, dto) -> {
+            String errorMessage = errorMessageOf.apply(dto);
+            if (errorMessage == null || errorMessage.isEmpty()) { // fallback 응답은 캐시하지 않음
+                resultCache.put(request, full, dto);
+            }
+        });
+        Optional<InFlightGenerationRegistry.Attachment> resumed = resume(request, lastEventId, handler);
+        if (resumed.isPresent()) {
+            bindDetach(emitter, resumed.get());
+            return;
         }
+
+        Optional<GenerationResultCache.CachedGeneration> cached = resultCache.get(request);
+        if (cached.isPresent()) {
+            log.info("캐시된 생성 결과 재전송: 이력서 ID = {}, 해시 = {}", request.getResumeId(), request.getPromptHash());
+            handler.replay(cached.get().getRawResponse(), (T) cached.get().getResult());
+            return;
+        }
+
+        // 동일 요청이 이미 실행 중이면 합류, 마지막 구독자가 떠난 뒤 재연결 대기 시간이 지나면 업스트림 취소
+        InFlightGenerationRegistry.Attachment attachment = inFlightRegistry.attach(
+                request,
+                handler,
+                broadcast -> aiService.generateStream(request, broadcast, flushPolicies.forDeltas(emitDeltas))
+        );
+        bindDetach(emitter, attachment);
+    }
+
+    /**
+     * "{생성 ID}:{순번}" 형식의 Last-Event-ID 로 보관 중인 생성에 재합류 (같은 요청의 생성일 때만)
+     */
+    private Optional<InFlightGenerationRegistry.Attachment> resume(
+            GenerationRequest request,
+            String lastEventId,
+            SSEOllamaStreamHandler<?> handler
+    ) {
+        String generationId = generationIdOf(lastEventId);
+        if (generationId == null) {
+            return Optional.empty();
+        }
+        int separator = lastEventId.lastIndexOf(':');
+        long seq;
+        try {
+            seq = Long.parseLong(lastEventId.substring(separator + 1).trim());
+        } catch (NumberFormatException e) {
+            log.warn("잘못된 Last-Event-ID: {}", lastEventId);
+            return Optional.empty();
+        }
+        handler.resumeAfter(seq);
+        Optional<InFlightGenerationRegistry.Attachment> attachment =
+                inFlightRegistry.resume(request, generationId, seq, handler);
+        if (attachment.isEmpty()) {
+            handler.resumeAfter(0); // 만료된 생성 - 처음부터 전송
+        }
+        return attachment;
+    }
+
+    /**
+     * "{생성 ID}:{순번}" 에서 생성 ID (형식이 아니면 null)
+     */
+    private static String generationIdOf(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        int separator = lastEventId.lastIndexOf(':');
+        return separator > 0 ? lastEventId.substring(0, separator).trim() : null;
+    }
+
+    private void bindDetach(SseEmitter emitter, InFlightGenerationRegistry.Attachment attachment) {
+        emitter.onTimeout(() -> {
+            attachment.detach();
+            emitter.completeWithError(new java.util.concurrent.TimeoutException("SSE timeout"));
+        });
+        emitter.onError(e -> {
+            attachment.detach();
+        });
+        emitter.onCompletion(attachment::detach);
     }
 
     private ResumeDto.Response convertToResponse(Resume resume) {
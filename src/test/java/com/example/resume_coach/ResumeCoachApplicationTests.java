@@ -3,7 +3,7 @@ package com.example.resume_coach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "sse.reactive.server.port=0")
 class ResumeCoachApplicationTests {
 
 	@Test
@@ -0,0 +1,67 @@
+package com.example.resume_coach.component;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalJsonParserTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void emitsEachElementAsSoonAsItCloses() {
+		List<String> elements = new ArrayList<>();
+		Map<String, String> rootFields = new LinkedHashMap<>();
+		IncrementalJsonParser parser = newParser(elements, rootFields);
+
+		String response = "```json\n{\"questions\": [{\"question\": \"트래픽 급증 시 {대응} 방법은?\", \"difficulty\": \"중급\"},"
+				+ " {\"question\": \"장애 회고 경험\", \"difficulty\": \"고급\"}], \"focusArea\": \"백엔드\","
+				+ " \"tags\": [\"a\", \"b\"]}\n```\n추가 설명";
+
+		int firstElementClosedAt = response.indexOf("},") + 1;
+		for (int i = 0; i < response.length(); i += 3) {
+			parser.feed(response.substring(i, Math.min(i + 3, response.length())));
+			if (i + 3 < firstElementClosedAt) {
+				assertTrue(elements.isEmpty());
+			}
+		}
+
+		assertEquals(2, elements.size());
+		assertTrue(elements.get(0).contains("트래픽 급증 시 {대응} 방법은?"));
+		assertEquals("\"백엔드\"", rootFields.get("focusArea"));
+		assertEquals("[\"a\",\"b\"]", rootFields.get("tags"));
+		assertTrue(parser.isComplete());
+	}
+
+	@Test
+	void reportsFailureOnMalformedJson() {
+		IncrementalJsonParser parser = newParser(new ArrayList<>(), new LinkedHashMap<>());
+
+		parser.feed("{\"questions\": [{\"question\": 질문}]}");
+
+		assertTrue(parser.isFailed());
+		assertFalse(parser.isComplete());
+	}
+
+	private IncrementalJsonParser newParser(List<String> elements, Map<String, String> rootFields) {
+		return new IncrementalJsonParser(objectMapper, Set.of("questions"), new IncrementalJsonParser.Listener() {
+			@Override
+			public void onElement(String arrayField, JsonParser element) throws java.io.IOException {
+				elements.add(objectMapper.readTree(element).toString());
+			}
+
+			@Override
+			public void onRootField(String field, JsonParser value) throws java.io.IOException {
+				rootFields.put(field, objectMapper.readTree(value).toString());
+			}
+		});
+	}
+}
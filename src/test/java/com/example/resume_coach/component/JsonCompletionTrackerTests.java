@@ -0,0 +1,75 @@
+package com.example.resume_coach.component;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonCompletionTrackerTests {
+
+	@Test
+	void ignoresBracesInsideStrings() {
+		String json = "{\"question\": \"트래픽 {대응} 방법은}\", \"tags\": [\"]\", \"[\"]}";
+		JsonCompletionTracker tracker = new JsonCompletionTracker();
+
+		int closedAt = feedInChunks(tracker, json + "\n추가 설명", 3);
+
+		assertEquals(json.length(), closedAt);
+		assertTrue(tracker.isClosed());
+	}
+
+	@Test
+	void handlesEscapedQuotesAndBackslashes() {
+		String json = "{\"a\": \"말한 \\\"}\\\" 기호\", \"path\": \"C:\\\\\", \"b\": {\"c\": 1}}";
+		JsonCompletionTracker tracker = new JsonCompletionTracker();
+
+		int closedAt = feedInChunks(tracker, json, 1);
+
+		assertEquals(json.length(), closedAt);
+	}
+
+	@Test
+	void skipsTextBeforeFirstBrace() {
+		String prefix = "다음은 결과입니다 ]}\n```json\n";
+		String json = "{\"questions\": [{\"q\": 1}, {\"q\": 2}]}";
+		JsonCompletionTracker tracker = new JsonCompletionTracker();
+
+		int closedAt = feedInChunks(tracker, prefix + json + "\n```", 4);
+
+		assertEquals(prefix.length() + json.length(), closedAt);
+	}
+
+	@Test
+	void closeBraceSplitAcrossTokens() {
+		JsonCompletionTracker tracker = new JsonCompletionTracker();
+
+		assertEquals(-1, tracker.feed("```json\n{\"a\": {\"b\": 1", 0, 21));
+		assertEquals(-1, tracker.feed("}", 0, 1));
+		assertFalse(tracker.isClosed());
+		char[] last = "}\n```".toCharArray();
+		assertEquals(1, tracker.feed(last, 0, last.length));
+		assertTrue(tracker.isClosed());
+		assertEquals(-1, tracker.feed("{}", 0, 2));
+	}
+
+	@Test
+	void reportsLengthWithinOffsetChunk() {
+		JsonCompletionTracker tracker = new JsonCompletionTracker();
+		String buffer = "xx{\"a\": 1} 이후";
+
+		assertEquals(8, tracker.feed(buffer, 2, buffer.length() - 2));
+	}
+
+	/**
+	 * chunkSize 글자씩 나눠 넣고 닫힌 위치를 전체 텍스트 기준 길이로 반환 (닫히지 않으면 -1)
+	 */
+	private static int feedInChunks(JsonCompletionTracker tracker, String text, int chunkSize) {
+		for (int start = 0; start < text.length(); start += chunkSize) {
+			int length = Math.min(chunkSize, text.length() - start);
+			int end = tracker.feed(text, start, length);
+			if (end >= 0) {
+				return start + end;
+			}
+		}
+		return -1;
+	}
+}
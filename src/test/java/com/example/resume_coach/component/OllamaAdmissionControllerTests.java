@@ -0,0 +1,141 @@
+package com.example.resume_coach.component;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OllamaAdmissionControllerTests {
+
+	// 대기열 순번 알림은 예약하지 않음
+	private final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler() {
+		@Override
+		public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Duration period) {
+			return null;
+		}
+	};
+	private final List<Integer> positions = new ArrayList<>();
+
+	@Test
+	void grantsQueuedTicketsInArrivalOrder() {
+		OllamaAdmissionController admission = controller(1, 4, false);
+		OllamaAdmissionController.Permit first = admission.enqueue(this::queued).permit().join();
+		OllamaAdmissionController.Ticket second = admission.enqueue(this::queued);
+		OllamaAdmissionController.Ticket third = admission.enqueue(this::queued);
+
+		assertEquals(List.of(1, 2), positions);
+		assertFalse(second.permit().isDone());
+
+		first.release();
+		assertTrue(second.permit().isDone());
+		assertFalse(third.permit().isDone());
+
+		second.permit().join().release();
+		assertTrue(third.permit().isDone());
+		assertEquals(1, admission.stats().getInUse());
+	}
+
+	@Test
+	void cancelledQueuedTicketIsSkippedWithoutLeakingASlot() {
+		OllamaAdmissionController admission = controller(1, 4, false);
+		OllamaAdmissionController.Permit first = admission.enqueue(this::queued).permit().join();
+		OllamaAdmissionController.Ticket cancelled = admission.enqueue(this::queued);
+		OllamaAdmissionController.Ticket waiting = admission.enqueue(this::queued);
+
+		cancelled.cancel();
+		assertEquals(1, admission.stats().getQueued());
+
+		first.release();
+		assertTrue(waiting.permit().isDone());
+		assertEquals(1, admission.stats().getInUse());
+		assertEquals(0, admission.stats().getQueued());
+	}
+
+	@Test
+	void saturatedOnlyWhenSlotsAndQueueAreBothFull() {
+		OllamaAdmissionController admission = controller(1, 2, false);
+		assertFalse(admission.isSaturated());
+
+		admission.enqueue(this::queued);
+		admission.enqueue(this::queued);
+		assertFalse(admission.isSaturated());
+
+		admission.enqueue(this::queued);
+		assertTrue(admission.isSaturated());
+		OllamaAdmissionController.RejectedException rejected = assertThrows(OllamaAdmissionController.RejectedException.class,
+				() -> admission.enqueue(this::queued));
+		assertTrue(rejected.getRetryAfterSeconds() >= 1);
+	}
+
+	@Test
+	void sloViolationDecreasesLimitOncePerCooldown() {
+		OllamaAdmissionController admission = controller(4, 4, true);
+
+		admission.recordSample(sample(9_000, 20));
+		assertEquals(3, admission.stats().getLimit());
+
+		admission.recordSample(sample(9_000, 20)); // 쿨다운 중
+		assertEquals(3, admission.stats().getLimit());
+	}
+
+	@Test
+	void limitGrowsAdditivelyWhileFullyUsedWithinSloAndGrantsWaiters() {
+		OllamaAdmissionController admission = controller(2, 4, true);
+		ReflectionTestUtils.setField(admission, "maxLimit", 3);
+		admission.enqueue(this::queued);
+		admission.enqueue(this::queued);
+		OllamaAdmissionController.Ticket waiting = admission.enqueue(this::queued);
+
+		admission.recordSample(sample(1_000, 20));
+		admission.recordSample(sample(1_000, 20));
+		assertEquals(2, admission.stats().getLimit()); // 2 → 2.5 → 2.9 - 정수 한도는 아직 그대로
+		assertFalse(waiting.permit().isDone());
+
+		admission.recordSample(sample(1_000, 20));
+		assertEquals(3, admission.stats().getLimit());
+		assertTrue(waiting.permit().isDone());
+
+		for (int i = 0; i < 10; i++) {
+			admission.recordSample(sample(1_000, 20));
+		}
+		assertEquals(3, admission.stats().getLimit()); // max-limit 에서 멈춤
+	}
+
+	private OllamaAdmissionController controller(int maxConcurrent, int maxQueue, boolean adaptive) {
+		OllamaAdmissionController admission = new OllamaAdmissionController(scheduler, new GenerationMetrics(new SimpleMeterRegistry()));
+		ReflectionTestUtils.setField(admission, "maxConcurrent", maxConcurrent);
+		ReflectionTestUtils.setField(admission, "maxQueue", maxQueue);
+		ReflectionTestUtils.setField(admission, "acquireTimeoutSeconds", 600L);
+		ReflectionTestUtils.setField(admission, "queueUpdateSeconds", 3600L);
+		ReflectionTestUtils.setField(admission, "initialGenerationSeconds", 30L);
+		ReflectionTestUtils.setField(admission, "adaptive", adaptive);
+		ReflectionTestUtils.setField(admission, "minLimit", 1);
+		ReflectionTestUtils.setField(admission, "maxLimit", maxConcurrent);
+		ReflectionTestUtils.setField(admission, "ttftSloMs", 8_000L);
+		ReflectionTestUtils.setField(admission, "minTokensPerSecond", 8.0);
+		ReflectionTestUtils.setField(admission, "decreaseFactor", 0.75);
+		ReflectionTestUtils.setField(admission, "decreaseCooldownSeconds", 10L);
+		admission.init();
+		return admission;
+	}
+
+	private static OllamaStreamStats sample(long ttftMs, long tokensPerSecond) {
+		OllamaStreamStats stats = new OllamaStreamStats();
+		stats.setDone(true);
+		stats.setTimeToFirstTokenNanos(ttftMs * 1_000_000);
+		stats.setEvalCount(tokensPerSecond);
+		stats.setEvalDuration(1_000_000_000L);
+		return stats;
+	}
+
+	private void queued(int position, long estimatedWaitSeconds) {
+		positions.add(position);
+	}
+}
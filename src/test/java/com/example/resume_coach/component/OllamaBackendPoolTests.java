@@ -0,0 +1,96 @@
+package com.example.resume_coach.component;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OllamaBackendPoolTests {
+
+	// 능동 probe 는 예약하지 않음
+	private final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler() {
+		@Override
+		public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Duration period) {
+			return null;
+		}
+	};
+
+	@Test
+	void parsesUrlWeightAndParallel() {
+		OllamaBackend backend = OllamaBackendPool.parseBackend("http://gpu-1:11434/;3;8");
+
+		assertEquals("http://gpu-1:11434", backend.getBaseUrl());
+		assertEquals(3, backend.getWeight());
+		assertEquals(8, backend.getParallel());
+	}
+
+	@Test
+	void weightAndParallelDefaultWhenOmitted() {
+		OllamaBackend backend = OllamaBackendPool.parseBackend("http://gpu-1:11434");
+
+		assertEquals(1, backend.getWeight());
+		assertEquals(4, backend.getParallel());
+	}
+
+	@Test
+	void rejectsInvalidEntriesNamingTheEntry() {
+		for (String entry : new String[]{"http://gpu-1:11434;zero", "http://gpu-1:11434;0", "http://gpu-1:11434;1;-2",
+				"http://gpu-1:11434;", "gpu-1:11434", "http://gpu 1:11434", "http://gpu-1:11434;1;4;9"}) {
+			IllegalStateException e = assertThrows(IllegalStateException.class, () -> OllamaBackendPool.parseBackend(entry));
+			assertTrue(e.getMessage().contains("'" + entry + "'"), e.getMessage());
+		}
+	}
+
+	@Test
+	void routesToLeastLoadedBackendRelativeToWeight() {
+		OllamaBackendPool pool = pool("http://a:11434;1,http://b:11434;2");
+		OllamaBackend a = pool.backends().get(0);
+		OllamaBackend b = pool.backends().get(1);
+
+		assertSame(b, pool.select()); // (0+1)/2 < (0+1)/1
+		pool.acquire(b);
+		pool.acquire(b);
+		assertSame(a, pool.select()); // (2+1)/2 > (0+1)/1
+
+		pool.release(b, null, null);
+		pool.release(b, null, null);
+		assertSame(b, pool.select());
+	}
+
+	@Test
+	void ejectsAfterConsecutiveFailuresAndFailsOpenWhenAllAreEjected() {
+		OllamaBackendPool pool = pool("http://a:11434;1,http://b:11434;2");
+		OllamaBackend a = pool.backends().get(0);
+		OllamaBackend b = pool.backends().get(1);
+
+		pool.recordFailure(b, "연결 거부");
+		assertSame(b, pool.select()); // 기준 2회 미만
+		pool.recordFailure(b, "연결 거부");
+		assertSame(a, pool.select());
+		assertNull(pool.selectExcluding(a));
+
+		pool.recordFailure(a, "연결 거부");
+		pool.recordFailure(a, "연결 거부");
+		assertNotNull(pool.select()); // 모두 퇴출이면 가장 먼저 복귀할 백엔드
+		assertTrue(pool.stats().stream().allMatch(OllamaBackend.Stats::isEjected));
+	}
+
+	private OllamaBackendPool pool(String backends) {
+		OllamaBackendPool pool = new OllamaBackendPool(HttpClient.newHttpClient(), scheduler);
+		ReflectionTestUtils.setField(pool, "ollamaBaseUrl", "http://localhost:11434");
+		ReflectionTestUtils.setField(pool, "backendList", backends);
+		ReflectionTestUtils.setField(pool, "failureThreshold", 2);
+		ReflectionTestUtils.setField(pool, "probeIntervalSeconds", 3600L);
+		ReflectionTestUtils.setField(pool, "probeTimeoutSeconds", 3L);
+		ReflectionTestUtils.setField(pool, "baseEjectionSeconds", 5L);
+		ReflectionTestUtils.setField(pool, "maxEjectionSeconds", 120L);
+		pool.init();
+		assertEquals(2, pool.backends().size());
+		return pool;
+	}
+}
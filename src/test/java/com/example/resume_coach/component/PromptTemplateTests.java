@@ -0,0 +1,41 @@
+package com.example.resume_coach.component;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PromptTemplateTests {
+
+	@Test
+	void rendersEveryPlaceholderInOnePass() {
+		PromptTemplate template = PromptTemplate.compile("user", "test",
+				"${industry} 분야의 ${desiredPosition}\n- 업계: ${industry}\n- 경력: ${years}년");
+
+		String rendered = template.render(Map.of("industry", "IT", "desiredPosition", "백엔드 개발자", "years", "3"));
+
+		assertEquals("IT 분야의 백엔드 개발자\n- 업계: IT\n- 경력: 3년", rendered);
+		assertEquals(List.of("industry", "desiredPosition", "years"), template.getPlaceholderNames());
+	}
+
+	@Test
+	void nullOrMissingValuesRenderAsEmpty() {
+		PromptTemplate template = PromptTemplate.compile("user", "test", "[${skills}] [${missing}] ${unclosed");
+		Map<String, String> values = new HashMap<>();
+		values.put("skills", null);
+
+		assertEquals("[] [] ${unclosed", template.render(values));
+	}
+
+	@Test
+	void versionChangesWithContent() {
+		PromptTemplate v1 = PromptTemplate.compile("interview_user_v1", "test", "A ${x}");
+		PromptTemplate edited = PromptTemplate.compile("interview_user_v1", "test", "B ${x}");
+
+		assertNotEquals(v1.getVersion(), edited.getVersion());
+		assertTrue(v1.getVersion().startsWith("interview_user_v1@"));
+	}
+}
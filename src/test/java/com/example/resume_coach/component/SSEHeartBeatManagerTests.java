@@ -0,0 +1,57 @@
+package com.example.resume_coach.component;
+
+import com.example.resume_coach.handler.SseOutboundQueue;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SSEHeartBeatManagerTests {
+
+	private final SSEHeartBeatManager heartBeat = new SSEHeartBeatManager(null); // 틱은 테스트에서 직접 호출
+	private final RecordingEmitter emitter = new RecordingEmitter();
+	private final SseOutboundQueue outbound =
+			new SseOutboundQueue(emitter, Runnable::run, 1024, 4096, SseOutboundQueue.OverflowPolicy.FINAL_ONLY);
+
+	@Test
+	void keepAliveIsQueuedOnlyAfterIdleThreshold() {
+		long now = System.currentTimeMillis();
+		heartBeat.register(outbound);
+
+		heartBeat.tick(now);
+		heartBeat.tick(now + 30_000);
+		assertEquals(0, emitter.sent);
+
+		heartBeat.tick(now + 60_000);
+		assertEquals(1, emitter.sent);
+		assertEquals(1, heartBeat.stats().getKeepAlivesSent());
+
+		heartBeat.tick(now + 90_000); // 다음 마감은 60초 + 59초
+		assertEquals(1, emitter.sent);
+		heartBeat.tick(now + 120_000);
+		assertEquals(2, emitter.sent);
+	}
+
+	@Test
+	void closedConnectionLeavesTheWheelWithoutKeepAlive() {
+		long now = System.currentTimeMillis();
+		SSEHeartBeatManager.Handle handle = heartBeat.register(outbound);
+		heartBeat.tick(now);
+		assertEquals(1, heartBeat.stats().getRegistered());
+
+		handle.close();
+		heartBeat.tick(now + 60_000);
+
+		assertEquals(0, emitter.sent);
+		assertEquals(0, heartBeat.stats().getRegistered());
+	}
+
+	private static final class RecordingEmitter extends SseEmitter {
+		private int sent;
+
+		@Override
+		public void send(SseEventBuilder builder) {
+			sent++;
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package com.example.resume_coach.component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingSchemaValidatorTests {
+
+	/** OutputSchemaGenerator 가 면접 응답에 만드는 것과 같은 형태의 스키마 */
+	static final Map<String, Object> SCHEMA = Map.of(
+			"type", "object",
+			"properties", Map.of(
+					"questions", Map.of(
+							"type", "array",
+							"minItems", 1,
+							"maxItems", 3,
+							"items", Map.of(
+									"type", "object",
+									"properties", Map.of(
+											"question", Map.of("type", "string"),
+											"category", Map.of("type", "string", "enum", List.of("기술면접", "경험면접", "문제해결")),
+											"difficulty", Map.of("type", "string", "enum", List.of("초급", "중급", "고급"))
+									),
+									"required", List.of("question", "category")
+							)
+					),
+					"focusArea", Map.of("type", "string")
+			),
+			"required", List.of("questions")
+	);
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void acceptsValidOutputFedInSmallTokens() {
+		StreamingSchemaValidator validator = newValidator();
+		String output = "```json\n{\"questions\": [{\"question\": \"트래픽 {급증} 대응은?\", \"category\": \"기술면접\", \"difficulty\": \"중급\"}],"
+				+ " \"focusArea\": \"백엔드\"}\n```";
+
+		for (int i = 0; i < output.length(); i += 2) {
+			assertNull(validator.feed(output.substring(i, Math.min(i + 2, output.length()))));
+		}
+		assertFalse(validator.isDiverged());
+	}
+
+	@Test
+	void divergesOnUnknownKey() {
+		StreamingSchemaValidator validator = newValidator();
+
+		assertNull(validator.feed("{\"questions\": [{\"question\": \"q\", "));
+		String reason = validator.feed("\"categry\": \"기술면접\"}]}");
+
+		assertEquals("알 수 없는 키: questions[0].categry", reason);
+		assertEquals(reason, validator.feed("이후 입력"));
+	}
+
+	@Test
+	void divergesOnDisallowedEnumValue() {
+		StreamingSchemaValidator validator = newValidator();
+
+		String reason = validator.feed("{\"questions\": [{\"question\": \"q\", \"category\": \"잡담\"}]}");
+
+		assertEquals("허용되지 않는 값: questions[0].category = 잡담", reason);
+	}
+
+	@Test
+	void acceptsCompositeEnumOnlyWhenEveryPartIsAllowed() {
+		assertNull(newValidator().feed("{\"questions\": [{\"question\": \"q\", \"category\": \"기술면접|문제해결\"}]}"));
+
+		String reason = newValidator().feed("{\"questions\": [{\"question\": \"q\", \"category\": \"기술면접|잡담\"}]}");
+		assertEquals("허용되지 않는 값: questions[0].category = 기술면접|잡담", reason);
+	}
+
+	@Test
+	void divergesOnTypeMismatchMissingKeyAndItemCount() {
+		assertEquals("타입 불일치: questions (array 기대, string)", newValidator().feed("{\"questions\": \"없음\"}"));
+		assertEquals("필수 키 누락: questions[0].category", newValidator().feed("{\"questions\": [{\"question\": \"q\"}]}"));
+		assertEquals("배열 항목 부족: questions (0 < 1)", newValidator().feed("{\"questions\": []}"));
+	}
+
+	private StreamingSchemaValidator newValidator() {
+		return new StreamingSchemaValidator(objectMapper, SCHEMA);
+	}
+}
@@ -0,0 +1,162 @@
+package com.example.resume_coach.handler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BroadcastStreamHandlerTests {
+
+	private final BroadcastStreamHandler broadcast = new BroadcastStreamHandler("gen", 2);
+
+	@Test
+	void lateJoinReplaysBufferedTokensWhenNothingWasEvicted() {
+		broadcast.onToken("a");
+		broadcast.onToken("b");
+
+		RecordingHandler late = new RecordingHandler();
+		assertTrue(broadcast.subscribe(late));
+		broadcast.onToken("c");
+
+		assertEquals("gen", late.generationId);
+		assertEquals(List.of("a", "b", "c"), late.tokens);
+		assertTrue(late.catchUps.isEmpty());
+	}
+
+	@Test
+	void plainJoinAfterEvictionAttachesToLiveStreamWithoutReplay() {
+		RecordingHandler first = new RecordingHandler();
+		assertTrue(broadcast.subscribe(first));
+		for (String token : List.of("a", "b", "c", "d", "e")) {
+			broadcast.onToken(token);
+		}
+
+		RecordingHandler late = new RecordingHandler();
+		assertTrue(broadcast.subscribe(late));
+		broadcast.onToken("f");
+		broadcast.onComplete();
+
+		assertEquals(List.of("5:abcde"), late.catchUps);
+		assertEquals(List.of("f"), late.tokens);
+		assertEquals(1, late.completions);
+		assertEquals(List.of("a", "b", "c", "d", "e", "f"), first.tokens);
+		assertFalse(broadcast.isCancelled());
+	}
+
+	@Test
+	void plainJoinCatchUpStartsFromLatestRetry() {
+		broadcast.onToken("a");
+		broadcast.onToken("b");
+		broadcast.onRetry(2, "알 수 없는 키: x", 2);
+		broadcast.onToken("c");
+		broadcast.onToken("d");
+
+		RecordingHandler late = new RecordingHandler();
+		assertTrue(broadcast.subscribe(late));
+
+		assertEquals(List.of("4:cd"), late.catchUps);
+		assertTrue(late.tokens.isEmpty());
+		assertTrue(late.retries.isEmpty());
+	}
+
+	@Test
+	void resumeIsRefusedOnlyWhenItPointsIntoTheEvictedRange() {
+		for (String token : List.of("a", "b", "c", "d", "e")) {
+			broadcast.onToken(token);
+		}
+
+		assertFalse(broadcast.resume(new RecordingHandler(), 2));
+
+		RecordingHandler resumed = new RecordingHandler();
+		assertTrue(broadcast.resume(resumed, 3));
+		assertEquals(List.of("3:abc"), resumed.catchUps);
+		assertEquals(List.of("d", "e"), resumed.tokens);
+	}
+
+	@Test
+	void subscribeIsRefusedOnlyAfterCancel() {
+		RecordingHandler first = new RecordingHandler();
+		broadcast.subscribe(first);
+		broadcast.unsubscribe(first);
+
+		assertTrue(broadcast.isCancelled());
+		assertFalse(broadcast.subscribe(new RecordingHandler()));
+	}
+
+	@Test
+	void tokenPublishedDuringReplayIsDeliveredAfterTheReplayedOnes() {
+		broadcast.onToken("a");
+		broadcast.onToken("b");
+
+		RecordingHandler late = new RecordingHandler() {
+			@Override
+			public void onToken(String token) {
+				super.onToken(token);
+				if (token.equals("a")) {
+					broadcast.onToken("c"); // 재전송 도중 업스트림 토큰 도착
+				}
+			}
+		};
+		assertTrue(broadcast.subscribe(late));
+		broadcast.onToken("d");
+
+		assertEquals(List.of("a", "b", "c", "d"), late.tokens);
+		assertEquals(1, broadcast.subscriberCount());
+	}
+
+	@Test
+	void subscriberMayLeaveWhileTokensAreBeingDelivered() {
+		RecordingHandler stays = new RecordingHandler();
+		RecordingHandler leaves = new RecordingHandler() {
+			@Override
+			public void onToken(String token) {
+				super.onToken(token);
+				broadcast.unsubscribe(this);
+			}
+		};
+		broadcast.subscribe(leaves);
+		broadcast.subscribe(stays);
+
+		broadcast.onToken("a");
+		broadcast.onToken("b");
+
+		assertEquals(List.of("a"), leaves.tokens);
+		assertEquals(List.of("a", "b"), stays.tokens);
+		assertFalse(broadcast.isCancelled());
+	}
+
+	private static class RecordingHandler implements StreamHandler {
+		private final List<String> tokens = new ArrayList<>();
+		private final List<String> catchUps = new ArrayList<>();
+		private final List<Integer> retries = new ArrayList<>();
+		private String generationId;
+		private int completions;
+
+		@Override
+		public void onToken(String token) {
+			tokens.add(token);
+		}
+
+		@Override
+		public void onGeneration(String generationId) {
+			this.generationId = generationId;
+		}
+
+		@Override
+		public void onCatchUp(long chunks, String text) {
+			catchUps.add(chunks + ":" + text);
+		}
+
+		@Override
+		public void onRetry(int attempt, String reason, long wastedTokens) {
+			retries.add(attempt);
+		}
+
+		@Override
+		public void onComplete() {
+			completions++;
+		}
+	}
+}
@@ -0,0 +1,203 @@
+package com.example.resume_coach.handler;
+
+import com.example.resume_coach.component.OllamaStreamStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgedResponseHandlerTests {
+
+	private final RecordingHandler downstream = new RecordingHandler();
+	private final List<Boolean> outcomes = new ArrayList<>();
+	private final List<Termination> terminations = new ArrayList<>();
+	private final HedgedResponseHandler handler = new HedgedResponseHandler(downstream, outcomes::add);
+	private FakeUpstream primary;
+	private FakeUpstream hedge;
+
+	@Test
+	void hedgeWinsAndPrimaryIsCancelled() {
+		startBoth();
+
+		hedge.token("첫");
+		primary.token("늦음");
+		hedge.complete();
+
+		assertEquals(List.of("첫"), downstream.tokens);
+		assertTrue(primary.cancelled);
+		assertEquals(List.of(true), outcomes);
+		assertEquals(1, downstream.completions);
+		assertNull(downstream.error);
+		assertEquals(1, terminations.size());
+		assertSame(hedge.stats, terminations.get(0).stats());
+	}
+
+	@Test
+	void primaryFailsFirstThenHedgeWins() {
+		startBoth();
+
+		primary.fail(new IllegalStateException("primary"));
+		assertEquals(0, downstream.completions);
+		assertTrue(terminations.isEmpty());
+
+		hedge.token("헤지");
+		hedge.complete();
+
+		assertEquals(List.of("헤지"), downstream.tokens);
+		assertNull(downstream.error);
+		assertEquals(1, downstream.completions);
+		assertEquals(1, terminations.size());
+		assertSame(hedge.stats, terminations.get(0).stats());
+		assertNull(terminations.get(0).error());
+	}
+
+	@Test
+	void bothFailForwardsLastError() {
+		startBoth();
+		IllegalStateException last = new IllegalStateException("hedge");
+
+		primary.fail(new IllegalStateException("primary"));
+		hedge.fail(last);
+
+		assertSame(last, downstream.error);
+		assertEquals(1, downstream.completions);
+		assertEquals(1, terminations.size());
+		assertSame(last, terminations.get(0).error());
+		assertTrue(outcomes.isEmpty());
+	}
+
+	@Test
+	void cancelBeforeFirstTokenReportsTerminationOnce() {
+		startBoth();
+
+		handler.cancel();
+		handler.cancel();
+
+		assertTrue(primary.cancelled);
+		assertTrue(hedge.cancelled);
+		assertTrue(downstream.tokens.isEmpty());
+		assertEquals(1, terminations.size());
+		assertSame(hedge.stats, terminations.get(0).stats());
+		assertNull(terminations.get(0).error());
+	}
+
+	@Test
+	void cancelWithoutHedgeReportsPrimaryStats() {
+		handler.start(leg -> primary = new FakeUpstream(leg));
+		handler.onTermination((stats, error) -> terminations.add(new Termination(stats, error)));
+
+		primary.token("토큰");
+		handler.cancel();
+
+		assertEquals(1, terminations.size());
+		assertSame(primary.stats, terminations.get(0).stats());
+	}
+
+	@Test
+	void cancelAfterWinnerCompletedDoesNotReportAgain() {
+		startBoth();
+
+		primary.token("원래");
+		primary.complete();
+		handler.cancel();
+
+		assertEquals(List.of(false), outcomes);
+		assertEquals(1, terminations.size());
+		assertSame(primary.stats, terminations.get(0).stats());
+	}
+
+	private void startBoth() {
+		handler.start(leg -> primary = new FakeUpstream(leg));
+		handler.onTermination((stats, error) -> terminations.add(new Termination(stats, error)));
+		assertTrue(handler.hedge(() -> true, leg -> hedge = new FakeUpstream(leg)));
+	}
+
+	private record Termination(OllamaStreamStats stats, Throwable error) {
+	}
+
+	private static final class RecordingHandler implements StreamHandler {
+		private final List<String> tokens = new ArrayList<>();
+		private Throwable error;
+		private int completions;
+
+		@Override
+		public void onToken(String token) {
+			tokens.add(token);
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			error = t;
+		}
+
+		@Override
+		public void onComplete() {
+			completions++;
+		}
+	}
+
+	/**
+	 * OllamaStreamSubscriber 처럼 종료 리스너를 handler 신호보다 먼저 호출하고, 취소도 종료로 보고하는 upstream
+	 */
+	private static final class FakeUpstream extends OllamaResponseHandler {
+		private final StreamHandler leg;
+		private final OllamaStreamStats stats = new OllamaStreamStats();
+		private final List<BiConsumer<OllamaStreamStats, Throwable>> listeners = new ArrayList<>();
+		private long tokens;
+		private boolean reported;
+		private boolean cancelled;
+
+		private FakeUpstream(StreamHandler leg) {
+			super(CompletableFuture.completedFuture(null), null);
+			this.leg = leg;
+		}
+
+		@Override
+		public void onTermination(BiConsumer<OllamaStreamStats, Throwable> listener) {
+			listeners.add(listener);
+		}
+
+		@Override
+		public OllamaStreamStats getStats() {
+			return stats;
+		}
+
+		@Override
+		public long getGeneratedTokens() {
+			return tokens;
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			report(null);
+		}
+
+		void token(String token) {
+			if (reported) return;
+			tokens++;
+			leg.onToken(token);
+		}
+
+		void complete() {
+			report(null);
+			leg.onComplete();
+		}
+
+		void fail(Throwable error) {
+			report(error);
+			leg.onError(error);
+			leg.onComplete();
+		}
+
+		private void report(Throwable error) {
+			if (reported) return;
+			reported = true;
+			listeners.forEach(listener -> listener.accept(stats, error));
+		}
+	}
+}
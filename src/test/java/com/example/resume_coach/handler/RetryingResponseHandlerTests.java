@@ -0,0 +1,160 @@
+package com.example.resume_coach.handler;
+
+import com.example.resume_coach.component.StreamingSchemaValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryingResponseHandlerTests {
+
+	private static final Map<String, Object> SCHEMA = Map.of(
+			"type", "object",
+			"properties", Map.of("category", Map.of("type", "string", "enum", List.of("기술면접", "문제해결"))),
+			"required", List.of("category")
+	);
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final RecordingHandler downstream = new RecordingHandler();
+	private final List<FakeUpstream> attempts = new ArrayList<>();
+	private final List<String> retryReasons = new ArrayList<>();
+
+	@Test
+	void passesValidOutputThroughWithoutRetry() {
+		RetryingResponseHandler handler = newHandler(2);
+
+		attempts.get(0).emit("{\"category\": ", "\"기술면접\"}");
+		attempts.get(0).complete();
+
+		assertEquals("{\"category\": \"기술면접\"}", downstream.text.toString());
+		assertEquals(1, attempts.size());
+		assertEquals(1, downstream.completions);
+		assertTrue(retryReasons.isEmpty());
+		assertEquals(2, handler.getGeneratedTokens());
+	}
+
+	@Test
+	void retryCancelsAttemptAndResetsDownstream() {
+		newHandler(2);
+
+		attempts.get(0).emit("{\"category\": ", "\"잡담\"}");
+
+		assertTrue(attempts.get(0).cancelled);
+		assertEquals(2, attempts.size());
+		assertEquals(List.of(2), downstream.retryAttempts);
+		assertEquals(List.of(2L), downstream.wastedTokens);
+		assertEquals(List.of("허용되지 않는 값: category = 잡담"), retryReasons);
+
+		attempts.get(0).emit("늦게 도착한 토큰");
+		attempts.get(0).complete();
+		attempts.get(1).emit("{\"category\": \"문제해결\"}");
+		attempts.get(1).complete();
+
+		assertEquals("{\"category\": \"문제해결\"}", downstream.text.toString());
+		assertEquals(1, downstream.completions);
+	}
+
+	@Test
+	void stopsRetryingAtBudgetAndPassesLastAttemptUnvalidated() {
+		newHandler(1);
+
+		attempts.get(0).emit("{\"category\": \"잡담\"}");
+		attempts.get(1).emit("{\"category\": \"여전히 잡담\"}");
+		attempts.get(1).complete();
+
+		assertEquals(2, attempts.size());
+		assertEquals(List.of(2), downstream.retryAttempts);
+		assertEquals("{\"category\": \"여전히 잡담\"}", downstream.text.toString());
+		assertEquals(1, downstream.completions);
+	}
+
+	@Test
+	void cancelAbortsCurrentAttemptWithoutRetry() {
+		RetryingResponseHandler handler = newHandler(2);
+
+		handler.cancel();
+		attempts.get(0).emit("{\"category\": \"잡담\"}");
+
+		assertTrue(attempts.get(0).cancelled);
+		assertEquals(1, attempts.size());
+		assertTrue(downstream.retryAttempts.isEmpty());
+	}
+
+	private RetryingResponseHandler newHandler(int maxRetries) {
+		return new RetryingResponseHandler(
+				downstream,
+				maxRetries,
+				() -> new StreamingSchemaValidator(objectMapper, SCHEMA),
+				attempt -> {
+					FakeUpstream upstream = new FakeUpstream(attempt);
+					attempts.add(upstream);
+					return upstream;
+				},
+				(reason, wasted) -> retryReasons.add(reason)
+		).start();
+	}
+
+	/**
+	 * SSEOllamaStreamHandler 처럼 onRetry 에서 이전 시도의 출력을 버리는 downstream
+	 */
+	private static final class RecordingHandler implements StreamHandler {
+		private final StringBuilder text = new StringBuilder();
+		private final List<Integer> retryAttempts = new ArrayList<>();
+		private final List<Long> wastedTokens = new ArrayList<>();
+		private int completions;
+
+		@Override
+		public void onToken(String token) {
+			text.append(token);
+		}
+
+		@Override
+		public void onComplete() {
+			completions++;
+		}
+
+		@Override
+		public void onRetry(int attempt, String reason, long wasted) {
+			text.setLength(0);
+			retryAttempts.add(attempt);
+			wastedTokens.add(wasted);
+		}
+	}
+
+	private static final class FakeUpstream extends OllamaResponseHandler {
+		private final StreamHandler attempt;
+		private long tokens;
+		private boolean cancelled;
+
+		private FakeUpstream(StreamHandler attempt) {
+			super(CompletableFuture.completedFuture(null), null);
+			this.attempt = attempt;
+		}
+
+		@Override
+		public long getGeneratedTokens() {
+			return tokens;
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+		}
+
+		void emit(String... chunks) {
+			for (String chunk : chunks) {
+				tokens++;
+				attempt.onToken(chunk);
+			}
+		}
+
+		void complete() {
+			attempt.onComplete();
+		}
+	}
+}
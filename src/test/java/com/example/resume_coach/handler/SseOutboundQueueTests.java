@@ -0,0 +1,75 @@
+package com.example.resume_coach.handler;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SseOutboundQueueTests {
+
+	private final RecordingEmitter emitter = new RecordingEmitter();
+
+	@Test
+	void writesOnWriterThread() {
+		SseOutboundQueue outbound = new SseOutboundQueue(emitter, Runnable::run, 16, 64, SseOutboundQueue.OverflowPolicy.FINAL_ONLY);
+
+		outbound.delta("토큰");
+		outbound.event("final", "끝");
+
+		assertEquals(2, emitter.sent);
+		assertNull(emitter.error);
+	}
+
+	@Test
+	void rejectedDrainCompletesEmitterWithError() {
+		Executor rejecting = task -> {
+			throw new RejectedExecutionException("shutdown");
+		};
+		SseOutboundQueue outbound = new SseOutboundQueue(emitter, rejecting, 16, 64, SseOutboundQueue.OverflowPolicy.FINAL_ONLY);
+
+		assertDoesNotThrow(() -> outbound.delta("토큰"));
+
+		assertInstanceOf(RejectedExecutionException.class, emitter.error);
+		outbound.delta("다음");
+		assertEquals(0, outbound.pendingDeltaChars());
+	}
+
+	@Test
+	void disconnectOverflowCompletesEmitterWhenWriterRejects() {
+		List<Runnable> accepted = new ArrayList<>();
+		Executor firstOnly = task -> {
+			if (!accepted.isEmpty()) {
+				throw new RejectedExecutionException("saturated");
+			}
+			accepted.add(task); // drain 이 실행되지 않아 델타가 쌓임
+		};
+		SseOutboundQueue outbound = new SseOutboundQueue(emitter, firstOnly, 16, 64, SseOutboundQueue.OverflowPolicy.DISCONNECT);
+
+		outbound.delta("a".repeat(10));
+		assertDoesNotThrow(() -> outbound.delta("b".repeat(60)));
+
+		assertInstanceOf(IllegalStateException.class, emitter.error);
+		assertEquals(0, outbound.pendingDeltaChars());
+		assertEquals(0, emitter.sent);
+	}
+
+	private static final class RecordingEmitter extends SseEmitter {
+		private int sent;
+		private Throwable error;
+
+		@Override
+		public void send(SseEventBuilder builder) {
+			sent++;
+		}
+
+		@Override
+		public void completeWithError(Throwable ex) {
+			error = ex;
+		}
+	}
+}